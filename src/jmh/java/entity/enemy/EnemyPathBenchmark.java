@@ -0,0 +1,64 @@
+package entity.enemy;
+
+import entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import world.BenchmarkWorlds;
+import world.World;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meranie generovania náhodných hliadkových ciest nepriateľov.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyPathBenchmark {
+
+    @Param({"15", "63", "255"})
+    private int mapSize;
+
+    @Param({"4", "32"})
+    private int enemyCount;
+
+    @Param({"4", "16", "64"})
+    private int pathLength;
+
+    private List<Enemy> enemies;
+
+    @Setup
+    public void setup() {
+        World world = BenchmarkWorlds.create(this.mapSize, EntityType.GOBLIN, this.enemyCount);
+        this.enemies = world.getEntities().stream()
+                .filter(Enemy.class::isInstance)
+                .map(Enemy.class::cast)
+                .toList();
+    }
+
+    @Benchmark
+    public int generateRandomPath() {
+        int total = 0;
+        for (Enemy enemy : this.enemies) {
+            enemy.generateRandomPath(this.pathLength);
+            total += enemy.getPathSize();
+        }
+        return total;
+    }
+}
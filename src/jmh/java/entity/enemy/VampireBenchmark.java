@@ -0,0 +1,78 @@
+package entity.enemy;
+
+import entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.GridPosition;
+import world.BenchmarkWorlds;
+import world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meranie prenasledovania hráča upírmi – každý upír je v dosahu hráča, takže pri každom pohybe
+ * hľadá cestu k hráčovi prehľadávaním do šírky cez celú mapu.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VampireBenchmark {
+    private static final int SCAN_RANGE = 2;
+
+    @Param({"15", "63", "255"})
+    private int mapSize;
+
+    @Param({"1", "8", "32"})
+    private int vampireCount;
+
+    private List<Vampire> vampires;
+
+    @Setup
+    public void setup() {
+        World world = BenchmarkWorlds.create(this.mapSize, EntityType.VAMPIRE, 0);
+        GridPosition player = world.getPlayer().getGridPosition();
+
+        List<GridPosition> inRange = new ArrayList<>();
+        for (GridPosition position : BenchmarkWorlds.groundTiles(world)) {
+            if (Math.abs(position.row() - player.row()) <= SCAN_RANGE
+                    && Math.abs(position.col() - player.col()) <= SCAN_RANGE
+                    && !position.equals(player)) {
+                inRange.add(position);
+            }
+        }
+
+        this.vampires = new ArrayList<>();
+        for (int i = 0; i < this.vampireCount; i++) {
+            GridPosition position = inRange.get(i % inRange.size());
+            this.vampires.add(new Vampire(position.row(), position.col(), 4, world));
+        }
+    }
+
+    @Benchmark
+    public int chase() {
+        int moved = 0;
+        for (Vampire vampire : this.vampires) {
+            if (vampire.tryMove()) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+}
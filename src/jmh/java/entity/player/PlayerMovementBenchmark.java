@@ -0,0 +1,81 @@
+package entity.player;
+
+import entity.player.movement.Down;
+import entity.player.movement.Left;
+import entity.player.movement.Right;
+import entity.player.movement.Up;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.GridPosition;
+import utils.Position;
+import utils.Settings;
+import world.BenchmarkWorlds;
+import world.World;
+
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meranie pohybu hráča s kontrolou kolízií – zo stredu každého voľného políčka
+ * sa skúsi pohyb vo všetkých štyroch smeroch.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerMovementBenchmark {
+    private static final int SPEED = 2;
+    private static final Movement[] MOVEMENTS = {new Up(), new Down(), new Left(), new Right()};
+
+    @Param({"15", "63", "255"})
+    private int mapSize;
+
+    private CollisionHelper collisionHelper;
+    private Position[] positions;
+
+    @Setup
+    public void setup() {
+        World world = BenchmarkWorlds.create(this.mapSize, null, 0);
+        this.collisionHelper = new CollisionHelper(world, new Rectangle(
+                -(Settings.TILE_SIZE / 2),
+                -(Settings.TILE_SIZE / 2),
+                Settings.TILE_SIZE,
+                Settings.TILE_SIZE
+        ));
+
+        List<GridPosition> ground = BenchmarkWorlds.groundTiles(world);
+        this.positions = new Position[ground.size()];
+        for (int i = 0; i < this.positions.length; i++) {
+            GridPosition tile = ground.get(i);
+            this.positions[i] = new Position(
+                    tile.col() * Settings.TILE_SIZE + Settings.TILE_SIZE / 2,
+                    tile.row() * Settings.TILE_SIZE + Settings.TILE_SIZE / 2
+            );
+        }
+    }
+
+    @Benchmark
+    public void tryMove(Blackhole blackhole) {
+        for (Position position : this.positions) {
+            for (Movement movement : MOVEMENTS) {
+                blackhole.consume(movement.tryMove(this.collisionHelper, position, SPEED));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package gameState.play;
+
+import entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.RenderSnapshot;
+import utils.Settings;
+import world.BenchmarkWorlds;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meranie vykresľovania stavu hrania – zaznamenanie snímky a jej prehratie do obrázka veľkosti obrazovky.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayRenderBenchmark {
+
+    @Param({"15", "63", "255"})
+    private int mapSize;
+
+    @Param({"0", "32"})
+    private int enemyCount;
+
+    private Play play;
+    private RenderSnapshot.Builder builder;
+    private BufferedImage screen;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() {
+        this.play = new Play(null);
+        this.play.init(BenchmarkWorlds.create(this.mapSize, EntityType.GOBLIN, this.enemyCount));
+        this.builder = new RenderSnapshot.Builder();
+        this.screen = new BufferedImage(Settings.SCREEN_WIDTH, Settings.SCREEN_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        this.graphics = this.screen.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.graphics.dispose();
+    }
+
+    @Benchmark
+    public RenderSnapshot record() {
+        this.play.render(this.builder);
+        return this.builder.build();
+    }
+
+    @Benchmark
+    public BufferedImage recordAndReplay() {
+        this.play.render(this.builder);
+        this.builder.build().render(this.graphics);
+        return this.screen;
+    }
+}
@@ -0,0 +1,75 @@
+package objects;
+
+import entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.GridPosition;
+import world.BenchmarkWorlds;
+import world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meranie výbuchov dynamitov – reťazce výbuchov, ničenie stien a zasiahnutie entít.
+ * Výbuch mení svet, preto sa pred každým volaním svet reštartuje a dynamity sa vytvoria znova.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamiteBenchmark {
+
+    @Param({"15", "63", "255"})
+    private int mapSize;
+
+    @Param({"0", "32"})
+    private int enemyCount;
+
+    @Param({"1", "16"})
+    private int dynamiteCount;
+
+    private World world;
+    private List<GridPosition> ground;
+    private List<Dynamite> dynamites;
+
+    @Setup
+    public void setup() {
+        this.world = BenchmarkWorlds.create(this.mapSize, EntityType.GOBLIN, this.enemyCount);
+        this.ground = BenchmarkWorlds.groundTiles(this.world);
+        this.dynamites = new ArrayList<>();
+    }
+
+    @Setup(Level.Invocation)
+    public void placeDynamites() {
+        this.world.restart();
+        this.dynamites.clear();
+        int step = Math.max(1, this.ground.size() / this.dynamiteCount);
+        for (int i = 0; i < this.dynamiteCount; i++) {
+            this.dynamites.add(new Dynamite(this.ground.get((i * step) % this.ground.size()), this.world));
+        }
+    }
+
+    @Benchmark
+    public void explode() {
+        for (Dynamite dynamite : this.dynamites) {
+            dynamite.explode();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package objects;
+
+import entity.EntityType;
+import objects.hiddenITem.AddDynamite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.GridPosition;
+import world.BenchmarkWorlds;
+import world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meranie pridávania, aktualizácie a vyhľadávania herných objektov v GameObjectManager.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameObjectManagerBenchmark {
+
+    @Param({"15", "63", "255"})
+    private int mapSize;
+
+    @Param({"16", "256"})
+    private int objectCount;
+
+    private World world;
+    private List<GameObject> objects;
+    private List<GridPosition> positions;
+    private GameObjectManager filledManager;
+
+    @Setup
+    public void setup() {
+        this.world = BenchmarkWorlds.create(this.mapSize, EntityType.GOBLIN, 0);
+        List<GridPosition> ground = BenchmarkWorlds.groundTiles(this.world);
+
+        this.objects = new ArrayList<>();
+        this.positions = new ArrayList<>();
+        for (int i = 0; i < this.objectCount; i++) {
+            GridPosition position = ground.get((int)((long)i * ground.size() / this.objectCount));
+            AddDynamite object = new AddDynamite(position, this.world);
+            object.active();
+            this.objects.add(object);
+            this.positions.add(position);
+        }
+
+        this.filledManager = this.fill();
+    }
+
+    @Benchmark
+    public GameObjectManager add() {
+        return this.fill();
+    }
+
+    @Benchmark
+    public void update() {
+        this.filledManager.update();
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (GridPosition position : this.positions) {
+            blackhole.consume(this.filledManager.isAt(position));
+            blackhole.consume(this.filledManager.get(position));
+            blackhole.consume(this.filledManager.getActionable(position, Actionable.class));
+        }
+    }
+
+    @Benchmark
+    public List<GameObject> getAllSorted() {
+        return this.filledManager.getAllSortedObjects();
+    }
+
+    private GameObjectManager fill() {
+        GameObjectManager manager = new GameObjectManager(this.world.getTemplate().createView());
+        for (GameObject object : this.objects) {
+            manager.add(object);
+        }
+        return manager;
+    }
+}
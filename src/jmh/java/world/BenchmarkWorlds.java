@@ -0,0 +1,58 @@
+package world;
+
+import entity.EntityType;
+import utils.GridPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trieda BenchmarkWorlds vytvára deterministické svety pre merania výkonu.
+ * Všetky merania používajú rovnaké semienko pre mapu aj svet, takže rovnaké parametre dávajú vždy rovnakú mapu,
+ * skryté predmety a správanie nepriateľov.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public final class BenchmarkWorlds {
+    public static final long SEED = 42;
+
+    private BenchmarkWorlds() {
+    }
+
+    /**
+     * Vygeneruje štvorcovú úroveň s daným počtom nepriateľov jedného typu a resetuje nad ňou svet.
+     *
+     * @param mapSize Počet riadkov a stĺpcov mapy
+     * @param enemyType Typ nepriateľov
+     * @param enemyCount Počet nepriateľov (na malej mape ich môže byť menej, ak nie je dosť voľných políčok)
+     * @return Resetovaný svet
+     */
+    public static World create(int mapSize, EntityType enemyType, int enemyCount) {
+        LevelGenerator generator = new LevelGenerator(SEED, mapSize, mapSize, BiomeType.FOREST);
+        if (enemyCount > 0) {
+            generator.setEnemyCount(enemyType, enemyCount);
+        }
+        World world = generator.generateWorld();
+        world.reset(SEED);
+        return world;
+    }
+
+    /**
+     * Získa všetky voľné políčka mapy (okrem okrajov) v poradí po riadkoch.
+     *
+     * @param world Svet
+     * @return Zoznam voľných políčok
+     */
+    public static List<GridPosition> groundTiles(World world) {
+        List<GridPosition> ground = new ArrayList<>();
+        for (int row = 1; row < world.getRows() - 1; row++) {
+            for (int col = 1; col < world.getCols() - 1; col++) {
+                if (world.getTileType(row, col) == TileType.GROUND) {
+                    ground.add(new GridPosition(row, col));
+                }
+            }
+        }
+        return ground;
+    }
+}
@@ -1,17 +1,23 @@
 package entity;
 
+import utils.GameClock;
+import utils.ISnapshot;
 import utils.ITimer;
 import utils.Position;
 import utils.Timer;
 import utils.Settings;
 import utils.GridPosition;
+import utils.RenderSnapshot;
 
 import world.World;
 
-import java.awt.Graphics;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static entity.EntityState.IDLE;
 import static entity.EntityState.HURT;
@@ -25,10 +31,12 @@ import static entity.EntityState.DEATH;
  * @author Tomáš Ďurovec
  * @version 1.0
  */
-public abstract class Entity implements ITimer {
+public abstract class Entity implements ITimer, ISnapshot {
 
     private static final int SPRITE_WIDTH = 64;
     private static final int SPRITE_HEIGHT = 64;
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private final int id;
     private Position position;
     private int health;
     private final int speed;
@@ -42,6 +50,8 @@ public abstract class Entity implements ITimer {
 
     private final Timer animationTimer;
     private int aniIdx;
+    private long frameSwitchTick;
+    private long frameLead;
 
     /**
      * Vytvorí entitu na danom riadku a stĺpci s daným zdravím, rýchlosťou, svetom a typom.
@@ -52,6 +62,7 @@ public abstract class Entity implements ITimer {
         this.speed = speed;
         this.world = world;
         this.type = type;
+        this.id = NEXT_ID.incrementAndGet();
 
         this.position = new Position(
                 col * Settings.TILE_SIZE + Settings.TILE_SIZE / 2,
@@ -67,20 +78,30 @@ public abstract class Entity implements ITimer {
 
         this.allSprites = new HashMap<>();
         for (EntityState state : EntityState.values()) {
-            String path = state.getSpritePath(type.getSpritePrefix());
-            BufferedImage[][] spriteSheet = Settings.loadSpriteSheet(
-                    path,
-                    Direction.values().length, this.type.getFrameCount(state),
-                    SPRITE_WIDTH * type.getSpriteScale(),
-                    SPRITE_HEIGHT * type.getSpriteScale()
-            );
-            this.allSprites.put(state, spriteSheet);
+            this.allSprites.put(state, loadSpriteSheet(type, state));
         }
 
-        this.animationTimer = new Timer();
+        this.animationTimer = new Timer(world.getClock());
+        this.frameSwitchTick = -1;
         this.setState(IDLE);
     }
 
+    /**
+     * Načíta sprite sheet animácie daného typu entity v danom stave (riadky sú smery, stĺpce snímky).
+     * 
+     * @param type Typ entity
+     * @param state Stav entity
+     * @return Matica spritov (smer x snímka)
+     */
+    public static BufferedImage[][] loadSpriteSheet(EntityType type, EntityState state) {
+        return Settings.loadSpriteSheet(
+                state.getSpritePath(type.getSpritePrefix()),
+                Direction.values().length, type.getFrameCount(state),
+                SPRITE_WIDTH * type.getSpriteScale(),
+                SPRITE_HEIGHT * type.getSpriteScale()
+        );
+    }
+
     /**
      * Nastaví nový stav entity.
      * Ak je stav rovnaký, nič sa nemení. Pri zmene sa animácia reštartuje.
@@ -216,9 +237,13 @@ public abstract class Entity implements ITimer {
     /**
      * Aktualizuje animáciu entity podľa časovača.
      * Po skončení animácie vykoná príslušnú akciu podľa stavu.
+     * Pri zmene snímky si zapamätá, ako dlho pred týmto krokom časovač skutočne skončil,
+     * aby sa snímka pri interpolovanom vykreslení prepla v správnej časti kroku.
      */
     protected void updateAnimation() {
         if (this.animationTimer.isEnd()) {
+            this.frameSwitchTick = this.world.getTick();
+            this.frameLead = Math.min(this.animationTimer.getOvershoot(), GameClock.TICK_DURATION);
             this.aniIdx++;
             if (this.aniIdx >= this.getFrameCount(this.currentState)) {
                 this.afterStateAnimationPerformed();
@@ -272,6 +297,35 @@ public abstract class Entity implements ITimer {
         this.animationTimer.stop();
     }
 
+    /**
+     * Zapíše stav entity – polohu, zdravie, stav, snímku animácie a jej časovač.
+     * Potomkovia dopĺňajú vlastný stav po zavolaní tejto metódy.
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        output.writeInt(this.position.x());
+        output.writeInt(this.position.y());
+        output.writeInt(this.health);
+        output.writeByte(this.currentState.ordinal());
+        output.writeBoolean(this.isFinished);
+        output.writeByte(this.aniIdx);
+        this.animationTimer.writeState(output);
+    }
+
+    /**
+     * Obnoví stav entity zapísaný metódou writeState.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        this.position = new Position(input.readInt(), input.readInt());
+        this.health = input.readInt();
+        this.currentState = EntityState.values()[input.readUnsignedByte()];
+        this.currentSprites = this.allSprites.get(this.currentState);
+        this.isFinished = input.readBoolean();
+        this.aniIdx = input.readUnsignedByte();
+        this.animationTimer.readState(input);
+    }
+
     /**
      * Získa pozíciu entity v mriežke podľa aktuálnej pozície.
      */
@@ -331,21 +385,24 @@ public abstract class Entity implements ITimer {
     }
 
     /**
-     * Vykreslí aktuálnu animáciu entity na zadané súradnice na obrazovke.
+     * Vykreslí aktuálnu animáciu entity na jej pozíciu v hernom svete.
+     * Entita sa zaznamená so svojím identifikátorom, aby sa jej pohyb dal medzi snímkami interpolovať.
+     * Ak sa v tomto kroku prepla snímka animácie, zaznamená sa aj to, ako dlho pred krokom sa mala prepnúť,
+     * inak sa nová snímka zobrazí počas celého kroku.
      * 
-     * @param g Grafický kontext
-     * @param screenX X-ová súradnica na obrazovke (stred entity)
-     * @param screenY Y-ová súradnica na obrazovke (stred entity)
+     * @param g Záznam snímky, do ktorého sa vykresľuje
      */
-    public void render(Graphics g, int screenX, int screenY) {
+    public void render(RenderSnapshot.Builder g) {
         BufferedImage sprite = this.currentSprites[this.getDirection().getCount()][this.aniIdx];
         int spriteWidth = SPRITE_WIDTH * this.type.getSpriteScale();
         int spriteHeight = SPRITE_HEIGHT * this.type.getSpriteScale();
-        g.drawImage(
+        long lead = this.frameSwitchTick == this.world.getTick() ? this.frameLead : GameClock.TICK_DURATION;
+        g.drawWorldImage(
                 sprite,
-                screenX - (spriteWidth / 2),
-                screenY - (spriteHeight / 2) - this.getYOffset(),
-                null
+                this.getWorldX() - (spriteWidth / 2),
+                this.getWorldY() - (spriteHeight / 2) - this.getYOffset(),
+                this.id,
+                (int)lead
         );
     }
 
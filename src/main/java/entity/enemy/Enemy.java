@@ -7,10 +7,13 @@ import entity.player.Player;
 import utils.GridPosition;
 import utils.Position;
 import utils.Timer;
-import world.Tile;
+import world.TileType;
 import world.World;
 
 import java.awt.Rectangle;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Random;
@@ -51,8 +54,8 @@ public abstract class Enemy extends Entity {
      */
     public Enemy(int row, int col, int speed, int health, World world, EntityType type) {
         super(row, col, health, speed, world, type);
-        this.attackCooldown = new Timer(ATTACK_COOLDOWN);
-        this.stateTimer = new Timer();
+        this.attackCooldown = new Timer(world.getClock(), ATTACK_COOLDOWN);
+        this.stateTimer = new Timer(world.getClock());
         this.direction = DOWN;
         this.path = new ArrayList<>();
         this.currentWaypointIndex = 0;
@@ -112,6 +115,40 @@ public abstract class Enemy extends Entity {
         this.attackCooldown.resume();
     }
 
+    /**
+     * Zapíše stav nepriateľa – stav entity, smer, časovače čakania a útoku, cestu a index waypointu.
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        super.writeState(output);
+        output.writeByte(this.direction.ordinal());
+        this.stateTimer.writeState(output);
+        this.attackCooldown.writeState(output);
+        output.writeInt(this.path.size());
+        for (GridPosition waypoint : this.path) {
+            output.writeInt(waypoint.row());
+            output.writeInt(waypoint.col());
+        }
+        output.writeInt(this.currentWaypointIndex);
+    }
+
+    /**
+     * Obnoví stav nepriateľa zapísaný metódou writeState.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        super.readState(input);
+        this.direction = Direction.values()[input.readUnsignedByte()];
+        this.stateTimer.readState(input);
+        this.attackCooldown.readState(input);
+        int size = input.readInt();
+        this.path = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            this.path.add(new GridPosition(input.readInt(), input.readInt()));
+        }
+        this.currentWaypointIndex = input.readInt();
+    }
+
     /**
      * Pokúsi sa posunúť nepriateľa po ceste (path).
      * Ak je na konci cesty, zavolá handlePathEnd().
@@ -163,12 +200,12 @@ public abstract class Enemy extends Entity {
 
     /**
      * Vygeneruje náhodnú cestu s danou dĺžkou v rámci dostupných políčok.
-     * Používa sa pre náhodný pohyb nepriateľa.
+     * Používa sa pre náhodný pohyb nepriateľa, náhoda sa berie z generátora sveta.
      * 
      * @param pathLength Počet krokov cesty
      */
     protected void generateRandomPath(int pathLength) {
-        Random random = new Random();
+        Random random = this.getWorld().getRandom();
 
         ArrayList<GridPosition> randomPath = new ArrayList<>();
         HashSet<GridPosition> visited = new HashSet<>();
@@ -181,7 +218,7 @@ public abstract class Enemy extends Entity {
                 int nextCol = current.col() + dir[0];
                 int nextRow = current.row() + dir[1];
                 GridPosition next = new GridPosition(nextRow, nextCol);
-                Tile tile = this.getWorld().getTile(next);
+                TileType tile = this.getWorld().getTileType(next);
 
                 if (tile != null &&
                     !tile.isCollide() &&
@@ -0,0 +1,28 @@
+package entity.enemy;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Udalosť JFR hľadania cesty upíra k hráčovi.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@Name("bomberman.PathSearch")
+@Label("Path Search")
+@Category({"Bomberman", "Entities"})
+@Description("Breadth-first search of a vampire chasing the player")
+final class PathSearchEvent extends Event {
+    @Label("Nodes Expanded")
+    int nodesExpanded;
+
+    @Label("Path Length")
+    int pathLength;
+
+    @Label("Found")
+    boolean found;
+}
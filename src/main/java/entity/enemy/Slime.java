@@ -5,6 +5,9 @@ import utils.GridPosition;
 import utils.Position;
 import world.World;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 
 /**
@@ -103,4 +106,22 @@ public class Slime extends Enemy {
             this.movingForward = false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Zapíše stav slizu – stav nepriateľa a smer pohybu po trase.
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        super.writeState(output);
+        output.writeBoolean(this.movingForward);
+    }
+
+    /**
+     * Obnoví stav slizu zapísaný metódou writeState.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        super.readState(input);
+        this.movingForward = input.readBoolean();
+    }
+}
@@ -4,9 +4,12 @@ import entity.EntityType;
 import utils.GridPosition;
 import utils.Position;
 import utils.Settings;
-import world.Tile;
+import world.TileType;
 import world.World;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.Collections;
@@ -128,12 +131,29 @@ public class Vampire extends Enemy {
     }
 
     /**
-     * Nájde cestu k cieľovej pozícii.
+     * Nájde cestu k cieľovej pozícii a hľadanie zaznamená ako udalosť JFR PathSearchEvent.
      * 
      * @param goal Cieľová pozícia v mriežke
      * @return Zoznam bodov cesty k cieľu
      */
     private ArrayList<GridPosition> findPathTo(GridPosition goal) {
+        PathSearchEvent event = new PathSearchEvent();
+        event.begin();
+        ArrayList<GridPosition> path = this.searchPath(goal, event);
+        event.pathLength = path.size();
+        event.found = !path.isEmpty();
+        event.commit();
+        return path;
+    }
+
+    /**
+     * Prehľadávaním do šírky nájde najkratšiu cestu k cieľovej pozícii.
+     * 
+     * @param goal Cieľová pozícia v mriežke
+     * @param event Udalosť hľadania, do ktorej sa počítajú rozvinuté uzly
+     * @return Zoznam bodov cesty k cieľu, prázdny ak cesta neexistuje
+     */
+    private ArrayList<GridPosition> searchPath(GridPosition goal, PathSearchEvent event) {
         GridPosition start = this.getGridPosition();
         if (start.equals(goal)) {
             ArrayList<GridPosition> path = new ArrayList<>();
@@ -152,6 +172,7 @@ public class Vampire extends Enemy {
 
         while (!toExplore.isEmpty()) {
             GridPosition current = toExplore.poll();
+            event.nodesExpanded++;
 
             if (current.equals(goal)) {
                 return this.reconstructPath(parent, start, goal);
@@ -162,7 +183,7 @@ public class Vampire extends Enemy {
                 int newCol = current.col() + dir[1];
 
                 GridPosition next = new GridPosition(newRow, newCol);
-                Tile tile = this.getWorld().getTile(next);
+                TileType tile = this.getWorld().getTileType(next);
                 if (visited[newRow][newCol] ||
                     tile == null ||
                     tile.isCollide() ||
@@ -196,4 +217,21 @@ public class Vampire extends Enemy {
         return path;
     }
 
-}
\ No newline at end of file
+    /**
+     * Zapíše stav upíra – stav nepriateľa a príznak prenasledovania.
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        super.writeState(output);
+        output.writeBoolean(this.chasing);
+    }
+
+    /**
+     * Obnoví stav upíra zapísaný metódou writeState.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        super.readState(input);
+        this.chasing = input.readBoolean();
+    }
+}
@@ -2,7 +2,7 @@ package entity.player;
 
 import utils.Position;
 import utils.Settings;
-import world.Tile;
+import world.TileType;
 import world.World;
 
 import java.awt.Rectangle;
@@ -94,7 +94,7 @@ public class CollisionHelper {
      * Zistí, či je horný ľavý roh entity voľný.
      */
     public boolean isTopLeftFree(Position position) {
-        Tile topLeft = this.world.getTile(
+        TileType topLeft = this.world.getTileType(
                 this.calculateTopRow(position.y()), this.calculateLeftCol(position.x())
         );
         return !topLeft.isCollide();
@@ -104,7 +104,7 @@ public class CollisionHelper {
      * Zistí, či je horný pravý roh entity voľný.
      */
     public boolean isTopRightFree(Position position) {
-        Tile topRight = this.world.getTile(
+        TileType topRight = this.world.getTileType(
                 this.calculateTopRow(position.y()), this.calculateRightCol(position.x())
         );
         return !topRight.isCollide();
@@ -114,7 +114,7 @@ public class CollisionHelper {
      * Zistí, či je dolný ľavý roh entity voľný.
      */
     public boolean isBottomLeftFree(Position position) {
-        Tile bottomLeft = this.world.getTile(
+        TileType bottomLeft = this.world.getTileType(
                 this.calculateBottomRow(position.y()), this.calculateLeftCol(position.x())
         );
         return !bottomLeft.isCollide();
@@ -124,7 +124,7 @@ public class CollisionHelper {
      * Zistí, či je dolný pravý roh entity voľný.
      */
     public boolean isBottomRightFree(Position position) {
-        Tile bottomRight = this.world.getTile(
+        TileType bottomRight = this.world.getTileType(
                 this.calculateBottomRow(position.y()), this.calculateRightCol(position.x())
         );
         return !bottomRight.isCollide();
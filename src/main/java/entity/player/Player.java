@@ -13,6 +13,9 @@ import objects.Dynamite;
 import utils.Position;
 import world.World;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Optional;
 
 import static entity.EntityState.IDLE;
@@ -34,6 +37,7 @@ public class Player extends Entity {
     private static final Movement RIGHT = new Right();
 
     private static final int SPEED = 2;
+    public static final int DEFAULT_DYNAMITES = 3;
 
     private boolean up;
     private boolean down;
@@ -57,7 +61,7 @@ public class Player extends Entity {
      * Vytvorí hráča na danom riadku a stĺpci s predvoleným počtom životov a dynamitov.
      */
     public Player(int row, int col, World world) {
-        this(row, col, 4, SPEED, 3, world);
+        this(row, col, 4, SPEED, DEFAULT_DYNAMITES, world);
     }
 
     /**
@@ -98,6 +102,41 @@ public class Player extends Entity {
         return this.direction.getAsEnum();
     }
 
+    /**
+     * Zapíše stav hráča – stav entity, stlačené smery, smer pohybu, kľúč a počet dynamitov.
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        super.writeState(output);
+        output.writeBoolean(this.up);
+        output.writeBoolean(this.down);
+        output.writeBoolean(this.left);
+        output.writeBoolean(this.right);
+        output.writeByte(this.direction.getAsEnum().ordinal());
+        output.writeBoolean(this.hasKey);
+        output.writeInt(this.dynamitesCount);
+    }
+
+    /**
+     * Obnoví stav hráča zapísaný metódou writeState.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        super.readState(input);
+        this.up = input.readBoolean();
+        this.down = input.readBoolean();
+        this.left = input.readBoolean();
+        this.right = input.readBoolean();
+        this.direction = switch (Direction.values()[input.readUnsignedByte()]) {
+            case UP -> UP;
+            case DOWN -> DOWN;
+            case LEFT -> LEFT;
+            case RIGHT -> RIGHT;
+        };
+        this.hasKey = input.readBoolean();
+        this.dynamitesCount = input.readInt();
+    }
+
     /**
      * Nastaví premennú stlačenia klávesy hore.
      */
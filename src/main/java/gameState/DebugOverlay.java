@@ -0,0 +1,80 @@
+package gameState;
+
+import utils.AllocationProfiler;
+import utils.FrameProfiler;
+import utils.RenderSnapshot;
+import utils.SpikeDetector;
+import utils.Settings;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trieda DebugOverlay zobrazuje nad hrou súhrn časov jednotlivých častí herného kroku (p50, p99, max)
+ * a alokácií na jeden krok spolu s počtom zberov odpadu a zachytených špičiek.
+ * Zapína a vypína sa klávesom F3. Súhrn sa prepočíta iba niekoľkokrát za sekundu,
+ * aby samotné zobrazenie výrazne neovplyvňovalo merané časy.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class DebugOverlay {
+
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 170);
+    private static final Color TEXT_COLOR = Color.GREEN;
+    private static final int REFRESH_TICKS = Settings.FPS / 2;
+    private static final int LINE_HEIGHT = 14;
+    private static final int PADDING = 6;
+    private static final int WIDTH = 290;
+
+    private boolean visible;
+    private int ticksToRefresh;
+    private List<String> lines;
+
+    /**
+     * Vytvorí skrytý prehľad.
+     */
+    public DebugOverlay() {
+        this.lines = List.of();
+    }
+
+    /**
+     * Prepne viditeľnosť prehľadu.
+     */
+    public void toggle() {
+        this.visible = !this.visible;
+        this.ticksToRefresh = 0;
+    }
+
+    /**
+     * Vykreslí prehľad do pravého horného rohu, ak je zapnutý.
+     *
+     * @param g Záznam snímky, do ktorého sa vykresľuje
+     */
+    public void render(RenderSnapshot.Builder g) {
+        if (!this.visible) {
+            return;
+        }
+        if (this.ticksToRefresh-- <= 0) {
+            List<String> summary = new ArrayList<>(FrameProfiler.summarize());
+            summary.addAll(AllocationProfiler.summarize());
+            summary.add("spikes " + SpikeDetector.getSpikeCount() + " (F4 dump)");
+            this.lines = summary;
+            this.ticksToRefresh = REFRESH_TICKS;
+        }
+
+        int x = Settings.SCREEN_WIDTH - WIDTH - PADDING;
+        int y = PADDING;
+        g.setColor(BACKGROUND_COLOR);
+        g.fillRect(x, y, WIDTH, this.lines.size() * LINE_HEIGHT + 2 * PADDING);
+
+        g.setFont(FONT);
+        g.setColor(TEXT_COLOR);
+        for (int i = 0; i < this.lines.size(); i++) {
+            g.drawString(this.lines.get(i), x + PADDING, y + PADDING + (i + 1) * LINE_HEIGHT - 3);
+        }
+    }
+}
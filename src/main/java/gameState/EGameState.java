@@ -8,10 +8,11 @@ package gameState;
  * - PAUSE_MENU: Pauza
  * - COMPLETE_LEVEL: Dokončenie úrovne
  * - GAME_OVER: Koniec hry
+ * - LOADING: Načítanie zdrojov pri spustení
  * 
  * @author Tomáš Ďurovec
  * @version 1.0
  */
 public enum EGameState {
-    PLAY, MAIN_MENU, PAUSE_MENU, COMPLETE_LEVEL, GAME_OVER
+    PLAY, MAIN_MENU, PAUSE_MENU, COMPLETE_LEVEL, GAME_OVER, LOADING
 }
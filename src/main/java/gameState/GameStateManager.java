@@ -6,88 +6,138 @@ import gameState.menu.MainMenu;
 import gameState.menu.CompleteLevel;
 import gameState.menu.GameOver;
 import gameState.play.Play;
+import gameState.loading.Loading;
 
 import utils.Settings;
+import utils.FramePhase;
+import utils.FrameProfiler;
+import utils.InputQueue;
+import utils.RenderSnapshot;
+import utils.SpikeDetector;
 import world.LevelManager;
 import world.World;
 
-import java.awt.Graphics;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
 
 import static gameState.EGameState.PLAY;
-import static gameState.EGameState.MAIN_MENU;
+import static gameState.EGameState.LOADING;
 
 import static utils.Settings.loadImage;
 
 /**
  * Trieda GameStateManager spravuje aktuálny stav hry a prepína medzi jednotlivými stavmi.
  * Zabezpečuje aktualizáciu, vykresľovanie a pripájanie vstupov na aktuálny stav.
+ * Vstupy z vlákna AWT sa iba zaraďujú do fronty a stavy ich spracujú na hernom vlákne.
  * 
  * @author Tomáš Ďurovec
  * @version 1.0
  */
 public class GameStateManager {
 
+    private static final int INPUT_QUEUE_CAPACITY = 256;
     private final LevelManager levelManager;
     private final Play playState;
     private final PauseMenu pauseMenuState;
     private final MainMenu mainMenuState;
     private final CompleteLevel completeLevel;
     private final GameOver gameOver;
+    private final Loading loadingState;
     private final BufferedImage backgroundImage;
+    private final InputQueue inputQueue;
+    private final InputQueue.Listener inputDispatcher;
+    private final DebugOverlay debugOverlay;
     private IGameState currentState;
 
     /**
-     * Inicializuje stavy hry a nastaví počiatočný stav.
+     * Inicializuje stavy hry a nastaví počiatočný stav – načítanie zdrojov.
      * 
      * @param levelManager Správca úrovní
      */
     public GameStateManager(LevelManager levelManager) {
         this.levelManager = levelManager;
+        this.inputQueue = new InputQueue(INPUT_QUEUE_CAPACITY);
+        this.debugOverlay = new DebugOverlay();
+        this.inputDispatcher = new InputQueue.Listener() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_F3) {
+                    GameStateManager.this.debugOverlay.toggle();
+                    return;
+                }
+                if (e.getKeyCode() == KeyEvent.VK_F4) {
+                    SpikeDetector.dump();
+                    return;
+                }
+                GameStateManager.this.currentState.keyPressed(e);
+            }
+
+            @Override
+            public void keyReleased(KeyEvent e) {
+                GameStateManager.this.currentState.keyReleased(e);
+            }
+        };
         this.pauseMenuState = new PauseMenu(this);
         this.mainMenuState = new MainMenu(this);
         this.completeLevel = new CompleteLevel(this);
         this.gameOver = new GameOver(this);
         this.playState = new Play(this);
+        this.loadingState = new Loading(this);
 
         this.backgroundImage = loadImage("background.png", Settings.SCREEN_WIDTH, Settings.SCREEN_HEIGHT);
-        this.changeState(MAIN_MENU);
+        this.changeState(LOADING);
     }
 
     /**
-     * Aktualizuje aktuálny stav hry.
+     * Spracuje vstupy zozbierané od posledného kroku a aktualizuje aktuálny stav hry.
      */
     public void update() {
+        long startTime = System.nanoTime();
+        if (this.inputQueue.drain(this.inputDispatcher) > 0) {
+            FrameProfiler.recordDuration(FramePhase.INPUT_LATENCY, this.inputQueue.getLastMaxLatency());
+        }
         this.currentState.update();
+        FrameProfiler.record(FramePhase.UPDATE, startTime);
     }
 
     /**
      * Vykreslí aktuálny stav hry.
      * 
-     * @param g Grafický kontext
+     * @param g Záznam snímky, do ktorého sa vykresľuje
      */
-    public void render(Graphics g) {
-        g.drawImage(this.backgroundImage, 0, 0, null);
+    public void render(RenderSnapshot.Builder g) {
+        g.drawImage(this.backgroundImage, 0, 0);
         this.currentState.render(g);
+        this.debugOverlay.render(g);
     }
 
     /**
-     * Stlačenie klávesy na aktuálny stav.
+     * Zaradí stlačenie klávesy do fronty vstupov, aktuálny stav ho spracuje na začiatku ďalšieho kroku.
+     * Volá sa z vlákna AWT.
      * 
      * @param e Udalosť stlačenia klávesu
      */
     public void keyPressed(KeyEvent e) {
-        this.currentState.keyPressed(e);
+        this.inputQueue.offer(e, true);
     }
 
     /**
-     * Stlačenie klávesy na aktuálny stav.
+     * Zaradí uvoľnenie klávesy do fronty vstupov, aktuálny stav ho spracuje na začiatku ďalšieho kroku.
+     * Volá sa z vlákna AWT.
      * 
      * @param e Udalosť uvoľnenia klávesu
      */
     public void keyReleased(KeyEvent e) {
-        this.currentState.keyReleased(e);
+        this.inputQueue.offer(e, false);
+    }
+
+    /**
+     * Získa najväčšie oneskorenie vstupov spracovaných v poslednom kroku.
+     * 
+     * @return Oneskorenie v nanosekundách
+     */
+    public long getInputLatency() {
+        return this.inputQueue.getLastMaxLatency();
     }
 
     /**
@@ -102,6 +152,7 @@ public class GameStateManager {
             case MAIN_MENU -> this.mainMenuState;
             case COMPLETE_LEVEL -> this.completeLevel;
             case GAME_OVER -> this.gameOver;
+            case LOADING -> this.loadingState;
         };
 
         if (this.currentState instanceof BaseMenuState baseMenuState) {
@@ -128,6 +179,15 @@ public class GameStateManager {
         this.playState.init();
     }
 
+    /**
+     * Začne na pozadí pripravovať ďalšiu úroveň, aby sa po potvrdení načítala okamžite.
+     */
+    public void prefetchNextLevel() {
+        if (this.isNextLevel()) {
+            this.levelManager.prefetchLevel(this.getCurrentLevel() + 1);
+        }
+    }
+
     /**
      * Zistí, či existuje ďalšia úroveň.
      * 
@@ -152,11 +212,66 @@ public class GameStateManager {
      * Opakuje aktuálnu úroveň, reštartuje ju.
      */
     public void repeatLevel() {
-        this.levelManager.initLevel();
+        this.levelManager.restartLevel();
         this.playState.init();
         this.changeState(PLAY);
     }
 
+    /**
+     * Vráti aktuálnu úroveň o daný počet sekúnd späť, ak svet uchováva históriu, a znova inicializuje stav hrania.
+     * 
+     * @param seconds Počet sekúnd hry
+     * @return true ak sa úroveň vrátila späť
+     */
+    public boolean rewindLevel(int seconds) {
+        if (!this.levelManager.rewind(seconds)) {
+            return false;
+        }
+        this.playState.init();
+        return true;
+    }
+
+    /**
+     * Rýchlo uloží rozohranú úroveň. Zápis prebieha na pozadí, jeho zlyhanie sa hráčovi zobrazí v nasledujúcom kroku.
+     */
+    public void quickSave() {
+        this.reportSaveFailure();
+        this.levelManager.quickSave();
+    }
+
+    /**
+     * Automaticky uloží rozohranú úroveň, ak uplynul interval automatického ukladania. Volá sa po každom hernom kroku,
+     * takže zlyhaný zápis na pozadí sa ohlási najneskôr v nasledujúcom kroku.
+     */
+    public void autosave() {
+        this.reportSaveFailure();
+        this.levelManager.autosave();
+    }
+
+    /**
+     * Zobrazí hráčovi oznámenie o uložení, ktorého zápis na pozadí zlyhal.
+     */
+    private void reportSaveFailure() {
+        String file = this.levelManager.takeSaveFailure();
+        if (file != null) {
+            this.playState.showNotice("Save failed: " + file);
+        }
+    }
+
+    /**
+     * Načíta rýchlo alebo automaticky uloženú úroveň a znova inicializuje stav hrania.
+     * 
+     * @param autosave true pre automatické uloženie, false pre rýchle uloženie
+     * @return true ak sa uloženie našlo a načítalo
+     */
+    public boolean loadSave(boolean autosave) {
+        boolean loaded = autosave ? this.levelManager.loadAutosave() : this.levelManager.quickLoad();
+        if (loaded) {
+            this.playState.init();
+        }
+        return loaded;
+    }
+
     /**
      * Získa číslo aktuálnej úrovne.
      * 
@@ -1,6 +1,7 @@
 package gameState;
 
-import java.awt.Graphics;
+import utils.RenderSnapshot;
+
 import java.awt.event.KeyEvent;
 
 /**
@@ -19,9 +20,9 @@ public interface IGameState {
     /**
      * Vykreslí obsah stavu hry.
      * 
-     * @param g Grafický kontext
+     * @param g Záznam snímky, do ktorého sa vykresľuje
      */
-    void render(Graphics g);
+    void render(RenderSnapshot.Builder g);
 
     /**
      * Spracuje stlačenie klávesu.
@@ -0,0 +1,63 @@
+package gameState.loading;
+
+import entity.Entity;
+import entity.EntityState;
+import entity.EntityType;
+import gameState.play.UI;
+import objects.GameObject;
+import objects.ItemType;
+import world.BiomeType;
+import world.Tile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Trieda AssetManifest obsahuje zoznam všetkých obrázkov, ktoré hra počas hrania používa:
+ * dlaždice všetkých biomov, sprite sheety entít vo všetkých stavoch, obrázky objektov a ikony UI.
+ * Každý zdroj sa načíta tou istou metódou, ktorú používa jeho vlastník, a s rovnakými rozmermi,
+ * takže počas hry sa už iba prečíta z vyrovnávacej pamäte.
+ * 
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public final class AssetManifest {
+    private static final String[] STAT_ICONS = {"heart", "dynamite", "key"};
+
+    private AssetManifest() {
+    }
+
+    /**
+     * Vytvorí úlohy načítania všetkých zdrojov hry.
+     * 
+     * @return Zoznam úloh, z ktorých každá načíta jeden zdroj
+     */
+    public static List<Runnable> create() {
+        List<Runnable> assets = new ArrayList<>();
+
+        for (BiomeType biomeType : BiomeType.values()) {
+            assets.add(() -> Tile.preloadImages(biomeType));
+        }
+
+        for (EntityType entityType : EntityType.values()) {
+            for (EntityState state : EntityState.values()) {
+                assets.add(() -> Entity.loadSpriteSheet(entityType, state));
+            }
+        }
+
+        for (ItemType itemType : ItemType.values()) {
+            assets.add(() -> GameObject.loadSprites(itemType));
+        }
+
+        for (String icon : STAT_ICONS) {
+            assets.add(() -> UI.loadIcon(icon));
+        }
+        for (EntityType entityType : EntityType.values()) {
+            if (entityType != EntityType.PLAYER) {
+                assets.add(() -> UI.loadIcon(entityType.toString().toLowerCase()));
+            }
+        }
+
+        return assets;
+    }
+}
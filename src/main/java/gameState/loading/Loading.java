@@ -0,0 +1,98 @@
+package gameState.loading;
+
+import gameState.GameStateManager;
+import gameState.IGameState;
+import utils.AssetLoader;
+import utils.Settings;
+import utils.RenderSnapshot;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.event.KeyEvent;
+
+import static gameState.EGameState.MAIN_MENU;
+import static utils.Settings.PRIMARY_FONT;
+
+/**
+ * Trieda Loading reprezentuje stav hry počas načítania zdrojov pri spustení.
+ * Načítanie beží na pracovných vláknach, tento stav iba vykresľuje jeho priebeh
+ * a po dokončení prepne hru do hlavného menu.
+ * 
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class Loading implements IGameState {
+
+    private static final Font TITLE_FONT = new Font(PRIMARY_FONT, Font.BOLD, 34);
+    private static final Color TITLE_COLOR = Color.YELLOW;
+    private static final Color BAR_COLOR = Color.YELLOW;
+    private static final Color BAR_BORDER_COLOR = Color.WHITE;
+    private static final int BAR_WIDTH = 300;
+    private static final int BAR_HEIGHT = 20;
+    private static final int TITLE_SPACING = 30;
+
+    private final GameStateManager stateManager;
+    private final AssetLoader assetLoader;
+
+    /**
+     * Vytvorí stav načítania a spustí načítanie všetkých zdrojov z manifestu.
+     * 
+     * @param stateManager Správca stavov hry
+     */
+    public Loading(GameStateManager stateManager) {
+        this.stateManager = stateManager;
+        this.assetLoader = new AssetLoader(AssetManifest.create());
+        this.assetLoader.start();
+    }
+
+    /**
+     * Po dokončení načítania prepne hru do hlavného menu.
+     * Chyba pri načítaní niektorého zdroja sa ohlási na hernom vlákne.
+     */
+    @Override
+    public void update() {
+        if (this.assetLoader.isDone()) {
+            this.assetLoader.join();
+            this.stateManager.changeState(MAIN_MENU);
+        }
+    }
+
+    /**
+     * Vykreslí nápis a ukazovateľ priebehu načítania.
+     * 
+     * @param g Záznam snímky, do ktorého sa vykresľuje
+     */
+    @Override
+    public void render(RenderSnapshot.Builder g) {
+        int barX = (Settings.SCREEN_WIDTH - BAR_WIDTH) / 2;
+        int barY = (Settings.SCREEN_HEIGHT - BAR_HEIGHT) / 2;
+
+        g.setFont(TITLE_FONT);
+        g.setColor(TITLE_COLOR);
+        String title = "Loading";
+        FontMetrics fm = g.getFontMetrics();
+        g.drawString(title, (Settings.SCREEN_WIDTH - fm.stringWidth(title)) / 2, barY - TITLE_SPACING);
+
+        g.setColor(BAR_COLOR);
+        g.fillRect(barX, barY, (int)(BAR_WIDTH * this.assetLoader.getProgress()), BAR_HEIGHT);
+        g.setColor(BAR_BORDER_COLOR);
+        g.drawRect(barX, barY, BAR_WIDTH, BAR_HEIGHT);
+    }
+
+    /**
+     * Počas načítania sa vstupy ignorujú.
+     */
+    @Override
+    public void keyPressed(KeyEvent e) {
+
+    }
+
+    /**
+     * Počas načítania sa vstupy ignorujú.
+     */
+    @Override
+    public void keyReleased(KeyEvent e) {
+
+    }
+}
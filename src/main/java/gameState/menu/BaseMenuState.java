@@ -4,8 +4,9 @@ import gameState.GameStateManager;
 import gameState.IGameState;
 import gameState.menu.item.BaseMenuItem;
 import gameState.menu.item.SelectLevelItem;
+import replay.InputAction;
+import utils.RenderSnapshot;
 
-import java.awt.Graphics;
 import java.awt.Font;
 import java.awt.Color;
 import java.awt.FontMetrics;
@@ -147,6 +148,13 @@ public abstract class BaseMenuState implements IGameState {
         this.stateManager.changeState(PLAY);
     }
 
+    /**
+     * Začne na pozadí pripravovať ďalšiu úroveň.
+     */
+    protected void prefetchNextLevel() {
+        this.stateManager.prefetchNextLevel();
+    }
+
     /**
      * Vytvorí položku menu na výber úrovne.
      * 
@@ -160,7 +168,7 @@ public abstract class BaseMenuState implements IGameState {
      * Obnoví hru z pauzy.
      */
     protected void resumeGame() {
-        this.stateManager.getWorld().gameTimer(true);
+        this.stateManager.getWorld().applyInput(InputAction.PAUSE, false);
         this.setPlay();
     }
 
@@ -176,14 +184,14 @@ public abstract class BaseMenuState implements IGameState {
      * Vykreslí menu panel, titulok a všetky položky menu.
      * Zvýrazní aktuálne vybranú položku.
      * 
-     * @param g Grafický kontext
+     * @param g Záznam snímky, do ktorého sa vykresľuje
      */
     @Override
-    public void render(Graphics g) {
+    public void render(RenderSnapshot.Builder g) {
         int panelX = (utils.Settings.SCREEN_WIDTH - PANEL_WIDTH) / 2;
         int panelY = (utils.Settings.SCREEN_HEIGHT - PANEL_HEIGHT) / 2;
 
-        g.drawImage(this.menuPanelImage, panelX, panelY, null);
+        g.drawImage(this.menuPanelImage, panelX, panelY);
 
         g.setFont(TITLE_FONT);
         g.setColor(TITLE_COLOR);
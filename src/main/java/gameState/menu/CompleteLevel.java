@@ -32,12 +32,13 @@ public class CompleteLevel extends BaseMenuState {
 
     /**
      * Inicializuje položky menu podľa stavu hry.
-     * Ak je dostupná ďalšia úroveň, pridá možnosť prejsť na ďalšiu úroveň.
+     * Ak je dostupná ďalšia úroveň, pridá možnosť prejsť na ďalšiu úroveň a začne ju pripravovať na pozadí.
      * Vždy umožňuje opakovať úroveň alebo vrátiť sa do hlavného menu.
      */
     @Override
     public void initMenu() {
         if (this.isNextLevel()) {
+            this.prefetchNextLevel();
             this.addItems(new MenuItem("Next level", this::nextLevel));
         }
         this.addItems(new MenuItem("Repeat Level", this::repeatLevel));
@@ -6,10 +6,16 @@ import entity.player.Player;
 import gameState.GameStateManager;
 import gameState.IGameState;
 import objects.GameObject;
+import replay.InputAction;
+import utils.FramePhase;
+import utils.FrameProfiler;
+import utils.Position;
 import utils.Settings;
+import utils.RenderSnapshot;
 import world.World;
 
-import java.awt.Graphics;
+import java.awt.Color;
+import java.awt.Font;
 import java.awt.event.KeyEvent;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -30,6 +36,10 @@ public class Play implements IGameState {
 
     private static final int UI_X = 10;
     private static final int UI_Y = 10;
+    private static final int REWIND_SECONDS = 3;
+    private static final int NOTICE_SECONDS = 3;
+    private static final Font NOTICE_FONT = new Font(Settings.PRIMARY_FONT, Font.BOLD, 20);
+    private static final Color NOTICE_COLOR = Color.RED;
 
     private final GameStateManager stateManager;
     private final int screenCenterX;
@@ -38,6 +48,9 @@ public class Play implements IGameState {
     private World world;
     private Player player;
     private UI playerUI;
+    private Position cameraFocus;
+    private String notice;
+    private int noticeTicks;
 
     /**
      * Vytvorí nový stav hrania s referenciou na správcu stavov hry.
@@ -54,22 +67,69 @@ public class Play implements IGameState {
      * Inicializuje stav hrania, získa aktuálny svet, hráča a vytvorí UI.
      */
     public void init() {
-        this.world = this.stateManager.getWorld();
+        this.init(this.stateManager.getWorld());
+    }
+
+    /**
+     * Inicializuje stav hrania nad zadaným svetom.
+     * 
+     * @param world Svet (úroveň), ktorý sa bude hrať a vykresľovať
+     */
+    void init(World world) {
+        this.world = world;
         this.player = this.world.getPlayer();
         this.playerUI = new UI(this.world.getPlayer(), this.world);
     }
 
+    /**
+     * Nastaví pevný bod v hernom svete, na ktorý sa kamera centruje namiesto hráča (napr. pri meraní vykresľovania).
+     * 
+     * @param cameraFocus Stred kamery v hernom svete, null ak kamera sleduje hráča
+     */
+    void setCameraFocus(Position cameraFocus) {
+        this.cameraFocus = cameraFocus;
+    }
+
+    /**
+     * Zobrazí hráčovi krátke oznámenie (napr. o zlyhanom uložení) na niekoľko sekúnd hry.
+     * 
+     * @param notice Text oznámenia
+     */
+    public void showNotice(String notice) {
+        this.notice = notice;
+        this.noticeTicks = NOTICE_SECONDS * Settings.FPS;
+    }
+
     /**
      * Vykreslí všetky herné prvky: dlaždice, objekty, entity a UI štatistiky.
      * 
-     * @param g Grafický kontext
+     * @param g Záznam snímky, do ktorého sa vykresľuje
      */
     @Override
-    public void render(Graphics g) {
-        this.renderTiles(g);
+    public void render(RenderSnapshot.Builder g) {
+        int focusX = this.cameraFocus == null ? this.player.getWorldX() : this.cameraFocus.x();
+        int focusY = this.cameraFocus == null ? this.player.getWorldY() : this.cameraFocus.y();
+        g.setCamera(focusX - this.screenCenterX, focusY - this.screenCenterY);
+        long startTime = System.nanoTime();
+        this.renderTiles(g, focusX, focusY);
+        FrameProfiler.record(FramePhase.RENDER_TILES, startTime);
+
+        startTime = System.nanoTime();
         this.renderGameObjects(g);
+        FrameProfiler.record(FramePhase.RENDER_OBJECTS, startTime);
+
+        startTime = System.nanoTime();
         this.renderEntities(g);
+        FrameProfiler.record(FramePhase.RENDER_ENTITIES, startTime);
+
+        startTime = System.nanoTime();
         this.playerUI.render(g, UI_X, UI_Y);
+        if (this.noticeTicks > 0) {
+            g.setFont(NOTICE_FONT);
+            g.setColor(NOTICE_COLOR);
+            g.drawString(this.notice, UI_X, Settings.SCREEN_HEIGHT - UI_Y);
+        }
+        FrameProfiler.record(FramePhase.RENDER_UI, startTime);
     }
 
     /**
@@ -79,6 +139,10 @@ public class Play implements IGameState {
     @Override
     public void update() {
         this.world.update();
+        this.stateManager.autosave();
+        if (this.noticeTicks > 0) {
+            this.noticeTicks--;
+        }
 
         if (this.world.isLevelCompleted()) {
             this.stateManager.markLevelToPlay();
@@ -98,12 +162,16 @@ public class Play implements IGameState {
     @Override
     public void keyPressed(KeyEvent e) {
         switch (e.getKeyCode()) {
-            case KeyEvent.VK_UP -> this.player.setUp(true);
-            case KeyEvent.VK_DOWN -> this.player.setDown(true);
-            case KeyEvent.VK_LEFT -> this.player.setLeft(true);
-            case KeyEvent.VK_RIGHT -> this.player.setRight(true);
-            case KeyEvent.VK_SPACE -> this.player.placeDynamite();
+            case KeyEvent.VK_UP -> this.world.applyInput(InputAction.UP, true);
+            case KeyEvent.VK_DOWN -> this.world.applyInput(InputAction.DOWN, true);
+            case KeyEvent.VK_LEFT -> this.world.applyInput(InputAction.LEFT, true);
+            case KeyEvent.VK_RIGHT -> this.world.applyInput(InputAction.RIGHT, true);
+            case KeyEvent.VK_SPACE -> this.world.applyInput(InputAction.PLACE_DYNAMITE, true);
             case KeyEvent.VK_ESCAPE -> this.pause();
+            case KeyEvent.VK_BACK_SPACE -> this.rewind();
+            case KeyEvent.VK_F5 -> this.stateManager.quickSave();
+            case KeyEvent.VK_F9 -> this.loadSave(false);
+            case KeyEvent.VK_F10 -> this.loadSave(true);
         }
     }
 
@@ -115,43 +183,42 @@ public class Play implements IGameState {
     @Override
     public void keyReleased(KeyEvent e) {
         switch (e.getKeyCode()) {
-            case KeyEvent.VK_UP -> this.player.setUp(false);
-            case KeyEvent.VK_DOWN -> this.player.setDown(false);
-            case KeyEvent.VK_LEFT -> this.player.setLeft(false);
-            case KeyEvent.VK_RIGHT -> this.player.setRight(false);
+            case KeyEvent.VK_UP -> this.world.applyInput(InputAction.UP, false);
+            case KeyEvent.VK_DOWN -> this.world.applyInput(InputAction.DOWN, false);
+            case KeyEvent.VK_LEFT -> this.world.applyInput(InputAction.LEFT, false);
+            case KeyEvent.VK_RIGHT -> this.world.applyInput(InputAction.RIGHT, false);
         }
     }
 
     /**
-     * Vykreslí všetky dlaždice sveta na správne pozície podľa posunu kamery (hráča).
+     * Vykreslí dlaždice sveta viditeľné na obrazovke, zaznamenajú sa vo svetových súradniciach a posúva ich kamera (hráč).
+     * Dlaždice mimo obrazovky sa vôbec nenačítajú, takže streamovaná mapa načíta iba chunky okolo kamery.
      * 
-     * @param g Grafický kontext
+     * @param g Záznam snímky, do ktorého sa vykresľuje
+     * @param focusX X-ová súradnica stredu kamery v hernom svete
+     * @param focusY Y-ová súradnica stredu kamery v hernom svete
      */
-    private void renderTiles(Graphics g) {
-        for (int row = 0; row < this.world.getRows(); row++) {
-            for (int col = 0; col < this.world.getCols(); col++) {
-                int worldX = col * Settings.TILE_SIZE;
-                int worldY = row * Settings.TILE_SIZE;
-
-                int screenX = worldX - this.player.getWorldX() + this.screenCenterX;
-                int screenY = worldY - this.player.getWorldY() + this.screenCenterY;
+    private void renderTiles(RenderSnapshot.Builder g, int focusX, int focusY) {
+        int firstRow = Math.max(0, (focusY - this.screenCenterY) / Settings.TILE_SIZE - 1);
+        int lastRow = Math.min(this.world.getRows() - 1, (focusY + this.screenCenterY) / Settings.TILE_SIZE + 1);
+        int firstCol = Math.max(0, (focusX - this.screenCenterX) / Settings.TILE_SIZE - 1);
+        int lastCol = Math.min(this.world.getCols() - 1, (focusX + this.screenCenterX) / Settings.TILE_SIZE + 1);
 
-                this.world.getTile(row, col).render(g, screenX, screenY);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                this.world.renderTile(g, row, col, col * Settings.TILE_SIZE, row * Settings.TILE_SIZE);
             }
         }
     }
 
     /**
-     * Vykreslí všetky herné objekty (dynamity, výbuchy, dvere, predmety) na správne pozície.
+     * Vykreslí všetky herné objekty (dynamity, výbuchy, dvere, predmety) na ich pozície v hernom svete.
      * 
-     * @param g Grafický kontext
+     * @param g Záznam snímky, do ktorého sa vykresľuje
      */
-    private void renderGameObjects(Graphics g) {
+    private void renderGameObjects(RenderSnapshot.Builder g) {
         for (GameObject object : this.world.getSortedGameObjects()) {
-            object.render(g,
-                    (object.getPosition().x() - this.player.getWorldX()) + this.screenCenterX,
-                    (object.getPosition().y() - this.player.getWorldY()) + this.screenCenterY
-            );
+            object.render(g, object.getPosition().x(), object.getPosition().y());
         }
     }
 
@@ -159,9 +226,9 @@ public class Play implements IGameState {
      * Vykreslí všetky entity (hráča a nepriateľov) v správnom poradí podľa Y-ovej pozície (kvôli prekrytiu).
      * Entity v stave útoku sú vykreslené navrchu.
      * 
-     * @param g Grafický kontext
+     * @param g Záznam snímky, do ktorého sa vykresľuje
      */
-    private void renderEntities(Graphics g) {
+    private void renderEntities(RenderSnapshot.Builder g) {
         ArrayList<Entity> sortedEntities = new ArrayList<>(this.world.getEntities());
         sortedEntities.sort(Comparator.comparingInt(Entity::getWorldY));
 
@@ -178,25 +245,47 @@ public class Play implements IGameState {
         sortedEntities.addAll(attackingEntities);
 
         for (Entity entity : sortedEntities) {
-            if (entity instanceof Player) {
-                entity.render(g, this.screenCenterX, this.screenCenterY);
-            } else {
-                int baseScreenX = entity.getWorldX() - this.player.getWorldX() + this.screenCenterX;
-                int baseScreenY = entity.getWorldY() - this.player.getWorldY() + this.screenCenterY;
-                entity.render(g, baseScreenX, baseScreenY);
-            }
+            entity.render(g);
+        }
+    }
+
+    /**
+     * Vráti hru o REWIND_SECONDS sekúnd späť (ak je zapnutá história sveta) a zastaví pohyb hráča,
+     * lebo obnovený hráč by sa inak pohyboval podľa kláves stlačených v čase snímky.
+     */
+    private void rewind() {
+        if (this.stateManager.rewindLevel(REWIND_SECONDS)) {
+            this.releaseMovement();
+        }
+    }
+
+    /**
+     * Načíta rýchlo alebo automaticky uloženú úroveň a zastaví pohyb hráča podobne ako pri vrátení späť.
+     * 
+     * @param autosave true pre automatické uloženie, false pre rýchle uloženie
+     */
+    private void loadSave(boolean autosave) {
+        if (this.stateManager.loadSave(autosave)) {
+            this.releaseMovement();
         }
     }
 
+    /**
+     * Zastaví pohyb hráča vo všetkých smeroch.
+     */
+    private void releaseMovement() {
+        this.world.applyInput(InputAction.UP, false);
+        this.world.applyInput(InputAction.DOWN, false);
+        this.world.applyInput(InputAction.LEFT, false);
+        this.world.applyInput(InputAction.RIGHT, false);
+    }
+
     /**
      * Pozastaví hru: zastaví pohyb hráča, pozastaví časovače a prepne do menu pauzy.
      */
     private void pause() {
-        this.player.setUp(false);
-        this.player.setDown(false);
-        this.player.setLeft(false);
-        this.player.setRight(false);
-        this.world.gameTimer(false);
+        this.releaseMovement();
+        this.world.applyInput(InputAction.PAUSE, true);
         this.stateManager.changeState(PAUSE_MENU);
     }
 }
\ No newline at end of file
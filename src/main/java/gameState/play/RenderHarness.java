@@ -0,0 +1,256 @@
+package gameState.play;
+
+import utils.FramePhase;
+import utils.FrameProfiler;
+import utils.Position;
+import utils.RenderSnapshot;
+import utils.Settings;
+import utils.TimeHistogram;
+import world.BiomeType;
+import world.LevelGenerator;
+import world.World;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Trieda RenderHarness vykresľuje stav hrania do obrázka v pamäti bez otvorenia okna, takže sa dá spustiť
+ * aj na serveri bez grafického prostredia (java.awt.headless=true). Kamera prechádza po zadanej ceste,
+ * svet sa medzi snímkami nemení, preto rovnaká cesta dáva pri rovnakom vykresľovaní vždy rovnaké obrázky.
+ * Na konci vypíše počet snímok za sekundu, časy jednotlivých častí a kontrolné súčty obrázkov,
+ * podľa ktorých sa dá overiť, že iný spôsob vykresľovania dáva rovnaký výsledok.
+ *
+ * Použitie: RenderHarness [úroveň] [počet snímok] [cesta kamery]
+ * - úroveň: názov úrovne (predvolene level_1) alebo generated:veľkosť pre vygenerovanú štvorcovú mapu
+ * - počet snímok: počet meraných snímok (predvolene 600), pred nimi sa rovnaká cesta raz prejde na zahriatie
+ * - cesta kamery: body cesty v dlaždiciach "stĺpec,riadok;stĺpec,riadok;...", predvolene obvod mapy
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class RenderHarness {
+    private static final long SEED = 42;
+    private static final int CHECKSUM_SAMPLES = 10;
+    private static final FramePhase[] PHASES = {
+            FramePhase.RECORD, FramePhase.RENDER_TILES, FramePhase.RENDER_OBJECTS, FramePhase.RENDER_ENTITIES,
+            FramePhase.RENDER_UI, FramePhase.PRESENT
+    };
+
+    private final Play play;
+    private final List<Position> cameraPath;
+    private final RenderSnapshot.Builder builder;
+    private final BufferedImage screen;
+    private final Graphics2D graphics;
+    private final int[] pixels;
+    private final ByteBuffer pixelBytes;
+    private final EnumMap<FramePhase, TimeHistogram> histograms;
+
+    /**
+     * Vytvorí meranie vykresľovania sveta po ceste kamery.
+     *
+     * @param world Resetovaný svet
+     * @param cameraPath Body cesty kamery v hernom svete (aspoň jeden)
+     */
+    public RenderHarness(World world, List<Position> cameraPath) {
+        this.play = new Play(null);
+        this.play.init(world);
+        this.cameraPath = List.copyOf(cameraPath);
+        this.builder = new RenderSnapshot.Builder();
+        this.screen = new BufferedImage(Settings.SCREEN_WIDTH, Settings.SCREEN_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        this.graphics = this.screen.createGraphics();
+        this.pixels = new int[Settings.SCREEN_WIDTH * Settings.SCREEN_HEIGHT];
+        this.pixelBytes = ByteBuffer.allocate(this.pixels.length * Integer.BYTES);
+        this.histograms = new EnumMap<>(FramePhase.class);
+    }
+
+    public static void main(String[] args) {
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        String level = args.length > 0 ? args[0] : "level_1";
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+
+        World world = createWorld(level);
+        List<Position> cameraPath = args.length > 2 ? parseCameraPath(args[2]) : defaultCameraPath(world);
+
+        RenderHarness harness = new RenderHarness(world, cameraPath);
+        harness.run(frames, false);
+        Result result = harness.run(frames, true);
+
+        System.out.printf(Locale.ROOT, "level %s (%dx%d), %d frames, %.1f fps%n",
+                level, world.getCols(), world.getRows(), frames, frames / (result.elapsedTime() / 1_000_000_000.0));
+        System.out.printf(Locale.ROOT, "%-16s %8s %8s %8s %8s%n", "phase", "mean", "p50", "p99", "max");
+        for (Map.Entry<FramePhase, TimeHistogram> entry : harness.histograms.entrySet()) {
+            TimeHistogram histogram = entry.getValue();
+            System.out.printf(Locale.ROOT, "%-16s %8.3f %8.3f %8.3f %8.3f%n",
+                    entry.getKey().toString().toLowerCase(),
+                    histogram.getMean() / 1_000_000.0,
+                    histogram.getPercentile(50) / 1_000_000.0,
+                    histogram.getPercentile(99) / 1_000_000.0,
+                    histogram.getMax() / 1_000_000.0
+            );
+        }
+        for (int i = 0; i < result.sampledChecksums().size(); i++) {
+            System.out.printf(Locale.ROOT, "frame %6d crc32 %08x%n", result.sampledFrames().get(i), result.sampledChecksums().get(i));
+        }
+        System.out.printf(Locale.ROOT, "all frames crc32 %08x%n", result.checksum());
+    }
+
+    /**
+     * Vykreslí zadaný počet snímok, kamera prejde celú cestu rovnomerne.
+     * Časy častí sa zaznamenávajú iba pri meranom behu, kontrolné súčty sa počítajú mimo meraného času.
+     *
+     * @param frames Počet snímok
+     * @param measured true pre meraný beh, false pre zahrievací beh
+     * @return Výsledok behu
+     */
+    public Result run(int frames, boolean measured) {
+        for (FramePhase phase : PHASES) {
+            this.histograms.put(phase, new TimeHistogram());
+        }
+        CRC32 total = new CRC32();
+        CRC32 frame = new CRC32();
+        List<Integer> sampledFrames = new ArrayList<>();
+        List<Long> sampledChecksums = new ArrayList<>();
+        int sampleStep = Math.max(1, frames / CHECKSUM_SAMPLES);
+        long elapsedTime = 0;
+
+        for (int i = 0; i < frames; i++) {
+            this.play.setCameraFocus(this.cameraAt(frames > 1 ? (double)i / (frames - 1) : 0.0));
+
+            long startTime = System.nanoTime();
+            this.play.render(this.builder);
+            RenderSnapshot snapshot = this.builder.build();
+            long recordTime = System.nanoTime() - startTime;
+
+            long presentStart = System.nanoTime();
+            this.graphics.setColor(Color.BLACK);
+            this.graphics.fillRect(0, 0, Settings.SCREEN_WIDTH, Settings.SCREEN_HEIGHT);
+            snapshot.render(this.graphics);
+            long presentTime = System.nanoTime() - presentStart;
+            elapsedTime += recordTime + presentTime;
+
+            if (!measured) {
+                continue;
+            }
+            this.histograms.get(FramePhase.RECORD).record(recordTime);
+            this.histograms.get(FramePhase.PRESENT).record(presentTime);
+            for (FramePhase phase : PHASES) {
+                if (phase != FramePhase.RECORD && phase != FramePhase.PRESENT) {
+                    this.histograms.get(phase).record(FrameProfiler.getLastDuration(phase));
+                }
+            }
+
+            this.screen.getRGB(0, 0, Settings.SCREEN_WIDTH, Settings.SCREEN_HEIGHT, this.pixels, 0, Settings.SCREEN_WIDTH);
+            this.pixelBytes.clear();
+            this.pixelBytes.asIntBuffer().put(this.pixels);
+            frame.reset();
+            frame.update(this.pixelBytes);
+            this.pixelBytes.flip();
+            total.update(this.pixelBytes);
+            if (i % sampleStep == 0) {
+                sampledFrames.add(i);
+                sampledChecksums.add(frame.getValue());
+            }
+        }
+        return new Result(elapsedTime, total.getValue(), sampledFrames, sampledChecksums);
+    }
+
+    /**
+     * Získa polohu kamery na ceste, cesta sa prechádza rovnomernou rýchlosťou podľa dĺžky úsekov.
+     *
+     * @param progress Podiel prejdenej cesty (0.0 - 1.0)
+     * @return Stred kamery v hernom svete
+     */
+    private Position cameraAt(double progress) {
+        double length = 0;
+        for (int i = 1; i < this.cameraPath.size(); i++) {
+            length += distance(this.cameraPath.get(i - 1), this.cameraPath.get(i));
+        }
+        double remaining = progress * length;
+        for (int i = 1; i < this.cameraPath.size(); i++) {
+            Position from = this.cameraPath.get(i - 1);
+            Position to = this.cameraPath.get(i);
+            double segment = distance(from, to);
+            if (remaining <= segment && segment > 0) {
+                double t = remaining / segment;
+                return new Position(
+                        (int)Math.round(from.x() + (to.x() - from.x()) * t),
+                        (int)Math.round(from.y() + (to.y() - from.y()) * t)
+                );
+            }
+            remaining -= segment;
+        }
+        return this.cameraPath.getLast();
+    }
+
+    /**
+     * Vytvorí a resetuje svet podľa názvu úrovne alebo zadania generated:veľkosť. Svet sa resetuje s pevným semenom,
+     * aby každé meranie hralo rovnaké skryté predmety a cesty nepriateľov.
+     */
+    private static World createWorld(String level) {
+        World world;
+        if (level.startsWith("generated:")) {
+            int size = Integer.parseInt(level.substring("generated:".length()));
+            world = new LevelGenerator(SEED, size, size, BiomeType.FOREST).generateWorld();
+        } else {
+            world = new World(level);
+        }
+        world.reset(SEED);
+        return world;
+    }
+
+    /**
+     * Prečíta cestu kamery zo zápisu "stĺpec,riadok;stĺpec,riadok;...", body sú stredy dlaždíc.
+     */
+    private static List<Position> parseCameraPath(String path) {
+        List<Position> points = new ArrayList<>();
+        for (String point : path.split(";")) {
+            String[] parts = point.split(",");
+            points.add(tileCenter(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())));
+        }
+        return points;
+    }
+
+    /**
+     * Vytvorí predvolenú cestu kamery po obvode mapy (vnútri okrajových stien).
+     */
+    private static List<Position> defaultCameraPath(World world) {
+        int lastCol = world.getCols() - 2;
+        int lastRow = world.getRows() - 2;
+        return List.of(tileCenter(1, 1), tileCenter(lastCol, 1), tileCenter(lastCol, lastRow), tileCenter(1, lastRow), tileCenter(1, 1));
+    }
+
+    /**
+     * Získa stred dlaždice v hernom svete.
+     */
+    private static Position tileCenter(int col, int row) {
+        return new Position(col * Settings.TILE_SIZE + Settings.TILE_SIZE / 2, row * Settings.TILE_SIZE + Settings.TILE_SIZE / 2);
+    }
+
+    /**
+     * Vypočíta vzdialenosť dvoch bodov.
+     */
+    private static double distance(Position from, Position to) {
+        return Math.hypot(to.x() - from.x(), to.y() - from.y());
+    }
+
+    /**
+     * Výsledok behu merania.
+     *
+     * @param elapsedTime Celkový čas zaznamenania a prehratia všetkých snímok v nanosekundách
+     * @param checksum Kontrolný súčet CRC32 všetkých snímok
+     * @param sampledFrames Čísla snímok, pre ktoré je uložený kontrolný súčet
+     * @param sampledChecksums Kontrolné súčty CRC32 vybraných snímok
+     */
+    public record Result(long elapsedTime, long checksum, List<Integer> sampledFrames, List<Long> sampledChecksums) {
+    }
+}
@@ -2,10 +2,10 @@ package gameState.play;
 
 import entity.player.Player;
 import utils.Settings;
+import utils.RenderSnapshot;
 import entity.EntityType;
 import world.World;
 
-import java.awt.Graphics;
 import java.awt.Font;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
@@ -46,8 +46,7 @@ public class UI {
          * @param textSupplier dodávateľ textovej hodnoty štatistiky
          */
         StatEntry(String iconName, Supplier<String> textSupplier) {
-            String path = String.format("icons/%s.png", iconName);
-            this.icon = loadImage(path, ICON_SIZE, ICON_SIZE);
+            this.icon = loadIcon(iconName);
             this.textSupplier = textSupplier;
         }
     }
@@ -73,20 +72,30 @@ public class UI {
         }
     }
 
+    /**
+     * Načíta ikonu štatistiky v rozmeroch, v akých sa vykresľuje v UI.
+     * 
+     * @param iconName názov súboru ikony (bez cesty)
+     * @return Načítaná ikona
+     */
+    public static BufferedImage loadIcon(String iconName) {
+        return loadImage(String.format("icons/%s.png", iconName), ICON_SIZE, ICON_SIZE);
+    }
+
     /**
      * Vykreslí všetky štatistiky (ikony a texty) na obrazovku v stĺpci.
      * 
-     * @param g Grafický kontext
+     * @param g Záznam snímky, do ktorého sa vykresľuje
      * @param x X-ová súradnica ľavého okraja UI
      * @param y Y-ová súradnica horného okraja UI
      */
-    public void render(Graphics g, int x, int y) {
+    public void render(RenderSnapshot.Builder g, int x, int y) {
         g.setFont(STAT_FONT);
         g.setColor(TEXT_COLOR);
 
         int currentY = y;
         for (StatEntry stat : this.stats) {
-            g.drawImage(stat.icon, x, currentY, null);
+            g.drawImage(stat.icon, x, currentY);
 
             String text = stat.textSupplier.get();
             int textX = x + ICON_SIZE + ICON_SPACING;
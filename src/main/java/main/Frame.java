@@ -23,5 +23,6 @@ public class Frame extends JFrame {
         this.pack();
         this.setLocationRelativeTo(null);
         this.setVisible(true);
+        panel.requestFocus();
     }
 }
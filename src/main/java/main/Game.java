@@ -1,14 +1,24 @@
 package main;
 
 import gameState.GameStateManager;
+import utils.AllocationProfiler;
+import utils.FramePhase;
+import utils.FrameProfiler;
+import utils.RenderSnapshot;
+import utils.SpikeDetector;
 import world.LevelManager;
+import world.World;
 
-import java.awt.Graphics;
+import java.util.concurrent.locks.LockSupport;
 
 import static utils.Settings.FPS;
+import static utils.Settings.RENDER_FPS;
 
 /**
  * Trieda Game riadi hlavný herný cyklus, aktualizáciu a vykresľovanie.
+ * Aktualizácia beží na hernom vlákne, ktoré po každom kroku zverejní nemennú snímku;
+ * vykresľovacie vlákno ju prehrá do okna súbežne s ďalším krokom aktualizácie, vlastnou frekvenciou
+ * a s interpoláciou medzi krokmi.
  * 
  * @author Tomáš Ďurovec
  * @version 1.0
@@ -16,24 +26,40 @@ import static utils.Settings.FPS;
 public class Game implements Runnable {
 
     private final Thread gameThread;
+    private final Thread renderThread;
     private final Panel panel;
     private final GameStateManager gameStateManager;
+    private final RenderSnapshot.Builder snapshotBuilder;
+    private final SpikeDetector tickSpikes;
+    private final SpikeDetector frameSpikes;
+    private volatile RenderSnapshot latestSnapshot;
 
     /**
      * Inicializuje hru, vytvorí panel a GameStateManager.
      */
     public Game() {
-        this.gameThread = new Thread(this);
+        this.gameThread = new Thread(this, "game");
+        this.renderThread = new Thread(this::renderLoop, "render");
+        this.renderThread.setDaemon(true);
+        this.snapshotBuilder = new RenderSnapshot.Builder();
+        this.tickSpikes = SpikeDetector.start("tick", this.gameThread,
+                FramePhase.INPUT_LATENCY, FramePhase.UPDATE, FramePhase.UPDATE_OBJECTS, FramePhase.UPDATE_ENTITIES,
+                FramePhase.RECORD, FramePhase.RENDER_TILES, FramePhase.RENDER_OBJECTS, FramePhase.RENDER_ENTITIES, FramePhase.RENDER_UI);
+        this.frameSpikes = SpikeDetector.start("frame", this.renderThread, FramePhase.PRESENT);
         LevelManager levelManager = new LevelManager();
         this.gameStateManager = new GameStateManager(levelManager);
         this.panel = new Panel(this);
         new Frame(this.panel);
+        FrameProfiler.dumpOnExit();
+        AllocationProfiler.dumpOnExit();
+        SpikeDetector.dumpOnExit();
     }
 
     /**
-     * Spustí herný cyklus.
+     * Spustí herný cyklus a vykresľovacie vlákno.
      */
     public void start() {
+        this.renderThread.start();
         this.gameThread.start();
     }
 
@@ -41,16 +67,61 @@ public class Game implements Runnable {
      * Aktualizuje stav hry.
      */
     private void update() {
+        long startBytes = AllocationProfiler.allocatedBytes();
         this.gameStateManager.update();
+        AllocationProfiler.record(FramePhase.UPDATE, startBytes);
     }
 
     /**
-     * Vykreslí aktuálny stav hry.
-     * 
-     * @param g Grafický kontext
+     * Zaznamená snímku aktuálneho stavu hry a zverejní ju vykresľovaciemu vláknu.
+     * Vykresľovacie vlákno interpoluje od predchádzajúcej snímky, ktorú naposledy videlo, k najnovšej.
      */
-    public void render(Graphics g) {
-        this.gameStateManager.render(g);
+    private void publishSnapshot() {
+        long startTime = System.nanoTime();
+        long startBytes = AllocationProfiler.allocatedBytes();
+        this.gameStateManager.render(this.snapshotBuilder);
+        this.latestSnapshot = this.snapshotBuilder.build();
+        AllocationProfiler.record(FramePhase.RECORD, startBytes);
+        FrameProfiler.record(FramePhase.RECORD, startTime);
+        LockSupport.unpark(this.renderThread);
+    }
+
+    /**
+     * Cyklus vykresľovacieho vlákna. Vykresľuje s frekvenciou RENDER_FPS (0 = bez obmedzenia) nezávisle
+     * od frekvencie simulácie a polohy interpoluje medzi dvoma poslednými snímkami podľa času
+     * od zverejnenia najnovšej snímky. Obraz tak zaostáva najviac o jeden krok simulácie.
+     * Snímky sú nemenné, preto vykresľovanie beží súbežne s aktualizáciou bez zámkov.
+     */
+    private void renderLoop() {
+        long tickTime = 1_000_000_000 / FPS;
+        long frameTime = RENDER_FPS > 0 ? 1_000_000_000 / RENDER_FPS : 0;
+        RenderSnapshot previousSnapshot = null;
+        RenderSnapshot currentSnapshot = null;
+
+        while (true) {
+            long frameStart = System.nanoTime();
+            long startBytes = AllocationProfiler.allocatedBytes();
+            RenderSnapshot snapshot = this.latestSnapshot;
+            if (snapshot == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            if (snapshot != currentSnapshot) {
+                previousSnapshot = currentSnapshot;
+                currentSnapshot = snapshot;
+            }
+
+            this.frameSpikes.begin();
+            double alpha = Math.clamp((double)(frameStart - currentSnapshot.getTimestamp()) / tickTime, 0.0, 1.0);
+            this.panel.render(currentSnapshot, previousSnapshot, alpha);
+            AllocationProfiler.record(FramePhase.PRESENT, startBytes);
+            FrameProfiler.record(FramePhase.PRESENT, frameStart);
+            this.frameSpikes.end();
+
+            if (frameTime > 0) {
+                LockSupport.parkNanos(this, frameTime - (System.nanoTime() - frameStart));
+            }
+        }
     }
 
     /**
@@ -64,13 +135,34 @@ public class Game implements Runnable {
         while (this.gameThread.isAlive()) {
             long currentTime = System.nanoTime();
             if (currentTime - lastTime >= targetTime) {
+                TickEvent event = new TickEvent();
+                event.begin();
+                this.tickSpikes.begin();
                 this.update();
-                this.panel.repaint();
+                this.publishSnapshot();
+                this.tickSpikes.end();
+                this.commitTickEvent(event);
+                AllocationProfiler.endTick();
                 lastTime = currentTime;
             }
         }
     }
 
+    /**
+     * Doplní a zapíše udalosť JFR herného kroku. Počty sa zisťujú iba vtedy, keď sa udalosť nahráva.
+     */
+    private void commitTickEvent(TickEvent event) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        World world = this.gameStateManager.getWorld();
+        event.level = this.gameStateManager.getCurrentLevel();
+        event.entityCount = world.getEntityCount();
+        event.objectCount = world.getGameObjectCount();
+        event.commit();
+    }
+
     /**
      * Získa GameStateManager.
      * 
@@ -1,20 +1,27 @@
 package main;
 
+import utils.RenderSnapshot;
 import utils.Settings;
 
-import javax.swing.JPanel;
+import java.awt.Canvas;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
 
 /**
  * Panel je hlavný vykresľovací komponent hry.
  * Zabezpečuje vykresľovanie a spracovanie vstupov z klávesnice.
+ * Vykresľuje sa aktívne z vykresľovacieho vlákna cez BufferStrategy, nie cez repaint() a vlákno Swingu,
+ * takže snímka sa zobrazí hneď po vykreslení a prekresľovanie môže využiť hardvérovú akceleráciu.
  * 
  * @author Tomáš Ďurovec
  * @version 1.0
  */
-public class Panel extends JPanel {
-    private final Game game;
+public class Panel extends Canvas {
+    private static final int BUFFER_COUNT = 2;
+
+    private BufferStrategy bufferStrategy;
 
     /**
      * Vytvorí nový panel pre hru.
@@ -23,21 +30,40 @@ public class Panel extends JPanel {
      */
     public Panel(Game game) {
         this.setPreferredSize(new Dimension(Settings.SCREEN_WIDTH, Settings.SCREEN_HEIGHT));
-        this.setDoubleBuffered(true);
+        this.setIgnoreRepaint(true);
         this.addKeyListener(new KeyHandler(game.getGameState()));
         this.setFocusable(true);
-        this.game = game;
     }
 
     /**
-     * Vykreslí obsah panelu.
+     * Vykreslí snímku do zadného buffera a zobrazí ju.
+     * Ak sa obsah buffera medzičasom stratil (napr. zmena režimu obrazovky), snímka sa vykreslí znova.
      * 
-     * @param g Grafický kontext
+     * @param snapshot Snímka na vykreslenie
+     * @param previous Predchádzajúca snímka, od ktorej sa interpoluje, alebo null
+     * @param alpha Podiel času medzi predchádzajúcou a aktuálnou snímkou (0.0 - 1.0)
      */
-    @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        this.game.render(g);
-    }
+    public void render(RenderSnapshot snapshot, RenderSnapshot previous, double alpha) {
+        if (!this.isDisplayable()) {
+            return;
+        }
+        if (this.bufferStrategy == null) {
+            this.createBufferStrategy(BUFFER_COUNT);
+            this.bufferStrategy = this.getBufferStrategy();
+        }
 
+        do {
+            do {
+                Graphics g = this.bufferStrategy.getDrawGraphics();
+                try {
+                    snapshot.render(g, previous, alpha);
+                } finally {
+                    g.dispose();
+                }
+            } while (this.bufferStrategy.contentsRestored());
+            this.bufferStrategy.show();
+        } while (this.bufferStrategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
 }
@@ -0,0 +1,28 @@
+package main;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Udalosť JFR jedného herného kroku – aktualizácia a zaznamenanie snímky na hernom vlákne.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@Name("bomberman.Tick")
+@Label("Tick")
+@Category({"Bomberman", "Game Loop"})
+@Description("One game tick: state update and snapshot recording")
+final class TickEvent extends Event {
+    @Label("Level")
+    int level;
+
+    @Label("Entities")
+    int entityCount;
+
+    @Label("Game Objects")
+    int objectCount;
+}
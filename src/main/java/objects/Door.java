@@ -2,11 +2,14 @@ package objects;
 
 import entity.player.Player;
 import utils.GridPosition;
+import utils.RenderSnapshot;
 
 import world.World;
 
-import java.awt.Graphics;
 import java.awt.image.BufferedImage;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Trieda Door reprezentuje dvere do ďalšej úrovne.
@@ -55,12 +58,12 @@ public class Door extends GameObject implements Actionable {
     /**
      * Vykreslí dvere na zadané súradnice, podľa stavu animácie a otvorenia.
      * 
-     * @param g Grafický kontext
-     * @param x X-ová súradnica na obrazovke
-     * @param y Y-ová súradnica na obrazovke
+     * @param g Záznam snímky, do ktorého sa vykresľuje
+     * @param x X-ová súradnica v hernom svete
+     * @param y Y-ová súradnica v hernom svete
      */
     @Override
-    public void render(Graphics g, int x, int y) {
+    public void render(RenderSnapshot.Builder g, int x, int y) {
         BufferedImage image = this.getImage();
 
         if (this.performAnimation) {
@@ -69,7 +72,7 @@ public class Door extends GameObject implements Actionable {
             image = this.getImages()[this.getSpriteCount() - 1];
         }
 
-        g.drawImage(image, x, y, null);
+        g.drawWorldImage(image, x, y);
     }
 
     /**
@@ -90,4 +93,23 @@ public class Door extends GameObject implements Actionable {
         this.doorOpened = true;
     }
 
+    /**
+     * Zapíše stav dverí – stav objektu, priebeh animácie otvárania a otvorenie.
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        super.writeState(output);
+        output.writeBoolean(this.performAnimation);
+        output.writeBoolean(this.doorOpened);
+    }
+
+    /**
+     * Obnoví stav dverí zapísaný metódou writeState.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        super.readState(input);
+        this.performAnimation = input.readBoolean();
+        this.doorOpened = input.readBoolean();
+    }
 }
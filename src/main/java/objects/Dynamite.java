@@ -3,10 +3,14 @@ package objects;
 import entity.Entity;
 
 import java.awt.Rectangle;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 
 import utils.GridPosition;
 import utils.Timer;
+import world.TileType;
 import world.World;
 
 import static utils.Settings.DIRECTIONS;
@@ -33,7 +37,7 @@ public class Dynamite extends PlaceableObject {
      */
     public Dynamite(GridPosition gridPosition, World world) {
         super(gridPosition, world, ItemType.DYNAMITE);
-        this.fuseTimer = new Timer(FUSE_TIME);
+        this.fuseTimer = new Timer(world.getClock(), FUSE_TIME);
         this.fuseTimer.start();
 
         this.entitiesIn = new ArrayList<>();
@@ -76,6 +80,34 @@ public class Dynamite extends PlaceableObject {
         this.fuseTimer.resume();
     }
 
+    /**
+     * Zapíše stav dynamitu – stav objektu, časovač zápalnej šnúry a entity, ktoré na ňom ešte stoja
+     * (ako poradie entity v úrovni).
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        super.writeState(output);
+        this.fuseTimer.writeState(output);
+        output.writeInt(this.entitiesIn.size());
+        for (Entity entity : this.entitiesIn) {
+            output.writeInt(this.getWorld().getSpawnIndex(entity));
+        }
+    }
+
+    /**
+     * Obnoví stav dynamitu zapísaný metódou writeState. Entity sveta musia byť už obnovené.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        super.readState(input);
+        this.fuseTimer.readState(input);
+        int count = input.readInt();
+        this.entitiesIn.clear();
+        for (int i = 0; i < count; i++) {
+            this.entitiesIn.add(this.getWorld().getSpawnedEntity(input.readInt()));
+        }
+    }
+
     @Override
     protected void afterAnimationPerformed() {
         // Dynamit nemá špeciálnu akciu po animácii
@@ -107,17 +139,25 @@ public class Dynamite extends PlaceableObject {
     }
 
     /**
-     * Spustí výbuch dynamitu a označí ho ako dokončený.
+     * Spustí výbuch dynamitu, označí ho ako dokončený a zaznamená ho ako udalosť JFR ExplosionEvent.
      */
-    private void explode() {
-        this.placeExplosionChain();
+    void explode() {
+        ExplosionEvent event = new ExplosionEvent();
+        event.begin();
+        event.cellsAffected = this.placeExplosionChain();
         this.finish();
+        event.row = this.getGridPosition().row();
+        event.col = this.getGridPosition().col();
+        event.commit();
     }
 
     /**
      * Vytvorí reťazec výbuchov v štyroch smeroch podľa dosahu.
+     * 
+     * @return Počet políčok zasiahnutých výbuchom
      */
-    private void placeExplosionChain() {
+    private int placeExplosionChain() {
+        int cellsAffected = 0;
         for (int[] vector : DIRECTIONS) {
             int newCol = this.getGridPosition().col();
             int newRow = this.getGridPosition().row();
@@ -126,23 +166,25 @@ public class Dynamite extends PlaceableObject {
                     newCol >= 0 && newCol < this.getWorld().getCols() &&
                     newRow >= 0 && newRow < this.getWorld().getRows() &&
                     (
-                        this.getWorld().getTile(newRow, newCol).isGround() ||
-                        this.getWorld().getTile(newRow, newCol).isDestructible()
+                        this.getWorld().getTileType(newRow, newCol) == TileType.GROUND ||
+                        this.getWorld().getTileType(newRow, newCol).isDestructible()
                     ) &&
                     range < EXPLOSION_RANGE
             ) {
                 range++;
+                cellsAffected++;
                 
                 Explosion explosion = new Explosion(new GridPosition(newRow, newCol), this.getWorld());
                 explosion.place();
                 this.hitEntities(explosion.getWorldSolidArea());
 
-                if (!this.getWorld().getTile(newRow, newCol).isDestructible()) {
+                if (!this.getWorld().getTileType(newRow, newCol).isDestructible()) {
                     newCol += vector[0];
                     newRow += vector[1];
                 }
             }
         }
+        return cellsAffected;
     }
     
     /**
@@ -0,0 +1,28 @@
+package objects;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Udalosť JFR výbuchu dynamitu a jeho reťazca výbuchov.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@Name("bomberman.Explosion")
+@Label("Explosion")
+@Category({"Bomberman", "Objects"})
+@Description("Dynamite explosion chain")
+final class ExplosionEvent extends Event {
+    @Label("Row")
+    int row;
+
+    @Label("Column")
+    int col;
+
+    @Label("Cells Affected")
+    int cellsAffected;
+}
@@ -1,17 +1,21 @@
 package objects;
 
 import entity.Entity;
+import utils.ISnapshot;
 import utils.ITimer;
 import utils.Position;
 import utils.GridPosition;
 import utils.Timer;
 import utils.Settings;
+import utils.RenderSnapshot;
 
 import world.World;
 
 import java.awt.Rectangle;
-import java.awt.Graphics;
 import java.awt.image.BufferedImage;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 import java.util.List;
 
@@ -25,7 +29,7 @@ import static utils.Settings.loadSpriteSheet;
  * @author Tomáš Ďurovec
  * @version 1.0
  */
-public abstract class GameObject implements ITimer {
+public abstract class GameObject implements ITimer, ISnapshot {
 
     private final World world;
     private final BufferedImage[] images;
@@ -39,7 +43,7 @@ public abstract class GameObject implements ITimer {
 
     public GameObject(GridPosition gridPosition, World world, ItemType itemType) {
         this.itemType = itemType;
-        this.images = loadSpriteSheet(itemType.getImagePath(), itemType.getSpriteCount());
+        this.images = loadSprites(itemType);
 
         this.world = world;
         this.gridPosition = gridPosition;
@@ -55,10 +59,20 @@ public abstract class GameObject implements ITimer {
                 Settings.TILE_SIZE
         );
 
-        this.animationTimer = new Timer(itemType.getAniSpeed());
+        this.animationTimer = new Timer(world.getClock(), itemType.getAniSpeed());
         this.aniIdx = 0;
     }
 
+    /**
+     * Načíta obrázky animácie daného typu objektu.
+     * 
+     * @param itemType Typ objektu
+     * @return Pole obrázkov animácie
+     */
+    public static BufferedImage[] loadSprites(ItemType itemType) {
+        return loadSpriteSheet(itemType.getImagePath(), itemType.getSpriteCount());
+    }
+
     /**
      * Získa pole obrázkov (spritov) objektu.
      * 
@@ -175,12 +189,12 @@ public abstract class GameObject implements ITimer {
     /**
      * Vykreslí objekt na zadané súradnice.
      * 
-     * @param g Grafický kontext
-     * @param x X-ová súradnica na obrazovke
-     * @param y Y-ová súradnica na obrazovke
+     * @param g Záznam snímky, do ktorého sa vykresľuje
+     * @param x X-ová súradnica v hernom svete
+     * @param y Y-ová súradnica v hernom svete
      */
-    public void render(Graphics g, int x, int y) {
-        g.drawImage(this.images[this.aniIdx], x, y, null);
+    public void render(RenderSnapshot.Builder g, int x, int y) {
+        g.drawWorldImage(this.images[this.aniIdx], x, y);
     }
 
     /**
@@ -205,6 +219,36 @@ public abstract class GameObject implements ITimer {
         this.animationTimer.start();
     }
 
+    /**
+     * Zapíše stav objektu – snímku animácie, príznak dokončenia a časovač animácie.
+     * Potomkovia dopĺňajú vlastný stav po zavolaní tejto metódy.
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        output.writeByte(this.aniIdx);
+        output.writeBoolean(this.finished);
+        this.animationTimer.writeState(output);
+    }
+
+    /**
+     * Obnoví stav objektu zapísaný metódou writeState.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        this.aniIdx = input.readUnsignedByte();
+        this.finished = input.readBoolean();
+        this.animationTimer.readState(input);
+    }
+
+    /**
+     * Získa typ objektu.
+     * 
+     * @return Typ objektu
+     */
+    public ItemType getItemType() {
+        return this.itemType;
+    }
+
     /**
      * Získa prioritu vykresľovania objektu (vyššia priorita = neskôr vykreslené).
      * 
@@ -1,9 +1,10 @@
 package objects;
 
 import utils.GridPosition;
+import world.TileGrid;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Comparator;
@@ -12,18 +13,25 @@ import java.util.Comparator;
  * Trieda GameObjectManager spravuje všetky objekty na hernej mape.
  * Umožňuje pridávať, získavať, aktualizovať a odstraňovať objekty podľa pozície.
  * Zabezpečuje správne zoradenie objektov pre vykresľovanie a správu kolízií.
+ * Počet objektov na každom políčku udržiava vo vrstve obsadenosti mriežky mapy.
+ * Pozície sa prechádzajú v poradí pridania, takže poradie aktualizácie nezávisí od histórie tabuľky
+ * a svet obnovený zo snímky aktualizuje objekty v rovnakom poradí ako pôvodný.
  * 
  * @author Tomáš Ďurovec
  * @version 1.0
  */
 public class GameObjectManager {
-    private final HashMap<GridPosition, ArrayList<GameObject>> objects;
+    private final LinkedHashMap<GridPosition, ArrayList<GameObject>> objects;
+    private final TileGrid grid;
 
     /**
      * Vytvorí nový správca objektov.
+     * 
+     * @param grid Mriežka mapy, v ktorej sa udržiava obsadenosť políčok
      */
-    public GameObjectManager() {
-        this.objects = new HashMap<>();
+    public GameObjectManager(TileGrid grid) {
+        this.objects = new LinkedHashMap<>();
+        this.grid = grid;
     }
 
     /**
@@ -36,6 +44,7 @@ public class GameObjectManager {
         GridPosition position = object.getGridPosition();
         this.removeDuplicated(object, position);
         this.objects.computeIfAbsent(position, _ -> new ArrayList<>()).add(object);
+        this.changeOccupancy(position, 1);
     }
 
     /**
@@ -77,7 +86,9 @@ public class GameObjectManager {
      * @return true ak je na pozícii objekt, inak false
      */
     public boolean isAt(GridPosition gridPosition) {
-        return this.objects.get(gridPosition) != null && !this.objects.get(gridPosition).isEmpty();
+        int row = gridPosition.row();
+        int col = gridPosition.col();
+        return this.grid.contains(row, col) && this.grid.getOccupancy(row, col) > 0;
     }
 
     /**
@@ -89,7 +100,7 @@ public class GameObjectManager {
         }
 
         for (List<GameObject> objectsAtPosition : this.objects.values()) {
-            objectsAtPosition.removeIf(GameObject::isFinished);
+            objectsAtPosition.removeIf(this::removeIfFinished);
         }
 
         this.objects.values().removeIf(ArrayList::isEmpty);
@@ -106,6 +117,19 @@ public class GameObjectManager {
         return Collections.unmodifiableList(allObjects.reversed());
     }
 
+    /**
+     * Získa počet všetkých objektov na mape vrátane nedostupných.
+     * 
+     * @return Počet objektov
+     */
+    public int getObjectCount() {
+        int count = 0;
+        for (List<GameObject> objectsAtPosition : this.objects.values()) {
+            count += objectsAtPosition.size();
+        }
+        return count;
+    }
+
     /**
      * Získa nemodifikovateľný zoznam všetkých objektov na mape.
      * 
@@ -115,6 +139,20 @@ public class GameObjectManager {
         return Collections.unmodifiableList(this.getAll());
     }
 
+    /**
+     * Získa zoznam všetkých objektov na mape vrátane nedostupných (neaktivovaných skrytých predmetov)
+     * v poradí aktualizácie.
+     * 
+     * @return Zoznam všetkých objektov
+     */
+    public List<GameObject> getAllObjects() {
+        ArrayList<GameObject> allGameObjects = new ArrayList<>();
+        for (ArrayList<GameObject> value : this.objects.values()) {
+            allGameObjects.addAll(value);
+        }
+        return allGameObjects;
+    }
+
     /**
      * Odstráni z pozície objekty s rovnakou prioritou ako nový objekt (napr. nahradenie).
      * 
@@ -124,10 +162,38 @@ public class GameObjectManager {
     private void removeDuplicated(GameObject object, GridPosition position) {
         List<GameObject> gameObjects = this.objects.get(position);
         if (gameObjects != null) {
-            gameObjects.removeIf(entry -> entry.getRenderPriority() == object.getRenderPriority());
+            if (gameObjects.removeIf(entry -> entry.getRenderPriority() == object.getRenderPriority())) {
+                this.changeOccupancy(position, -1);
+            }
         }
     }
 
+    /**
+     * Zistí, či je objekt dokončený, a ak áno, zníži obsadenosť jeho políčka.
+     * 
+     * @param object Objekt na kontrolu
+     * @return true ak sa má objekt odstrániť, inak false
+     */
+    private boolean removeIfFinished(GameObject object) {
+        if (object.isFinished()) {
+            this.changeOccupancy(object.getGridPosition(), -1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Zmení počet objektov na políčku vo vrstve obsadenosti mriežky.
+     * 
+     * @param position Pozícia v mriežke
+     * @param delta Zmena počtu objektov
+     */
+    private void changeOccupancy(GridPosition position, int delta) {
+        int row = position.row();
+        int col = position.col();
+        this.grid.setOccupancy(row, col, this.grid.getOccupancy(row, col) + delta);
+    }
+
     /**
      * Získa zoznam všetkých dostupných objektov na mape.
      * 
@@ -4,9 +4,13 @@ import objects.Actionable;
 import objects.GameObject;
 import objects.ItemType;
 import utils.GridPosition;
+import utils.RenderSnapshot;
 import world.World;
 
-import java.awt.Graphics;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 
 /**
  * Abstraktná trieda HiddenItem reprezentuje skrytý predmet na mape.
@@ -52,13 +56,13 @@ public abstract class HiddenItem extends GameObject implements Actionable {
     /**
      * Vykreslí skrytý predmet na zadané súradnice.
      * 
-     * @param g Grafický kontext
-     * @param x X-ová súradnica na obrazovke
-     * @param y Y-ová súradnica na obrazovke
+     * @param g Záznam snímky, do ktorého sa vykresľuje
+     * @param x X-ová súradnica v hernom svete
+     * @param y Y-ová súradnica v hernom svete
      */
     @Override
-    public void render(Graphics g, int x, int y) {
-        g.drawImage(this.getImage(), x, y, null);
+    public void render(RenderSnapshot.Builder g, int x, int y) {
+        g.drawWorldImage(this.getImage(), x, y);
     }
 
     /**
@@ -69,4 +73,21 @@ public abstract class HiddenItem extends GameObject implements Actionable {
 
     }
 
+    /**
+     * Zapíše stav skrytého predmetu – stav objektu a aktiváciu.
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        super.writeState(output);
+        output.writeBoolean(this.isActive);
+    }
+
+    /**
+     * Obnoví stav skrytého predmetu zapísaný metódou writeState.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        super.readState(input);
+        this.isActive = input.readBoolean();
+    }
 }
@@ -3,8 +3,8 @@ package objects.hiddenITem;
 import entity.player.Player;
 import objects.ItemType;
 import utils.GridPosition;
+import utils.RenderSnapshot;
 import world.World;
-import java.awt.Graphics;
 
 /**
  * Trieda Key reprezentuje skrytý predmet – kľúč na otvorenie dverí.
@@ -36,13 +36,13 @@ public class Key extends HiddenItem {
     /**
      * Vykreslí kľúč na zadané súradnice.
      * 
-     * @param g Grafický kontext
-     * @param x X-ová súradnica na obrazovke
-     * @param y Y-ová súradnica na obrazovke
+     * @param g Záznam snímky, do ktorého sa vykresľuje
+     * @param x X-ová súradnica v hernom svete
+     * @param y Y-ová súradnica v hernom svete
      */
     @Override
-    public void render(Graphics g, int x, int y) {
-        g.drawImage(this.getImages()[this.getAniIdx()], x, y, null);
+    public void render(RenderSnapshot.Builder g, int x, int y) {
+        g.drawWorldImage(this.getImages()[this.getAniIdx()], x, y);
     }
 
     /**
@@ -0,0 +1,43 @@
+package replay;
+
+import entity.player.Player;
+import world.World;
+
+/**
+ * Enum InputAction určuje vstupy hráča, ktoré menia herný svet – pohyb, položenie dynamitu a pauzu.
+ * Všetky vstupy počas hrania prechádzajú cez World.applyInput, takže sa dajú zaznamenať
+ * a pri prehrávaní záznamu použiť v rovnakom kroku rovnakým spôsobom.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public enum InputAction {
+    UP,
+    DOWN,
+    LEFT,
+    RIGHT,
+    PLACE_DYNAMITE,
+    PAUSE;
+
+    /**
+     * Vykoná vstup na svete.
+     *
+     * @param world Svet, na ktorý sa vstup použije
+     * @param pressed true pri stlačení (pri pauze zastavenie hry), false pri uvoľnení (pri pauze obnovenie hry)
+     */
+    public void apply(World world, boolean pressed) {
+        Player player = world.getPlayer();
+        switch (this) {
+            case UP -> player.setUp(pressed);
+            case DOWN -> player.setDown(pressed);
+            case LEFT -> player.setLeft(pressed);
+            case RIGHT -> player.setRight(pressed);
+            case PLACE_DYNAMITE -> {
+                if (pressed) {
+                    player.placeDynamite();
+                }
+            }
+            case PAUSE -> world.gameTimer(!pressed);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package replay;
+
+/**
+ * Záznam jedného vstupu hráča v danom hernom kroku.
+ * Vstup sa pri hre aj pri prehrávaní použije pred aktualizáciou sveta, ktorá z kroku tick urobí krok tick + 1.
+ *
+ * @param tick Herný krok sveta, v ktorom bol vstup použitý
+ * @param action Vstup
+ * @param pressed true pri stlačení, false pri uvoľnení
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public record InputEvent(long tick, InputAction action, boolean pressed) {
+}
@@ -0,0 +1,91 @@
+package replay;
+
+import utils.Settings;
+import world.World;
+
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+
+/**
+ * Trieda InputRecorder nahráva jednu hru (od resetu alebo reštartu úrovne) – vstupy hráča podľa herných krokov
+ * a každých KEYFRAME_INTERVAL krokov kľúčovú snímku sveta. Hotové bloky odovzdáva zapisovaču na pozadí.
+ * Spolu so semenom sveta stačí záznam na presné zopakovanie hry, kľúčové snímky umožňujú rýchle posúvanie.
+ * Nahráva sa na hernom vlákne, ukončiť záznam sa dá aj z iného vlákna (napr. pri ukončení aplikácie).
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class InputRecorder {
+    public static final int KEYFRAME_INTERVAL = Settings.FPS * 5;
+
+    private final World world;
+    private final ReplayWriter writer;
+    private long tick;
+    private long blockStart;
+    private byte[] keyframe;
+    private ArrayList<InputEvent> events;
+
+    /**
+     * Začne nahrávať hru na svete v jeho aktuálnom kroku, zachytí prvú kľúčovú snímku.
+     *
+     * @param world Nahrávaný svet
+     * @param writer Zapisovač záznamu
+     */
+    public InputRecorder(World world, ReplayWriter writer) {
+        this.world = world;
+        this.writer = writer;
+        this.tick = world.getTick();
+        this.startBlock();
+    }
+
+    /**
+     * Zaznamená vstup v danom hernom kroku.
+     *
+     * @param tick Herný krok sveta
+     * @param action Vstup
+     * @param pressed true pri stlačení, false pri uvoľnení
+     */
+    public synchronized void record(long tick, InputAction action, boolean pressed) {
+        if (this.events != null) {
+            this.events.add(new InputEvent(tick, action, pressed));
+        }
+    }
+
+    /**
+     * Zaznamená dokončenie herného kroku. Po uplynutí intervalu odovzdá blok na zápis a začne nový
+     * s kľúčovou snímkou sveta. Volá sa na konci aktualizácie sveta.
+     */
+    public synchronized void onUpdate() {
+        if (this.events == null) {
+            return;
+        }
+        this.tick = this.world.getTick();
+        if (this.tick - this.blockStart >= KEYFRAME_INTERVAL) {
+            this.writer.writeBlock(new Replay.Block(this.blockStart, this.keyframe, this.events));
+            this.startBlock();
+        }
+    }
+
+    /**
+     * Ukončí záznam – odovzdá posledný blok a koniec záznamu zapisovaču.
+     *
+     * @param checksum Kontrolný súčet sveta po poslednom kroku, Replay.NO_CHECKSUM ak nie je známy
+     * @return Dokončenie zápisu záznamu
+     */
+    public synchronized Future<?> finish(long checksum) {
+        if (this.events != null) {
+            this.writer.writeBlock(new Replay.Block(this.blockStart, this.keyframe, this.events));
+            this.events = null;
+        }
+        return this.writer.close(this.tick, checksum);
+    }
+
+    /**
+     * Začne nový blok kľúčovou snímkou sveta v aktuálnom kroku.
+     */
+    private void startBlock() {
+        this.blockStart = this.tick;
+        this.keyframe = this.world.captureState();
+        this.events = new ArrayList<>();
+    }
+}
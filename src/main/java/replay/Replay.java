@@ -0,0 +1,93 @@
+package replay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Záznam Replay obsahuje všetko potrebné na presné zopakovanie jednej hry – úroveň, semeno sveta,
+ * počet herných krokov a bloky záznamu. Každý blok nesie kľúčovú snímku sveta na svojom začiatku
+ * a vstupy hráča do začiatku ďalšieho bloku. Kontrolný súčet sveta po poslednom kroku slúži na overenie,
+ * že prehratie skončilo v rovnakom stave ako pôvodná hra. Súbor záznamu zapisuje a číta ReplayCodec.
+ *
+ * @param levelName Názov úrovne
+ * @param seed Semeno sveta
+ * @param keyframeInterval Počet krokov medzi kľúčovými snímkami
+ * @param ticks Počet odohraných herných krokov
+ * @param checksum Kontrolný súčet sveta po poslednom kroku, NO_CHECKSUM ak nie je známy
+ * @param blocks Bloky záznamu zoradené podľa prvého kroku
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public record Replay(String levelName, long seed, int keyframeInterval, long ticks, long checksum, List<Block> blocks) {
+    public static final long NO_CHECKSUM = -1;
+    public static final String EXTENSION = ".rpl";
+
+    /**
+     * Vytvorí záznam hry s nemennou kópiou blokov.
+     */
+    public Replay {
+        blocks = List.copyOf(blocks);
+    }
+
+    /**
+     * Zistí, či záznam obsahuje kontrolný súčet konečného stavu.
+     *
+     * @return true ak je kontrolný súčet známy
+     */
+    public boolean hasChecksum() {
+        return this.checksum != NO_CHECKSUM;
+    }
+
+    /**
+     * Získa všetky vstupy záznamu zoradené podľa krokov.
+     *
+     * @return Vstupy hráča
+     */
+    public List<InputEvent> events() {
+        List<InputEvent> events = new ArrayList<>();
+        for (Block block : this.blocks) {
+            events.addAll(block.events());
+        }
+        return events;
+    }
+
+    /**
+     * Nájde posledný blok, ktorý začína najneskôr v danom kroku – jeho kľúčová snímka je najbližšia
+     * snímka pred týmto krokom.
+     *
+     * @param tick Herný krok
+     * @return Index bloku, -1 ak taký blok nie je
+     */
+    public int findBlock(long tick) {
+        int low = 0;
+        int high = this.blocks.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (this.blocks.get(middle).startTick() <= tick) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Blok záznamu – kľúčová snímka sveta na začiatku bloku a vstupy hráča v bloku.
+     *
+     * @param startTick Herný krok kľúčovej snímky
+     * @param keyframe Snímka sveta (World.captureState) pred vstupmi kroku startTick
+     * @param events Vstupy hráča od kroku startTick po začiatok ďalšieho bloku
+     */
+    public record Block(long startTick, byte[] keyframe, List<InputEvent> events) {
+        /**
+         * Vytvorí blok s nemennou kópiou vstupov.
+         */
+        public Block {
+            events = List.copyOf(events);
+        }
+    }
+}
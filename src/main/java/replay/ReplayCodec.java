@@ -0,0 +1,264 @@
+package replay;
+
+import utils.ResourcesLoadException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Trieda ReplayCodec zapisuje a číta záznamy hier v kompaktnom blokovom formáte.
+ * Záznam je rozdelený na bloky po KEYFRAME_INTERVAL herných krokov. Každý blok začína snímkou sveta
+ * (kľúčovou snímkou), takže sa dá prehrávanie posunúť na ľubovoľný krok bez simulovania od začiatku.
+ * Vstupy bloku sú uložené ako rozdiel krokov od predošlého vstupu (varint) a jeden bajt vstupu,
+ * celý obsah bloku je skomprimovaný algoritmom Deflate.
+ *
+ * Formát (big-endian, varint = 7 bitov na bajt, najvyšší bit značí pokračovanie):
+ * - hlavička: magické číslo "BMRP", verzia (short), názov úrovne (UTF), semeno (long), interval kľúčových snímok (varint)
+ * - blok: značka BLOCK (byte), prvý krok (varint), dĺžka obsahu (varint), dĺžka komprimovaného obsahu (varint), komprimovaný obsah
+ * - obsah bloku: dĺžka snímky (varint), snímka sveta, počet vstupov (varint), pre každý rozdiel krokov (varint)
+ *   a vstup (byte: poradie vstupu, najvyšší bit = stlačenie)
+ * - koniec: značka END (byte), počet krokov (long), kontrolný súčet (long, -1 ak nie je známy)
+ *
+ * Záznam bez konca (napr. po páde hry) sa dá prečítať, počet krokov sa určí z posledného bloku a vstupu.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public final class ReplayCodec {
+    private static final int MAGIC = 0x424D5250;
+    private static final short VERSION = 2;
+    private static final int BLOCK = 1;
+    private static final int END = 0;
+    private static final int PRESSED = 0x80;
+    private static final int MAX_INFLATE_RATIO = 1032;
+
+    private ReplayCodec() {
+    }
+
+    /**
+     * Zapíše hlavičku záznamu.
+     *
+     * @param output Cieľ zápisu
+     * @param levelName Názov úrovne
+     * @param seed Semeno sveta
+     * @param keyframeInterval Počet krokov medzi kľúčovými snímkami
+     * @throws IOException ak zápis zlyhá
+     */
+    public static void writeHeader(DataOutputStream output, String levelName, long seed, int keyframeInterval) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeUTF(levelName);
+        output.writeLong(seed);
+        writeVarLong(output, keyframeInterval);
+    }
+
+    /**
+     * Zakóduje a zapíše jeden blok záznamu.
+     *
+     * @param output Cieľ zápisu
+     * @param deflater Kompresor, ktorý sa pred použitím resetuje
+     * @param block Blok záznamu
+     * @throws IOException ak zápis zlyhá
+     */
+    public static void writeBlock(DataOutputStream output, Deflater deflater, Replay.Block block) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream(block.keyframe().length + block.events().size() * 2 + 16);
+        writeVarLong(content, block.keyframe().length);
+        content.write(block.keyframe());
+        writeVarLong(content, block.events().size());
+        long previousTick = block.startTick();
+        for (InputEvent event : block.events()) {
+            writeVarLong(content, event.tick() - previousTick);
+            content.write(event.action().ordinal() | (event.pressed() ? PRESSED : 0));
+            previousTick = event.tick();
+        }
+        byte[] raw = content.toByteArray();
+
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 16);
+        byte[] buffer = new byte[4096];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+
+        output.writeByte(BLOCK);
+        writeVarLong(output, block.startTick());
+        writeVarLong(output, raw.length);
+        writeVarLong(output, compressed.size());
+        compressed.writeTo(output);
+    }
+
+    /**
+     * Zapíše koniec záznamu.
+     *
+     * @param output Cieľ zápisu
+     * @param ticks Počet odohraných krokov
+     * @param checksum Kontrolný súčet sveta po poslednom kroku, Replay.NO_CHECKSUM ak nie je známy
+     * @throws IOException ak zápis zlyhá
+     */
+    public static void writeEnd(DataOutputStream output, long ticks, long checksum) throws IOException {
+        output.writeByte(END);
+        output.writeLong(ticks);
+        output.writeLong(checksum);
+    }
+
+    /**
+     * Načíta záznam hry zo súboru.
+     *
+     * @param path Súbor so záznamom
+     * @return Záznam hry
+     * @throws ResourcesLoadException ak súbor nie je možné prečítať alebo nie je záznamom hry
+     */
+    public static Replay read(Path path) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)))) {
+            if (input.readInt() != MAGIC || input.readShort() != VERSION) {
+                throw new ResourcesLoadException("File " + path + " is not a supported replay.");
+            }
+            String levelName = input.readUTF();
+            long seed = input.readLong();
+            int keyframeInterval = (int)readVarLong(input);
+
+            List<Replay.Block> blocks = new ArrayList<>();
+            Inflater inflater = new Inflater();
+            long ticks = 0;
+            long checksum = Replay.NO_CHECKSUM;
+            boolean ended = false;
+            while (!ended) {
+                int tag = input.read();
+                if (tag == END) {
+                    ticks = input.readLong();
+                    checksum = input.readLong();
+                    ended = true;
+                } else if (tag == BLOCK) {
+                    Replay.Block block;
+                    try {
+                        block = readBlock(input, inflater);
+                    } catch (EOFException _) {
+                        break;
+                    }
+                    blocks.add(block);
+                    ticks = Math.max(ticks, block.startTick());
+                    if (!block.events().isEmpty()) {
+                        ticks = Math.max(ticks, block.events().getLast().tick() + 1);
+                    }
+                } else {
+                    ended = true;
+                }
+            }
+            inflater.end();
+            return new Replay(levelName, seed, keyframeInterval, ticks, checksum, blocks);
+        } catch (IOException | IndexOutOfBoundsException | BufferUnderflowException | DataFormatException _) {
+            throw new ResourcesLoadException("Error while reading replay " + path + ".");
+        }
+    }
+
+    /**
+     * Overí dĺžku prečítanú zo záznamu pred alokovaním poľa.
+     *
+     * @return Dĺžka
+     * @throws DataFormatException ak je dĺžka záporná alebo väčšia ako limit
+     */
+    private static int checkLength(long length, long limit) throws DataFormatException {
+        if (length < 0 || length > limit || length > Integer.MAX_VALUE) {
+            throw new DataFormatException("Invalid length " + length + ".");
+        }
+        return (int)length;
+    }
+
+    /**
+     * Prečíta a rozbalí jeden blok záznamu. Dĺžky sa pred alokovaním overia: komprimovaný obsah nesmie byť dlhší
+     * ako zvyšok súboru (dlhší znamená skrátený záznam), obsah nesmie byť väčší, ako Deflate dokáže rozbaliť
+     * z komprimovanej dĺžky, a snímka a vstupy sa musia zmestiť do obsahu.
+     */
+    private static Replay.Block readBlock(DataInputStream input, Inflater inflater) throws IOException, DataFormatException {
+        long startTick = readVarLong(input);
+        long rawLength = readVarLong(input);
+        long compressedLength = readVarLong(input);
+        if (compressedLength > input.available()) {
+            throw new EOFException();
+        }
+        byte[] compressed = new byte[checkLength(compressedLength, input.available())];
+        byte[] raw = new byte[checkLength(rawLength, (long)compressed.length * MAX_INFLATE_RATIO)];
+        input.readFully(compressed);
+
+        inflater.reset();
+        inflater.setInput(compressed);
+        if (inflater.inflate(raw) != raw.length) {
+            throw new DataFormatException("Truncated block.");
+        }
+
+        ByteBuffer content = ByteBuffer.wrap(raw);
+        byte[] keyframe = new byte[checkLength(readVarLong(content), content.remaining())];
+        content.get(keyframe);
+        int count = checkLength(readVarLong(content), content.remaining() / 2);
+        InputAction[] actions = InputAction.values();
+        List<InputEvent> events = new ArrayList<>(count);
+        long tick = startTick;
+        for (int i = 0; i < count; i++) {
+            tick += readVarLong(content);
+            int action = content.get() & 0xFF;
+            events.add(new InputEvent(tick, actions[action & ~PRESSED], (action & PRESSED) != 0));
+        }
+        return new Replay.Block(startTick, keyframe, events);
+    }
+
+    /**
+     * Zapíše nezáporné číslo ako varint.
+     */
+    private static void writeVarLong(OutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int)(value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write((int)value);
+    }
+
+    /**
+     * Prečíta varint zo vstupného prúdu.
+     */
+    private static long readVarLong(InputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+    /**
+     * Prečíta varint z bufferu.
+     */
+    private static long readVarLong(ByteBuffer input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = input.get() & 0xFF;
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint.");
+    }
+}
@@ -0,0 +1,136 @@
+package replay;
+
+import utils.ResourcesLoadException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+
+/**
+ * Trieda ReplayWriter zapisuje záznam hry do súboru na pozadí. Herné vlákno iba odovzdá hotový blok,
+ * kompresia a zápis na disk prebehnú na spoločnom zapisovacom vlákne, takže herná slučka nikdy nečaká na disk.
+ * Bloky všetkých záznamov sa zapisujú v poradí odovzdania. Po každom bloku sa súbor vyprázdni na disk,
+ * aby sa pri páde hry dal prečítať aspoň doteraz zapísaný záznam.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class ReplayWriter {
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replay-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path path;
+    private DataOutputStream output;
+    private Deflater deflater;
+    private IOException failure;
+
+    /**
+     * Vytvorí zapisovač a na pozadí otvorí súbor a zapíše hlavičku záznamu.
+     *
+     * @param path Cieľový súbor
+     * @param levelName Názov úrovne
+     * @param seed Semeno sveta
+     * @param keyframeInterval Počet krokov medzi kľúčovými snímkami
+     */
+    public ReplayWriter(Path path, String levelName, long seed, int keyframeInterval) {
+        this.path = path;
+        this.submit(() -> {
+            Path directory = path.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            this.deflater = new Deflater(Deflater.BEST_SPEED);
+            ReplayCodec.writeHeader(this.output, levelName, seed, keyframeInterval);
+        });
+    }
+
+    /**
+     * Odovzdá blok záznamu na zápis. Blok sa po odovzdaní nesmie meniť.
+     *
+     * @param block Blok záznamu
+     */
+    public void writeBlock(Replay.Block block) {
+        this.submit(() -> {
+            ReplayCodec.writeBlock(this.output, this.deflater, block);
+            this.output.flush();
+        });
+    }
+
+    /**
+     * Odovzdá koniec záznamu a zatvorenie súboru.
+     *
+     * @param ticks Počet odohraných krokov
+     * @param checksum Kontrolný súčet sveta po poslednom kroku, Replay.NO_CHECKSUM ak nie je známy
+     * @return Dokončenie zápisu; ak zápis záznamu zlyhal, skončí výnimkou ResourcesLoadException
+     */
+    public Future<?> close(long ticks, long checksum) {
+        return EXECUTOR.submit(() -> {
+            if (this.failure == null) {
+                try {
+                    ReplayCodec.writeEnd(this.output, ticks, checksum);
+                } catch (IOException e) {
+                    this.failure = e;
+                }
+            }
+            this.release();
+            if (this.failure != null) {
+                throw new ResourcesLoadException("Error while writing replay " + this.path + ".");
+            }
+        });
+    }
+
+    /**
+     * Zaradí úlohu na zapisovacie vlákno. Po prvej chybe sa ďalšie úlohy záznamu preskočia.
+     */
+    private void submit(WriteTask task) {
+        EXECUTOR.execute(() -> {
+            if (this.failure != null) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (IOException e) {
+                this.failure = e;
+                this.release();
+            }
+        });
+    }
+
+    /**
+     * Zatvorí súbor a uvoľní kompresor.
+     */
+    private void release() {
+        if (this.deflater != null) {
+            this.deflater.end();
+            this.deflater = null;
+        }
+        if (this.output != null) {
+            try {
+                this.output.close();
+            } catch (IOException e) {
+                if (this.failure == null) {
+                    this.failure = e;
+                }
+            }
+            this.output = null;
+        }
+    }
+
+    /**
+     * Úloha zápisu vykonávaná na zapisovacom vlákne.
+     */
+    @FunctionalInterface
+    private interface WriteTask {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,195 @@
+package replay;
+
+import utils.ResourcesLoadException;
+import world.World;
+import world.WorldHistory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Trieda Replayer prehrá záznam hry na novom svete – resetuje úroveň so semenom záznamu a v každom
+ * hernom kroku použije zaznamenané vstupy pred aktualizáciou sveta. Svet beží bez vykresľovania
+ * a bez čakania na ďalší krok, teda takou rýchlosťou, akou ho stihne aktualizovať.
+ * Na ľubovoľný krok sa dá presunúť cez najbližšiu predošlú kľúčovú snímku, bez prehrávania od začiatku.
+ *
+ * Použitie: Replayer súbor.rpl [počet opakovaní] [krok]
+ * Vypíše počet krokov, dosiahnutý počet krokov za sekundu a výsledok porovnania kontrolného súčtu,
+ * pri nezhode skončí s návratovým kódom 1. Viac opakovaní slúži na meranie výkonu z reálnej hry.
+ * Ak je zadaný krok, vypíše aj čas presunu naň a porovná stav sveta s prehratím od začiatku.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class Replayer {
+    private static final int HISTORY_SECONDS = 10;
+
+    private final Replay replay;
+    private final World world;
+    private final List<InputEvent> events;
+    private int nextEvent;
+
+    /**
+     * Pripraví prehratie záznamu na novom svete resetovanom so semenom záznamu. Ak záznam nezačína
+     * v kroku 0 (napr. po vrátení hry späť), svet sa obnoví z prvej kľúčovej snímky.
+     * Svet uchováva históriu posledných HISTORY_SECONDS sekúnd, takže presun späť o krátky úsek je okamžitý.
+     *
+     * @param replay Záznam hry
+     */
+    public Replayer(Replay replay) {
+        this.replay = replay;
+        this.world = new World(replay.levelName());
+        this.world.reset(replay.seed());
+        this.world.setHistory(new WorldHistory(this.world, HISTORY_SECONDS));
+        this.events = replay.events();
+        this.nextEvent = 0;
+        if (!replay.blocks().isEmpty() && replay.blocks().getFirst().startTick() > 0) {
+            this.world.restoreState(replay.blocks().getFirst().keyframe());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        if (args.length < 1) {
+            System.err.println("Usage: Replayer <replay" + Replay.EXTENSION + "> [repeat] [tick]");
+            System.exit(2);
+        }
+        Replay replay = ReplayCodec.read(Path.of(args[0]));
+        int repeat = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        boolean matches = true;
+        for (int i = 0; i < repeat; i++) {
+            Replayer replayer = new Replayer(replay);
+            long startTime = System.nanoTime();
+            replayer.runToEnd();
+            long elapsedTime = System.nanoTime() - startTime;
+
+            long checksum = replayer.getWorld().checksum();
+            boolean match = !replay.hasChecksum() || checksum == replay.checksum();
+            matches &= match;
+            System.out.printf(Locale.ROOT, "%s seed %d, %d ticks, %d inputs, %.1f ms, %.0f ticks/s, checksum %08x %s%n",
+                    replay.levelName(), replay.seed(), replay.ticks(), replay.events().size(),
+                    elapsedTime / 1_000_000.0, replay.ticks() / (elapsedTime / 1_000_000_000.0), checksum,
+                    replay.hasChecksum() ? (match ? "ok" : "MISMATCH, expected " + String.format("%08x", replay.checksum())) : "not recorded");
+        }
+        if (args.length > 2) {
+            matches &= seek(replay, Math.min(Long.parseLong(args[2]), replay.ticks()));
+        }
+        if (!matches) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Presunie prehratie na krok cez kľúčovú snímku a porovná stav sveta s prehratím od začiatku.
+     *
+     * @return true ak sa stavy zhodujú
+     */
+    private static boolean seek(Replay replay, long tick) {
+        Replayer replayer = new Replayer(replay);
+        long startTime = System.nanoTime();
+        replayer.seek(tick);
+        long elapsedTime = System.nanoTime() - startTime;
+        long checksum = replayer.getWorld().checksum();
+
+        Replayer reference = new Replayer(replay);
+        while (reference.getWorld().getTick() < tick) {
+            reference.step();
+        }
+        long expected = reference.getWorld().checksum();
+        System.out.printf(Locale.ROOT, "seek to tick %d, %.3f ms, checksum %08x %s%n",
+                tick, elapsedTime / 1_000_000.0, checksum,
+                checksum == expected ? "ok" : "MISMATCH, expected " + String.format("%08x", expected));
+        return checksum == expected;
+    }
+
+    /**
+     * Získa prehrávaný svet.
+     *
+     * @return Svet
+     */
+    public World getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Zistí, či už prehratie dosiahlo posledný krok záznamu.
+     *
+     * @return true ak je prehratie na konci
+     */
+    public boolean isFinished() {
+        return this.world.getTick() >= this.replay.ticks();
+    }
+
+    /**
+     * Vykoná jeden herný krok – použije vstupy zaznamenané v aktuálnom kroku a aktualizuje svet.
+     */
+    public void step() {
+        while (this.nextEvent < this.events.size() && this.events.get(this.nextEvent).tick() <= this.world.getTick()) {
+            InputEvent event = this.events.get(this.nextEvent++);
+            event.action().apply(this.world, event.pressed());
+        }
+        this.world.update();
+    }
+
+    /**
+     * Prehrá záznam až po jeho posledný krok.
+     */
+    public void runToEnd() {
+        while (!this.isFinished()) {
+            this.step();
+        }
+    }
+
+    /**
+     * Presunie prehratie na daný krok. Začne z najbližšieho stavu pred cieľovým krokom – aktuálneho stavu,
+     * snímky z histórie sveta alebo kľúčovej snímky záznamu – a zvyšok krokov prehrá.
+     *
+     * @param tick Cieľový krok (najviac počet krokov záznamu, najmenej krok začiatku záznamu)
+     * @throws ResourcesLoadException ak je kľúčová snímka poškodená
+     */
+    public void seek(long tick) {
+        List<Replay.Block> blocks = this.replay.blocks();
+        if (!blocks.isEmpty()) {
+            tick = Math.max(tick, blocks.getFirst().startTick());
+        }
+        WorldHistory history = this.world.getHistory();
+        int index = this.replay.findBlock(tick);
+        long keyframeTick = index >= 0 ? this.replay.blocks().get(index).startTick() : -1;
+        long historyTick = history.getOldestTick() >= 0 && history.getOldestTick() <= tick ? Math.min(tick, history.getNewestTick()) : -1;
+        long currentTick = this.world.getTick() <= tick ? this.world.getTick() : -1;
+
+        if (historyTick > currentTick && historyTick >= keyframeTick) {
+            this.restart(history.restore(tick));
+        } else if (keyframeTick > currentTick) {
+            this.world.restoreState(blocks.get(index).keyframe());
+            this.restart(keyframeTick);
+        } else if (currentTick < 0 && blocks.isEmpty()) {
+            this.world.reset(this.replay.seed());
+            this.restart(0);
+        }
+        while (this.world.getTick() < tick) {
+            this.step();
+        }
+    }
+
+    /**
+     * Nastaví ďalší použitý vstup na prvý vstup zaznamenaný v danom kroku alebo neskôr.
+     */
+    private void restart(long tick) {
+        int low = 0;
+        int high = this.events.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.events.get(middle).tick() < tick) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        this.nextEvent = low;
+    }
+}
@@ -0,0 +1,93 @@
+package replay;
+
+import world.World;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Trieda SessionRecorder nahráva hry, ak je nastavená vlastnosť bomberman.replayDir.
+ * Každé spustenie alebo reštart úrovne začne nový záznam v adresári záznamov, predošlý sa pri tom ukončí
+ * s kontrolným súčtom konečného stavu sveta. Záznam sa zapisuje priebežne na pozadí po blokoch,
+ * rozohraná hra sa pri ukončení aplikácie uzavrie bez kontrolného súčtu, lebo herné vlákno môže stále bežať.
+ *
+ * Nastavenie vlastnosťami:
+ * - bomberman.replayDir: adresár, do ktorého sa ukladajú záznamy hier (bez neho sa nenahráva)
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class SessionRecorder {
+    private static final String DIRECTORY = System.getProperty("bomberman.replayDir");
+    private static final long EXIT_TIMEOUT = 5;
+
+    private World world;
+    private InputRecorder recorder;
+
+    /**
+     * Vytvorí nahrávanie hier a zaregistruje uzavretie rozohranej hry pri ukončení aplikácie, ak je nahrávanie zapnuté.
+     */
+    public SessionRecorder() {
+        if (isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::finishOnExit, "replay-dump"));
+        }
+    }
+
+    /**
+     * Zistí, či je nahrávanie hier zapnuté.
+     *
+     * @return true ak je nastavená vlastnosť bomberman.replayDir
+     */
+    public static boolean isEnabled() {
+        return DIRECTORY != null && !DIRECTORY.isBlank();
+    }
+
+    /**
+     * Ukončí predošlý záznam a začne nahrávať hru na práve resetovanom, reštartovanom alebo späť vrátenom svete
+     * do súboru pomenovaného podľa úrovne a času začiatku hry. Volá sa na hernom vlákne.
+     *
+     * @param world Svet na začiatku hry (v kroku 0, po vrátení späť v kroku obnovenej snímky)
+     */
+    public synchronized void begin(World world) {
+        if (!isEnabled()) {
+            return;
+        }
+        this.finish();
+        Path path = Path.of(DIRECTORY).resolve(world.getLevelName() + "-" + System.currentTimeMillis() + Replay.EXTENSION);
+        this.world = world;
+        this.recorder = new InputRecorder(world, new ReplayWriter(path, world.getLevelName(), world.getSeed(), InputRecorder.KEYFRAME_INTERVAL));
+        world.setInputRecorder(this.recorder);
+    }
+
+    /**
+     * Ukončí aktuálny záznam s kontrolným súčtom konečného stavu sveta. Zápis dobehne na pozadí.
+     * Volá sa na hernom vlákne.
+     */
+    public synchronized void finish() {
+        if (this.recorder == null) {
+            return;
+        }
+        this.world.setInputRecorder(null);
+        this.recorder.finish(this.world.checksum());
+        this.recorder = null;
+    }
+
+    /**
+     * Uzavrie rozohranú hru pri ukončení aplikácie bez kontrolného súčtu a počká na dokončenie zápisu.
+     */
+    private synchronized void finishOnExit() {
+        if (this.recorder == null) {
+            return;
+        }
+        try {
+            this.recorder.finish(Replay.NO_CHECKSUM).get(EXIT_TIMEOUT, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException _) {
+            System.err.println("Replay of " + this.world.getLevelName() + " was not written completely.");
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+        this.recorder = null;
+    }
+}
@@ -0,0 +1,216 @@
+package utils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trieda AllocationProfiler meria, koľko bajtov sa alokuje v jednom hernom kroku, rozdelene na aktualizáciu
+ * a vykresľovanie (zaznamenanie snímky na hernom vlákne a jej prehratie na vykresľovacom vlákne).
+ * Alokácie sa čítajú z počítadla vlákna (com.sun.management.ThreadMXBean), počty a časy zberov odpadu
+ * z GarbageCollectorMXBean. Hodnoty za krok sa zaznamenávajú do histogramov pre prehľad v hre
+ * a voliteľne do časového radu, ktorý sa pri ukončení zapíše do CSV súboru.
+ *
+ * Nastavenie vlastnosťami:
+ * - bomberman.allocationLog: cesta k CSV súboru časového radu (bez nej sa rad neukladá)
+ * - bomberman.allocationBudget: rozpočet alokácií na jeden krok v bajtoch (0 = bez rozpočtu)
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public final class AllocationProfiler {
+    private static final int SERIES_CAPACITY = Settings.FPS * 60 * 10;
+    private static final int SERIES_COLUMNS = 7;
+    private static final String LOG_PATH = System.getProperty("bomberman.allocationLog");
+    private static final long BUDGET = Long.getLong("bomberman.allocationBudget", 0);
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = threadBean();
+    private static final GarbageCollectorMXBean[] GC_BEANS = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+
+    private static final TimeHistogram UPDATE_BYTES = new TimeHistogram();
+    private static final TimeHistogram RENDER_BYTES = new TimeHistogram();
+    private static final AtomicLong PRESENT_BYTES = new AtomicLong();
+    private static final long[] SERIES = LOG_PATH == null || LOG_PATH.isBlank() ? null : new long[SERIES_CAPACITY * SERIES_COLUMNS];
+
+    private static long tickUpdateBytes;
+    private static long tickRecordBytes;
+    private static long lastGcCount = gcCount();
+    private static long lastGcTime = gcTime();
+    private static long gcCount;
+    private static long overBudgetTicks;
+    private static long tick;
+
+    private AllocationProfiler() {
+    }
+
+    /**
+     * Získa počet bajtov, ktoré doteraz alokovalo aktuálne vlákno.
+     *
+     * @return Počet bajtov, 0 ak JVM meranie alokácií nepodporuje
+     */
+    public static long allocatedBytes() {
+        return THREAD_BEAN == null ? 0 : THREAD_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Zaznamená alokácie časti od zadaného stavu počítadla po teraz.
+     * Merať sa dajú časti UPDATE a RECORD na hernom vlákne a PRESENT na vykresľovacom vlákne.
+     *
+     * @param phase Meraná časť
+     * @param startBytes Stav počítadla na začiatku časti (allocatedBytes)
+     */
+    public static void record(FramePhase phase, long startBytes) {
+        long bytes = allocatedBytes() - startBytes;
+        switch (phase) {
+            case UPDATE -> tickUpdateBytes += bytes;
+            case RECORD -> tickRecordBytes += bytes;
+            case PRESENT -> PRESENT_BYTES.addAndGet(bytes);
+            default -> throw new IllegalArgumentException("Allocations are not measured for phase " + phase + ".");
+        }
+    }
+
+    /**
+     * Ukončí herný krok – zaznamená alokácie kroku do histogramov, prečíta zbery odpadu od predošlého
+     * kroku a pridá riadok do časového radu. Prehratia snímok od predošlého kroku sa pripočítajú
+     * k vykresľovaniu tohto kroku. Volá sa na hernom vlákne.
+     */
+    public static void endTick() {
+        long presentBytes = PRESENT_BYTES.getAndSet(0);
+        long renderBytes = tickRecordBytes + presentBytes;
+        UPDATE_BYTES.record(tickUpdateBytes);
+        RENDER_BYTES.record(renderBytes);
+        if (BUDGET > 0 && tickUpdateBytes + renderBytes > BUDGET) {
+            overBudgetTicks++;
+        }
+
+        long currentGcCount = gcCount();
+        long currentGcTime = gcTime();
+        long tickGcCount = currentGcCount - lastGcCount;
+        long tickGcTime = currentGcTime - lastGcTime;
+        gcCount += tickGcCount;
+        lastGcCount = currentGcCount;
+        lastGcTime = currentGcTime;
+
+        if (SERIES != null) {
+            int row = (int)(tick % SERIES_CAPACITY) * SERIES_COLUMNS;
+            SERIES[row] = tick;
+            SERIES[row + 1] = System.nanoTime();
+            SERIES[row + 2] = tickUpdateBytes;
+            SERIES[row + 3] = tickRecordBytes;
+            SERIES[row + 4] = presentBytes;
+            SERIES[row + 5] = tickGcCount;
+            SERIES[row + 6] = tickGcTime;
+        }
+
+        tickUpdateBytes = 0;
+        tickRecordBytes = 0;
+        tick++;
+    }
+
+    /**
+     * Vytvorí riadky súhrnu pre zobrazenie v hre – alokácie na krok (p50, p99, max v kB),
+     * počet zberov odpadu a počet krokov nad rozpočtom.
+     *
+     * @return Riadky súhrnu
+     */
+    public static List<String> summarize() {
+        List<String> lines = new ArrayList<>();
+        if (THREAD_BEAN == null) {
+            lines.add("allocations not supported");
+        } else {
+            lines.add(String.format(Locale.ROOT, "%-16s %7s %7s %7s", "alloc/tick kB", "p50", "p99", "max"));
+            lines.add(summarizeBytes("update", UPDATE_BYTES));
+            lines.add(summarizeBytes("render", RENDER_BYTES));
+        }
+        if (BUDGET > 0) {
+            lines.add(String.format(Locale.ROOT, "gc %d, over budget %d/%d ticks", gcCount, overBudgetTicks, tick));
+        } else {
+            lines.add(String.format(Locale.ROOT, "gc %d", gcCount));
+        }
+        return lines;
+    }
+
+    /**
+     * Zapíše časový rad posledných krokov (najviac SERIES_CAPACITY) do CSV súboru.
+     *
+     * @param path Cieľový súbor
+     * @throws ResourcesLoadException ak zápis zlyhá
+     */
+    public static void writeCsv(Path path) {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.println("tick,time_ns,update_bytes,record_bytes,present_bytes,gc_count,gc_time_ms");
+            long first = SERIES == null ? tick : Math.max(0, tick - SERIES_CAPACITY);
+            for (long i = first; i < tick; i++) {
+                int row = (int)(i % SERIES_CAPACITY) * SERIES_COLUMNS;
+                writer.printf(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d%n",
+                        SERIES[row], SERIES[row + 1], SERIES[row + 2], SERIES[row + 3], SERIES[row + 4], SERIES[row + 5], SERIES[row + 6]);
+            }
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while writing allocation log.");
+        }
+    }
+
+    /**
+     * Zaregistruje zápis časového radu pri ukončení aplikácie, ak je nastavená vlastnosť bomberman.allocationLog.
+     */
+    public static void dumpOnExit() {
+        if (SERIES == null) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writeCsv(Path.of(LOG_PATH)), "allocation-log-dump"));
+    }
+
+    /**
+     * Vytvorí riadok súhrnu alokácií jednej časti.
+     */
+    private static String summarizeBytes(String name, TimeHistogram histogram) {
+        return String.format(Locale.ROOT, "%-16s %7.1f %7.1f %7.1f",
+                name,
+                histogram.getPercentile(50) / 1024.0,
+                histogram.getPercentile(99) / 1024.0,
+                histogram.getMax() / 1024.0
+        );
+    }
+
+    /**
+     * Získa rozhranie na meranie alokácií vlákien a zapne ho, alebo null, ak ho JVM nepodporuje.
+     */
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        bean.setThreadAllocatedMemoryEnabled(true);
+        return bean;
+    }
+
+    /**
+     * Získa celkový počet zberov odpadu všetkých zberačov.
+     */
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : GC_BEANS) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Získa celkový čas zberov odpadu všetkých zberačov v milisekundách.
+     */
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean bean : GC_BEANS) {
+            time += Math.max(0, bean.getCollectionTime());
+        }
+        return time;
+    }
+}
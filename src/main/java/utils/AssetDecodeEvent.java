@@ -0,0 +1,28 @@
+package utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Udalosť JFR načítania a dekódovania sprite sheetu.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@Name("bomberman.AssetDecode")
+@Label("Asset Decode")
+@Category({"Bomberman", "Assets"})
+@Description("Sprite sheet load, decode and scaling")
+final class AssetDecodeEvent extends Event {
+    @Label("Path")
+    String path;
+
+    @Label("Frames")
+    int frames;
+
+    @Label("Sprite Cache Hit")
+    boolean cacheHit;
+}
@@ -0,0 +1,95 @@
+package utils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Trieda AssetLoader paralelne načítava zoznam zdrojov (obrázkov a sprite sheetov) na skupine pracovných vlákien.
+ * Každý zdroj je úloha, ktorá ho načíta do vyrovnávacej pamäte triedy Settings, neskoršie načítanie
+ * rovnakého zdroja počas hry je potom iba vyhľadanie v pamäti.
+ * Priebeh načítania je možné sledovať z herného vlákna bez blokovania.
+ * 
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class AssetLoader {
+    private final List<Runnable> assets;
+    private final AtomicInteger loadedCount;
+    private CompletableFuture<Void> result;
+
+    /**
+     * Vytvorí načítavač pre daný zoznam zdrojov.
+     * 
+     * @param assets Úlohy, z ktorých každá načíta jeden zdroj
+     */
+    public AssetLoader(List<Runnable> assets) {
+        this.assets = List.copyOf(assets);
+        this.loadedCount = new AtomicInteger();
+    }
+
+    /**
+     * Spustí načítanie všetkých zdrojov na pracovných vláknach, počet vlákien zodpovedá počtu procesorov.
+     * Vlákna po dokončení všetkých úloh skončia.
+     */
+    public void start() {
+        int threadCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), this.assets.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[this.assets.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            Runnable asset = this.assets.get(i);
+            tasks[i] = CompletableFuture.runAsync(() -> {
+                asset.run();
+                this.loadedCount.incrementAndGet();
+            }, executor);
+        }
+        this.result = CompletableFuture.allOf(tasks);
+        executor.shutdown();
+    }
+
+    /**
+     * Získa podiel už načítaných zdrojov.
+     * 
+     * @return Priebeh načítania (0.0 - 1.0)
+     */
+    public double getProgress() {
+        if (this.assets.isEmpty()) {
+            return 1.0;
+        }
+        return (double)this.loadedCount.get() / this.assets.size();
+    }
+
+    /**
+     * Zistí, či načítanie skončilo (úspešne alebo chybou).
+     * 
+     * @return true ak načítanie skončilo, inak false
+     */
+    public boolean isDone() {
+        return this.result != null && this.result.isDone();
+    }
+
+    /**
+     * Počká na dokončenie načítania. Chyba pri načítaní niektorého zdroja sa ohlási
+     * na volajúcom vlákne rovnako, ako keby sa zdroj načítaval priamo.
+     * 
+     * @throws ResourcesLoadException ak sa niektorý zdroj nepodarilo načítať
+     */
+    public void join() {
+        try {
+            this.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package utils;
+
+/**
+ * FramePhase reprezentuje merané časti herného kroku a vykresľovania.
+ *
+ * - UPDATE: Celá aktualizácia stavu hry (vrátane spracovania vstupov)
+ * - UPDATE_OBJECTS: Aktualizácia herných objektov sveta
+ * - UPDATE_ENTITIES: Aktualizácia entít sveta
+ * - INPUT_LATENCY: Oneskorenie vstupu od stlačenia po spracovanie
+ * - RECORD: Zaznamenanie celej snímky
+ * - RENDER_TILES: Zaznamenanie dlaždíc
+ * - RENDER_OBJECTS: Zaznamenanie herných objektov
+ * - RENDER_ENTITIES: Zaznamenanie entít
+ * - RENDER_UI: Zaznamenanie štatistík hráča
+ * - PRESENT: Prehratie snímky do okna na vykresľovacom vlákne
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public enum FramePhase {
+    UPDATE, UPDATE_OBJECTS, UPDATE_ENTITIES, INPUT_LATENCY, RECORD, RENDER_TILES, RENDER_OBJECTS, RENDER_ENTITIES, RENDER_UI, PRESENT
+}
@@ -0,0 +1,176 @@
+package utils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Trieda FrameProfiler meria trvanie jednotlivých častí herného kroku (FramePhase) pomocou System.nanoTime
+ * a zaznamenáva ich do histogramov. Každú časť zapisuje vždy to isté vlákno (herné alebo vykresľovacie),
+ * preto meranie nepotrebuje synchronizáciu a stojí iba dve volania nanoTime.
+ * Súhrn (p50, p99, max) sa dá zobraziť v hre a pri ukončení zapísať do CSV a JSON súboru.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public final class FrameProfiler {
+    private static final EnumMap<FramePhase, TimeHistogram> HISTOGRAMS = new EnumMap<>(FramePhase.class);
+    private static final long[] LAST_DURATIONS = new long[FramePhase.values().length];
+
+    static {
+        for (FramePhase phase : FramePhase.values()) {
+            HISTOGRAMS.put(phase, new TimeHistogram());
+        }
+    }
+
+    private FrameProfiler() {
+    }
+
+    /**
+     * Zaznamená trvanie časti od zadaného začiatku po teraz.
+     *
+     * @param phase Meraná časť
+     * @param startTime Začiatok merania (System.nanoTime)
+     */
+    public static void record(FramePhase phase, long startTime) {
+        recordDuration(phase, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Zaznamená už zmeranú hodnotu časti.
+     *
+     * @param phase Meraná časť
+     * @param duration Trvanie v nanosekundách
+     */
+    public static void recordDuration(FramePhase phase, long duration) {
+        HISTOGRAMS.get(phase).record(duration);
+        LAST_DURATIONS[phase.ordinal()] = duration;
+    }
+
+    /**
+     * Získa naposledy zaznamenané trvanie časti. Spoľahlivo ho prečíta iba vlákno, ktoré časť meria.
+     *
+     * @param phase Meraná časť
+     * @return Trvanie v nanosekundách, 0 ak časť ešte nebola meraná
+     */
+    public static long getLastDuration(FramePhase phase) {
+        return LAST_DURATIONS[phase.ordinal()];
+    }
+
+    /**
+     * Získa histogram časti.
+     *
+     * @param phase Meraná časť
+     * @return Histogram časti
+     */
+    public static TimeHistogram getHistogram(FramePhase phase) {
+        return HISTOGRAMS.get(phase);
+    }
+
+    /**
+     * Vytvorí riadky súhrnu pre zobrazenie v hre – pre každú časť p50, p99 a max v milisekundách.
+     *
+     * @return Riadky súhrnu
+     */
+    public static List<String> summarize() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-16s %7s %7s %7s", "phase", "p50", "p99", "max"));
+        for (Map.Entry<FramePhase, TimeHistogram> entry : HISTOGRAMS.entrySet()) {
+            TimeHistogram histogram = entry.getValue();
+            lines.add(String.format(Locale.ROOT, "%-16s %7.3f %7.3f %7.3f",
+                    entry.getKey().toString().toLowerCase(),
+                    toMillis(histogram.getPercentile(50)),
+                    toMillis(histogram.getPercentile(99)),
+                    toMillis(histogram.getMax())
+            ));
+        }
+        return lines;
+    }
+
+    /**
+     * Zapíše súhrn všetkých častí do CSV súboru.
+     *
+     * @param path Cieľový súbor
+     * @throws ResourcesLoadException ak zápis zlyhá
+     */
+    public static void writeCsv(Path path) {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.println("phase,count,mean_ns,p50_ns,p90_ns,p99_ns,p999_ns,max_ns");
+            for (Map.Entry<FramePhase, TimeHistogram> entry : HISTOGRAMS.entrySet()) {
+                TimeHistogram histogram = entry.getValue();
+                writer.printf(Locale.ROOT, "%s,%d,%.0f,%d,%d,%d,%d,%d%n",
+                        entry.getKey().toString().toLowerCase(),
+                        histogram.getCount(),
+                        histogram.getMean(),
+                        histogram.getPercentile(50),
+                        histogram.getPercentile(90),
+                        histogram.getPercentile(99),
+                        histogram.getPercentile(99.9),
+                        histogram.getMax()
+                );
+            }
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while writing frame timings.");
+        }
+    }
+
+    /**
+     * Zapíše súhrn všetkých častí do JSON súboru.
+     *
+     * @param path Cieľový súbor
+     * @throws ResourcesLoadException ak zápis zlyhá
+     */
+    public static void writeJson(Path path) {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.println("{");
+            int remaining = HISTOGRAMS.size();
+            for (Map.Entry<FramePhase, TimeHistogram> entry : HISTOGRAMS.entrySet()) {
+                TimeHistogram histogram = entry.getValue();
+                writer.printf(Locale.ROOT,
+                        "  \"%s\": {\"count\": %d, \"mean_ns\": %.0f, \"p50_ns\": %d, \"p90_ns\": %d, \"p99_ns\": %d, \"p999_ns\": %d, \"max_ns\": %d}%s%n",
+                        entry.getKey().toString().toLowerCase(),
+                        histogram.getCount(),
+                        histogram.getMean(),
+                        histogram.getPercentile(50),
+                        histogram.getPercentile(90),
+                        histogram.getPercentile(99),
+                        histogram.getPercentile(99.9),
+                        histogram.getMax(),
+                        --remaining > 0 ? "," : ""
+                );
+            }
+            writer.println("}");
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while writing frame timings.");
+        }
+    }
+
+    /**
+     * Zaregistruje zápis súhrnu pri ukončení aplikácie, ak je nastavená vlastnosť bomberman.frameTimings.
+     * Hodnota vlastnosti je cesta bez prípony, zapíšu sa súbory .csv a .json.
+     */
+    public static void dumpOnExit() {
+        String basePath = System.getProperty("bomberman.frameTimings");
+        if (basePath == null || basePath.isBlank()) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            writeCsv(Path.of(basePath + ".csv"));
+            writeJson(Path.of(basePath + ".json"));
+        }, "frame-timings-dump"));
+    }
+
+    /**
+     * Prevedie nanosekundy na milisekundy.
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
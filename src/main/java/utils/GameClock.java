@@ -0,0 +1,64 @@
+package utils;
+
+/**
+ * Trieda GameClock predstavuje herný čas sveta, ktorý plynie po herných krokoch, nie podľa hodín počítača.
+ * Každá aktualizácia sveta posunie čas o presne jeden krok (1 / FPS sekundy), takže časovače objektov
+ * a entít dávajú rovnaký výsledok pri bežnej hre aj pri prehrávaní záznamu ľubovoľnou rýchlosťou.
+ * Kým sa svet neaktualizuje (pauza, menu), jeho čas stojí.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class GameClock {
+    public static final long TICK_DURATION = 1_000_000_000L / Settings.FPS;
+
+    private long tick;
+
+    /**
+     * Vytvorí herný čas na kroku 0.
+     */
+    public GameClock() {
+        this.tick = 0;
+    }
+
+    /**
+     * Posunie herný čas o jeden krok.
+     */
+    public void advance() {
+        this.tick++;
+    }
+
+    /**
+     * Vráti herný čas na krok 0.
+     */
+    public void reset() {
+        this.tick = 0;
+    }
+
+    /**
+     * Nastaví herný čas na daný krok, napr. pri obnovení snímky sveta.
+     *
+     * @param tick Číslo kroku
+     */
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Získa počet krokov od začiatku.
+     *
+     * @return Číslo aktuálneho kroku
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Získa herný čas v nanosekundách.
+     *
+     * @return Čas od začiatku v nanosekundách
+     */
+    public long now() {
+        return this.tick * TICK_DURATION;
+    }
+}
@@ -0,0 +1,67 @@
+package utils;
+
+import java.util.Random;
+
+/**
+ * Trieda GameRandom je generátor náhodných čísel sveta, ktorého stav sa dá uložiť a obnoviť.
+ * Používa rovnaký lineárny kongruentný generátor ako java.util.Random, takže pre rovnaké semeno
+ * dáva rovnakú postupnosť, no jeho vnútorný stav je prístupný pre snímky sveta.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+
+    /**
+     * Vytvorí generátor s daným semenom.
+     *
+     * @param seed Semeno
+     */
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Nastaví semeno rovnako ako java.util.Random.
+     *
+     * @param seed Semeno
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Vygeneruje ďalších bits náhodných bitov.
+     */
+    @Override
+    protected int next(int bits) {
+        this.state = (this.state * MULTIPLIER + ADDEND) & MASK;
+        return (int)(this.state >>> (48 - bits));
+    }
+
+    /**
+     * Získa vnútorný stav generátora.
+     *
+     * @return Stav (48 bitov)
+     */
+    public long getState() {
+        return this.state;
+    }
+
+    /**
+     * Obnoví vnútorný stav generátora získaný metódou getState.
+     *
+     * @param state Stav (48 bitov)
+     */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,33 @@
+package utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Rozhranie ISnapshot definuje zápis a obnovenie stavu objektu pre snímky herného sveta
+ * (záznamy hier, pretáčanie, uloženie hry). Zapisuje sa iba premenlivý stav – to, čo sa počas hry mení;
+ * nemenné vlastnosti (typ, obrázky, rýchlosť) vzniknú pri vytvorení objektu.
+ *
+ * Implementujú ho objekty, ktorých stav je súčasťou snímky sveta.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public interface ISnapshot {
+    /**
+     * Zapíše premenlivý stav objektu.
+     *
+     * @param output Cieľ zápisu
+     * @throws IOException ak zápis zlyhá
+     */
+    void writeState(DataOutput output) throws IOException;
+
+    /**
+     * Obnoví premenlivý stav objektu v rovnakom poradí, v akom ho zapísala metóda writeState.
+     *
+     * @param input Zdroj stavu
+     * @throws IOException ak čítanie zlyhá
+     */
+    void readState(DataInput input) throws IOException;
+}
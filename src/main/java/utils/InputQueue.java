@@ -0,0 +1,139 @@
+package utils;
+
+import java.awt.event.KeyEvent;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trieda InputQueue je ohraničený kruhový buffer udalostí klávesnice pre jedného producenta
+ * (vlákno AWT) a jedného konzumenta (herné vlákno). Nepoužíva zámky – každá strana zapisuje iba
+ * svoj index a zverejnenie indexu zaručí viditeľnosť zapísaných udalostí pre druhú stranu.
+ * Herné vlákno frontu vyprázdni na začiatku kroku, vstupy sa teda spracujú vždy na hernom vlákne
+ * v poradí, v akom prišli, a oneskorenie udalosti je najviac jeden krok.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class InputQueue {
+    private final KeyEvent[] events;
+    private final boolean[] pressed;
+    private final long[] timestamps;
+    private final int mask;
+    private final AtomicLong readIndex;
+    private final AtomicLong writeIndex;
+    private long cachedReadIndex;
+    private long droppedCount;
+    private long lastMaxLatency;
+
+    /**
+     * Vytvorí frontu s danou kapacitou.
+     *
+     * @param capacity Kapacita fronty, musí byť mocnina dvoch
+     */
+    public InputQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two.");
+        }
+        this.events = new KeyEvent[capacity];
+        this.pressed = new boolean[capacity];
+        this.timestamps = new long[capacity];
+        this.mask = capacity - 1;
+        this.readIndex = new AtomicLong();
+        this.writeIndex = new AtomicLong();
+    }
+
+    /**
+     * Vloží udalosť do fronty. Volá iba producent (vlákno AWT).
+     * Pri plnej fronte sa udalosť zahodí, plná fronta znamená, že herné vlákno nestíha.
+     *
+     * @param event Udalosť klávesnice
+     * @param isPressed true pre stlačenie, false pre uvoľnenie
+     * @return true ak bola udalosť vložená, false ak bola fronta plná
+     */
+    public boolean offer(KeyEvent event, boolean isPressed) {
+        long write = this.writeIndex.get();
+        if (write - this.cachedReadIndex == this.events.length) {
+            this.cachedReadIndex = this.readIndex.get();
+            if (write - this.cachedReadIndex == this.events.length) {
+                this.droppedCount++;
+                return false;
+            }
+        }
+
+        int slot = (int)write & this.mask;
+        this.events[slot] = event;
+        this.pressed[slot] = isPressed;
+        this.timestamps[slot] = System.nanoTime();
+        this.writeIndex.lazySet(write + 1);
+        return true;
+    }
+
+    /**
+     * Odovzdá všetky čakajúce udalosti spracovateľovi v poradí, v akom prišli. Volá iba konzument (herné vlákno).
+     * Udalosti vložené počas vyprázdňovania sa spracujú až v ďalšom kroku. Prečítané pozície sa uvoľnia
+     * pre producenta až po spracovaní všetkých udalostí, takže producent nemôže prepísať pozíciu, ktorá sa ešte číta.
+     *
+     * @param listener Spracovateľ udalostí
+     * @return Počet spracovaných udalostí
+     */
+    public int drain(Listener listener) {
+        long read = this.readIndex.get();
+        long write = this.writeIndex.get();
+        long now = System.nanoTime();
+        long maxLatency = 0;
+
+        for (long index = read; index < write; index++) {
+            int slot = (int)index & this.mask;
+            KeyEvent event = this.events[slot];
+            boolean isPressed = this.pressed[slot];
+            this.events[slot] = null;
+            maxLatency = Math.max(maxLatency, now - this.timestamps[slot]);
+
+            if (isPressed) {
+                listener.keyPressed(event);
+            } else {
+                listener.keyReleased(event);
+            }
+        }
+        this.readIndex.lazySet(write);
+
+        this.lastMaxLatency = maxLatency;
+        return (int)(write - read);
+    }
+
+    /**
+     * Získa najväčšie oneskorenie (od vloženia po spracovanie) udalostí z posledného vyprázdnenia.
+     *
+     * @return Oneskorenie v nanosekundách, 0 ak neprišla žiadna udalosť
+     */
+    public long getLastMaxLatency() {
+        return this.lastMaxLatency;
+    }
+
+    /**
+     * Získa počet udalostí zahodených pre plnú frontu. Číta ho producent, hodnota je iba informatívna.
+     *
+     * @return Počet zahodených udalostí
+     */
+    public long getDroppedCount() {
+        return this.droppedCount;
+    }
+
+    /**
+     * Rozhranie Listener spracúva udalosti vybrané z fronty.
+     */
+    public interface Listener {
+        /**
+         * Spracuje stlačenie klávesu.
+         *
+         * @param e Udalosť stlačenia klávesu
+         */
+        void keyPressed(KeyEvent e);
+
+        /**
+         * Spracuje uvoľnenie klávesu.
+         *
+         * @param e Udalosť uvoľnenia klávesu
+         */
+        void keyReleased(KeyEvent e);
+    }
+}
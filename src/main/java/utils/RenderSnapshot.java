@@ -0,0 +1,421 @@
+package utils;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Trieda RenderSnapshot je nemenný záznam jednej snímky – zoznam príkazov vykresľovania
+ * (obrázok na pozícii, text, obdĺžnik) v poradí, v akom sa majú vykonať.
+ * Herné vlákno snímku zaznamená po každej aktualizácii a vykresľovacie vlákno ju prehrá,
+ * takže vykresľovanie nikdy nečíta menné stavy sveta, entít ani menu.
+ * Príkazy sú uložené kompaktne v troch poliach: kódy príkazov, celočíselné argumenty (pozície, rozmery)
+ * a odkazy na zdieľané nemenné objekty (snímky spritov, texty, fonty, farby).
+ *
+ * Obrázky herného sveta sa zaznamenávajú vo svetových súradniciach spolu s polohou kamery a pohyblivé
+ * objekty aj s identifikátorom. Pri vykreslení sa tak poloha kamery a objektov môže interpolovať medzi
+ * predchádzajúcou a touto snímkou a vykresľovanie môže bežať rýchlejšie ako simulácia. Pohyblivý objekt
+ * nesie aj čas, odkedy v poslednom kroku platí jeho obrázok, takže sa snímka animácie prepne v zodpovedajúcej
+ * časti kroku a nie vždy na jeho začiatku.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public final class RenderSnapshot {
+    private static final byte DRAW_IMAGE = 0;
+    private static final byte DRAW_STRING = 1;
+    private static final byte FILL_RECT = 2;
+    private static final byte DRAW_RECT = 3;
+    private static final byte SET_FONT = 4;
+    private static final byte SET_COLOR = 5;
+    private static final byte DRAW_WORLD_IMAGE = 6;
+    private static final int MAX_INTERPOLATED_DISTANCE = Settings.TILE_SIZE;
+
+    private final long timestamp;
+    private final byte[] commands;
+    private final int[] arguments;
+    private final Object[] references;
+    private final int cameraX;
+    private final int cameraY;
+    private final int[] objectIds;
+    private final int[] objectPositions;
+    private final BufferedImage[] objectImages;
+
+    private RenderSnapshot(long timestamp, byte[] commands, int[] arguments, Object[] references, int cameraX, int cameraY) {
+        this.timestamp = timestamp;
+        this.commands = commands;
+        this.arguments = arguments;
+        this.references = references;
+        this.cameraX = cameraX;
+        this.cameraY = cameraY;
+
+        long[] objects = new long[commands.length];
+        int[] objectArguments = new int[commands.length];
+        int[] objectReferences = new int[commands.length];
+        int objectCount = 0;
+        int argument = 0;
+        int reference = 0;
+        for (byte command : commands) {
+            if (command == DRAW_WORLD_IMAGE && arguments[argument + 2] != 0) {
+                objects[objectCount] = ((long)arguments[argument + 2] << 32) | objectCount;
+                objectArguments[objectCount] = argument;
+                objectReferences[objectCount] = reference;
+                objectCount++;
+            }
+            argument += argumentCount(command);
+            reference += referenceCount(command);
+        }
+        Arrays.sort(objects, 0, objectCount);
+
+        this.objectIds = new int[objectCount];
+        this.objectPositions = new int[objectCount * 2];
+        this.objectImages = new BufferedImage[objectCount];
+        for (int i = 0; i < objectCount; i++) {
+            int order = (int)objects[i];
+            this.objectIds[i] = (int)(objects[i] >>> 32);
+            this.objectPositions[i * 2] = arguments[objectArguments[order]];
+            this.objectPositions[i * 2 + 1] = arguments[objectArguments[order] + 1];
+            this.objectImages[i] = (BufferedImage)references[objectReferences[order]];
+        }
+    }
+
+    /**
+     * Prehrá zaznamenané príkazy do grafického kontextu bez interpolácie.
+     *
+     * @param g Grafický kontext
+     */
+    public void render(Graphics g) {
+        this.render(g, null, 1.0);
+    }
+
+    /**
+     * Prehrá zaznamenané príkazy do grafického kontextu. Poloha kamery a pohyblivých objektov sa
+     * interpoluje medzi predchádzajúcou snímkou (alpha 0) a touto snímkou (alpha 1). Pohyblivý objekt
+     * sa vykreslí obrázkom z predchádzajúcej snímky, kým interpolovaný čas nedosiahne okamih,
+     * odkedy platí jeho nový obrázok (prepnutie snímky animácie v priebehu kroku).
+     * Objekty, ktoré v predchádzajúcej snímke nie sú alebo sa posunuli o viac ako jednu dlaždicu
+     * (napr. načítanie úrovne), sa vykreslia bez interpolácie.
+     *
+     * @param g Grafický kontext
+     * @param previous Predchádzajúca snímka, alebo null
+     * @param alpha Podiel času medzi predchádzajúcou a touto snímkou (0.0 - 1.0)
+     */
+    public void render(Graphics g, RenderSnapshot previous, double alpha) {
+        int camX = previous == null ? this.cameraX : interpolate(previous.cameraX, this.cameraX, alpha);
+        int camY = previous == null ? this.cameraY : interpolate(previous.cameraY, this.cameraY, alpha);
+
+        int argument = 0;
+        int reference = 0;
+        for (byte command : this.commands) {
+            switch (command) {
+                case DRAW_IMAGE -> {
+                    g.drawImage((BufferedImage)this.references[reference++], this.arguments[argument], this.arguments[argument + 1], null);
+                    argument += 2;
+                }
+                case DRAW_WORLD_IMAGE -> {
+                    int x = this.arguments[argument];
+                    int y = this.arguments[argument + 1];
+                    int id = this.arguments[argument + 2];
+                    BufferedImage image = (BufferedImage)this.references[reference++];
+                    int previousIndex = id == 0 || previous == null ? -1 : Arrays.binarySearch(previous.objectIds, id);
+                    if (previousIndex >= 0) {
+                        x = interpolate(previous.objectPositions[previousIndex * 2], x, alpha);
+                        y = interpolate(previous.objectPositions[previousIndex * 2 + 1], y, alpha);
+                        if (alpha < 1.0 - (double)this.arguments[argument + 3] / GameClock.TICK_DURATION) {
+                            image = previous.objectImages[previousIndex];
+                        }
+                    }
+                    g.drawImage(image, x - camX, y - camY, null);
+                    argument += 4;
+                }
+                case DRAW_STRING -> {
+                    g.drawString((String)this.references[reference++], this.arguments[argument], this.arguments[argument + 1]);
+                    argument += 2;
+                }
+                case FILL_RECT -> {
+                    g.fillRect(this.arguments[argument], this.arguments[argument + 1], this.arguments[argument + 2], this.arguments[argument + 3]);
+                    argument += 4;
+                }
+                case DRAW_RECT -> {
+                    g.drawRect(this.arguments[argument], this.arguments[argument + 1], this.arguments[argument + 2], this.arguments[argument + 3]);
+                    argument += 4;
+                }
+                case SET_FONT -> g.setFont((Font)this.references[reference++]);
+                case SET_COLOR -> g.setColor((Color)this.references[reference++]);
+                default -> throw new IllegalStateException("Unknown render command " + command + ".");
+            }
+        }
+    }
+
+    /**
+     * Získa čas zaznamenania snímky.
+     *
+     * @return Čas v nanosekundách (System.nanoTime)
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Získa počet príkazov v snímke.
+     *
+     * @return Počet príkazov
+     */
+    public int getCommandCount() {
+        return this.commands.length;
+    }
+
+    /**
+     * Lineárne interpoluje súradnicu, pri skoku väčšom ako jedna dlaždica vráti cieľovú hodnotu.
+     */
+    private static int interpolate(int from, int to, double alpha) {
+        if (Math.abs(to - from) > MAX_INTERPOLATED_DISTANCE) {
+            return to;
+        }
+        return from + (int)Math.round((to - from) * alpha);
+    }
+
+    /**
+     * Získa počet celočíselných argumentov príkazu.
+     */
+    private static int argumentCount(byte command) {
+        return switch (command) {
+            case DRAW_IMAGE, DRAW_STRING -> 2;
+            case FILL_RECT, DRAW_RECT, DRAW_WORLD_IMAGE -> 4;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Získa počet odkazov príkazu na zdieľané objekty.
+     */
+    private static int referenceCount(byte command) {
+        return switch (command) {
+            case DRAW_IMAGE, DRAW_WORLD_IMAGE, DRAW_STRING, SET_FONT, SET_COLOR -> 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Trieda Builder zaznamenáva príkazy vykresľovania jednej snímky.
+     * Ponúka rovnaké operácie, aké hra používala na grafickom kontexte, a polia opakovane používa
+     * medzi snímkami, takže zaznamenanie snímky alokuje iba výsledné orezané polia.
+     * Používa ju iba herné vlákno.
+     */
+    public static final class Builder {
+        private static final Graphics2D METRICS_GRAPHICS = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+        private byte[] commands;
+        private int[] arguments;
+        private Object[] references;
+        private int commandCount;
+        private int argumentCount;
+        private int referenceCount;
+        private Font font;
+        private int cameraX;
+        private int cameraY;
+
+        /**
+         * Vytvorí prázdny záznam snímky.
+         */
+        public Builder() {
+            this.commands = new byte[256];
+            this.arguments = new int[512];
+            this.references = new Object[256];
+            this.font = METRICS_GRAPHICS.getFont();
+        }
+
+        /**
+         * Zaznamená vykreslenie obrázka na zadané súradnice.
+         *
+         * @param image Obrázok
+         * @param x X-ová súradnica na obrazovke
+         * @param y Y-ová súradnica na obrazovke
+         */
+        public void drawImage(BufferedImage image, int x, int y) {
+            this.addCommand(DRAW_IMAGE);
+            this.addReference(image);
+            this.addArguments(x, y);
+        }
+
+        /**
+         * Zaznamená vykreslenie obrázka herného sveta na zadané svetové súradnice.
+         * Obrázok sa posúva iba s kamerou (dlaždice, objekty na mape).
+         *
+         * @param image Obrázok
+         * @param worldX X-ová súradnica v hernom svete
+         * @param worldY Y-ová súradnica v hernom svete
+         */
+        public void drawWorldImage(BufferedImage image, int worldX, int worldY) {
+            this.drawWorldImage(image, worldX, worldY, 0);
+        }
+
+        /**
+         * Zaznamená vykreslenie pohyblivého objektu herného sveta na zadané svetové súradnice.
+         * Podľa identifikátora sa objekt pri vykreslení spáruje s predchádzajúcou snímkou a jeho poloha sa interpoluje.
+         *
+         * @param image Obrázok
+         * @param worldX X-ová súradnica v hernom svete
+         * @param worldY Y-ová súradnica v hernom svete
+         * @param id Identifikátor objektu (0 = bez interpolácie)
+         */
+        public void drawWorldImage(BufferedImage image, int worldX, int worldY, int id) {
+            this.drawWorldImage(image, worldX, worldY, id, (int)GameClock.TICK_DURATION);
+        }
+
+        /**
+         * Zaznamená vykreslenie pohyblivého objektu, ktorého obrázok platí iba časť posledného kroku
+         * (napr. snímka animácie, ktorej časovač skončil počas kroku). Kým interpolovaný čas tento okamih
+         * nedosiahne, vykresľuje sa obrázok objektu z predchádzajúcej snímky.
+         *
+         * @param image Obrázok
+         * @param worldX X-ová súradnica v hernom svete
+         * @param worldY Y-ová súradnica v hernom svete
+         * @param id Identifikátor objektu (0 = bez interpolácie)
+         * @param lead Ako dlho pred koncom kroku obrázok platí v nanosekundách (0 - GameClock.TICK_DURATION)
+         */
+        public void drawWorldImage(BufferedImage image, int worldX, int worldY, int id, int lead) {
+            this.addCommand(DRAW_WORLD_IMAGE);
+            this.addReference(image);
+            this.addArguments(worldX, worldY);
+            this.addArguments(id, lead);
+        }
+
+        /**
+         * Nastaví polohu kamery – svetové súradnice ľavého horného rohu obrazovky.
+         *
+         * @param x X-ová súradnica kamery
+         * @param y Y-ová súradnica kamery
+         */
+        public void setCamera(int x, int y) {
+            this.cameraX = x;
+            this.cameraY = y;
+        }
+
+        /**
+         * Zaznamená vykreslenie textu aktuálnym fontom a farbou.
+         *
+         * @param text Text
+         * @param x X-ová súradnica začiatku textu
+         * @param y Y-ová súradnica základnej čiary textu
+         */
+        public void drawString(String text, int x, int y) {
+            this.addCommand(DRAW_STRING);
+            this.addReference(text);
+            this.addArguments(x, y);
+        }
+
+        /**
+         * Zaznamená vyplnený obdĺžnik aktuálnou farbou.
+         *
+         * @param x X-ová súradnica
+         * @param y Y-ová súradnica
+         * @param width Šírka
+         * @param height Výška
+         */
+        public void fillRect(int x, int y, int width, int height) {
+            this.addCommand(FILL_RECT);
+            this.addArguments(x, y);
+            this.addArguments(width, height);
+        }
+
+        /**
+         * Zaznamená obrys obdĺžnika aktuálnou farbou.
+         *
+         * @param x X-ová súradnica
+         * @param y Y-ová súradnica
+         * @param width Šírka
+         * @param height Výška
+         */
+        public void drawRect(int x, int y, int width, int height) {
+            this.addCommand(DRAW_RECT);
+            this.addArguments(x, y);
+            this.addArguments(width, height);
+        }
+
+        /**
+         * Nastaví font nasledujúcich textov.
+         *
+         * @param font Font
+         */
+        public void setFont(Font font) {
+            this.font = font;
+            this.addCommand(SET_FONT);
+            this.addReference(font);
+        }
+
+        /**
+         * Nastaví farbu nasledujúcich textov a obdĺžnikov.
+         *
+         * @param color Farba
+         */
+        public void setColor(Color color) {
+            this.addCommand(SET_COLOR);
+            this.addReference(color);
+        }
+
+        /**
+         * Získa metriky aktuálneho fontu (napr. na zarovnanie textu na stred).
+         *
+         * @return Metriky aktuálneho fontu
+         */
+        public FontMetrics getFontMetrics() {
+            return METRICS_GRAPHICS.getFontMetrics(this.font);
+        }
+
+        /**
+         * Vytvorí nemennú snímku zo zaznamenaných príkazov a záznam vyprázdni pre ďalšiu snímku.
+         *
+         * @return Nemenná snímka
+         */
+        public RenderSnapshot build() {
+            RenderSnapshot snapshot = new RenderSnapshot(
+                    System.nanoTime(),
+                    Arrays.copyOf(this.commands, this.commandCount),
+                    Arrays.copyOf(this.arguments, this.argumentCount),
+                    Arrays.copyOf(this.references, this.referenceCount),
+                    this.cameraX,
+                    this.cameraY
+            );
+
+            Arrays.fill(this.references, 0, this.referenceCount, null);
+            this.commandCount = 0;
+            this.argumentCount = 0;
+            this.referenceCount = 0;
+            this.font = METRICS_GRAPHICS.getFont();
+            this.cameraX = 0;
+            this.cameraY = 0;
+            return snapshot;
+        }
+
+        private void addCommand(byte command) {
+            if (this.commandCount == this.commands.length) {
+                this.commands = Arrays.copyOf(this.commands, this.commands.length * 2);
+            }
+            this.commands[this.commandCount++] = command;
+        }
+
+        private void addArguments(int first, int second) {
+            this.addArgument(first);
+            this.addArgument(second);
+        }
+
+        private void addArgument(int value) {
+            if (this.argumentCount == this.arguments.length) {
+                this.arguments = Arrays.copyOf(this.arguments, this.arguments.length * 2);
+            }
+            this.arguments[this.argumentCount++] = value;
+        }
+
+        private void addReference(Object reference) {
+            if (this.referenceCount == this.references.length) {
+                this.references = Arrays.copyOf(this.references, this.references.length * 2);
+            }
+            this.references[this.referenceCount++] = reference;
+        }
+    }
+}
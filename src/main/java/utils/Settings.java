@@ -1,28 +1,50 @@
 package utils;
 
 import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Trieda Settings obsahuje globálne nastavenia a pomocné metódy pre načítanie obrázkov a spritov v hre.
  * Definuje základné konštanty ako veľkosť dlaždíc, rozlíšenie obrazovky a smerové vektory.
+ * Načítané a zmenšené obrázky sa ukladajú do vyrovnávacej pamäte, každý obrázok sa teda dekóduje iba raz.
+ * Zmenšené snímky sa navyše ukladajú na disk, ďalšie spustenie ich iba načíta bez dekódovania PNG.
+ * Vrátené obrázky sú vo formáte zobrazovacieho zariadenia, aby ich vykresľovanie mohlo byť akcelerované.
  * 
  * @author Tomáš Ďurovec
  * @version 1.0
  */
 public class Settings {
     public static final int FPS = 60;
+    public static final int RENDER_FPS = Integer.getInteger("bomberman.renderFps", 2 * FPS);
     public static final int SCREEN_WIDTH = 800;
     public static final int SCREEN_HEIGHT = 600;
     public static final int TILE_SIZE = 64;
     public static final int[][] DIRECTIONS = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
     public static final String PRIMARY_FONT = "Open Sans";
+    public static final boolean OFF_HEAP_GRID = Boolean.getBoolean("bomberman.offHeapGrid");
+    public static final Path SPRITE_CACHE_DIRECTORY = Path.of(System.getProperty("bomberman.spriteCache", "sprite-cache"));
+
+    private static final ConcurrentHashMap<String, BufferedImage> IMAGES = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, BufferedImage[][]> SPRITE_SHEETS = new ConcurrentHashMap<>();
+    private static final SpriteCache SPRITE_CACHE = new SpriteCache(SPRITE_CACHE_DIRECTORY);
+    private static final GraphicsConfiguration GRAPHICS_CONFIGURATION = GraphicsEnvironment.isHeadless()
+            ? null
+            : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
 
     /**
      * Načíta obrázok zo zdrojov a zmení jeho veľkosť na požadované rozmery.
+     * Výsledok je zdieľaný, opakované volanie s rovnakými parametrami obrázok znova nenačíta.
      * 
      * @param path Cesta k obrázku v zdrojoch
      * @param width Požadovaná šírka obrázka
@@ -30,8 +52,10 @@ public class Settings {
      * @return Načítaný a zmenšený obrázok
      */
     public static BufferedImage loadImage(String path, int width, int height) {
-        BufferedImage image = loadImage(path);
-        return preScaleImage(image, width, height);
+        return IMAGES.computeIfAbsent(
+                String.format("%s@%dx%d", path, width, height),
+                _ -> loadFrames(path, 1, 1, width, height)[0][0]
+        );
     }
 
     /**
@@ -48,6 +72,7 @@ public class Settings {
 
     /**
      * Načíta sprite sheet a rozdelí ho na maticu obrázkov s určenou veľkosťou jednotlivých spritov.
+     * Výsledok je zdieľaný, opakované volanie s rovnakými parametrami sprite sheet znova nenačíta.
      * 
      * @param path Cesta k sprite sheetu
      * @param rows Počet riadkov
@@ -57,8 +82,10 @@ public class Settings {
      * @return Maticu obrázkov (riadky x stĺpce)
      */
     public static BufferedImage[][] loadSpriteSheet(String path, int rows, int cols, int width, int height) {
-        BufferedImage sheet = loadImage(path);
-        return sliceSpriteSheet(sheet, rows, cols, width, height);
+        return SPRITE_SHEETS.computeIfAbsent(
+                String.format("%s@%dx%d@%dx%d", path, rows, cols, width, height),
+                _ -> loadFrames(path, rows, cols, width, height)
+        );
     }
 
     /**
@@ -69,9 +96,7 @@ public class Settings {
      * @return Pole obrázkov
      */
     public static BufferedImage[] loadSpriteSheet(String path, int cols) {
-        BufferedImage sheet = loadImage(path);
-        BufferedImage[][] grid = sliceSpriteSheet(sheet, 1, cols, TILE_SIZE, TILE_SIZE);
-        return grid[0];
+        return loadSpriteSheet(path, 1, cols, TILE_SIZE, TILE_SIZE)[0];
     }
 
     /**
@@ -99,18 +124,96 @@ public class Settings {
     }
 
     /**
-     * Načíta obrázok zo zdrojov podľa zadanej cesty.
+     * Získa zmenšené snímky obrázka z diskovej vyrovnávacej pamäte, alebo ich vytvorí
+     * dekódovaním a zmenšením zdrojového PNG a do vyrovnávacej pamäte uloží.
+     * Každé načítanie sa zaznamená ako udalosť JFR AssetDecodeEvent.
      * 
      * @param path Cesta k obrázku v zdrojoch
-     * @return Načítaný obrázok
-     * @throws ResourcesLoadException ak sa obrázok nepodarí načítať
+     * @param rows Počet riadkov
+     * @param cols Počet stĺpcov
+     * @param width Šírka jednej snímky
+     * @param height Výška jednej snímky
+     * @return Maticu obrázkov (riadky x stĺpce)
      */
-    private static BufferedImage loadImage(String path) {
+    private static BufferedImage[][] loadFrames(String path, int rows, int cols, int width, int height) {
+        AssetDecodeEvent event = new AssetDecodeEvent();
+        event.begin();
+
+        byte[] source = readResource(path);
+        Optional<BufferedImage[][]> cached = SPRITE_CACHE.load(path, source, rows, cols, width, height);
+        BufferedImage[][] sprites = cached.orElseGet(() -> {
+            BufferedImage[][] scaled = sliceSpriteSheet(decodeImage(path, source), rows, cols, width, height);
+            SPRITE_CACHE.store(path, source, scaled);
+            return scaled;
+        });
+
+        for (BufferedImage[] row : sprites) {
+            for (int c = 0; c < row.length; c++) {
+                row[c] = toCompatibleImage(row[c]);
+            }
+        }
+
+        event.path = path;
+        event.frames = rows * cols;
+        event.cacheHit = cached.isPresent();
+        event.commit();
+        return sprites;
+    }
+
+    /**
+     * Prevedie obrázok do formátu zobrazovacieho zariadenia, aby ho bolo možné vykresľovať
+     * hardvérovo akcelerovane bez prevodu pixelov pri každom vykreslení.
+     * Bez grafického prostredia (headless) vráti pôvodný obrázok.
+     * 
+     * @param image Zdrojový obrázok
+     * @return Obrázok kompatibilný so zobrazovacím zariadením
+     */
+    private static BufferedImage toCompatibleImage(BufferedImage image) {
+        if (GRAPHICS_CONFIGURATION == null || image.getColorModel().equals(GRAPHICS_CONFIGURATION.getColorModel(Transparency.TRANSLUCENT))) {
+            return image;
+        }
+
+        BufferedImage compatibleImage = GRAPHICS_CONFIGURATION.createCompatibleImage(image.getWidth(), image.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g2d = compatibleImage.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return compatibleImage;
+    }
+
+    /**
+     * Prečíta obsah súboru zo zdrojov podľa zadanej cesty.
+     * 
+     * @param path Cesta k obrázku v zdrojoch
+     * @return Obsah súboru
+     * @throws ResourcesLoadException ak sa súbor nepodarí prečítať
+     */
+    private static byte[] readResource(String path) {
         try (InputStream resource = Settings.class.getClassLoader().getResourceAsStream(path)) {
             if (resource == null) {
                 throw new IOException();
             }
-            return ImageIO.read(resource);
+            return resource.readAllBytes();
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Image: " + path + " cant load.");
+        }
+    }
+
+    /**
+     * Dekóduje obrázok z obsahu súboru.
+     * 
+     * @param path Cesta k obrázku v zdrojoch (pre chybové hlásenie)
+     * @param source Obsah súboru
+     * @return Načítaný obrázok
+     * @throws ResourcesLoadException ak obsah nie je platný obrázok
+     */
+    private static BufferedImage decodeImage(String path, byte[] source) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(source));
+            if (image == null) {
+                throw new IOException();
+            }
+            return image;
         } catch (IOException _) {
             throw new ResourcesLoadException("Image: " + path + " cant load.");
         }
@@ -0,0 +1,240 @@
+package utils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Trieda SpikeDetector sleduje trvanie krokov jedného vlákna (herný krok, vykreslenie snímky) a zachytáva
+ * tie, ktoré prekročia nastavený prah. Strážne vlákno počas prebiehajúceho kroku kontroluje jeho trvanie
+ * a pri prekročení prahu odoberie vzorku zásobníka sledovaného vlákna, takže zachytí miesto, kde krok
+ * práve trvá dlho. Po skončení pomalého kroku sa uloží špička s časmi jeho častí a vzorkou zásobníka.
+ * Posledné špičky všetkých detektorov sa držia v spoločnom kruhovom zásobníku a dajú sa zapísať na disk.
+ *
+ * Nastavenie vlastnosťami:
+ * - bomberman.spikeThresholdMs: prah v milisekundách (predvolene dva herné kroky, 0 = vypnuté)
+ * - bomberman.spikeHistory: počet uchovaných špičiek (predvolene 32)
+ * - bomberman.spikeLog: súbor, do ktorého sa špičky zapíšu (predvolene spikes.txt); ak je nastavený,
+ *   špičky sa doň zapíšu aj pri ukončení aplikácie
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class SpikeDetector {
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(Long.getLong("bomberman.spikeThresholdMs", 2000 / Settings.FPS));
+    private static final int HISTORY = Math.max(1, Integer.getInteger("bomberman.spikeHistory", 32));
+    private static final String DEFAULT_LOG_PATH = "spikes.txt";
+    private static final String LOG_PATH = System.getProperty("bomberman.spikeLog");
+
+    private static final Spike[] SPIKES = new Spike[HISTORY];
+    private static long spikeCount;
+
+    private final String name;
+    private final Thread thread;
+    private final FramePhase[] phases;
+    private final long[] phaseCounts;
+    private volatile long startTime;
+    private volatile long sequence;
+    private volatile long sampledSequence;
+    private volatile StackTraceElement[] sample;
+
+    /**
+     * Vytvorí detektor pre vlákno. Strážne vlákno spúšťa až metóda start.
+     */
+    private SpikeDetector(String name, Thread thread, FramePhase... phases) {
+        this.name = name;
+        this.thread = thread;
+        this.phases = phases.clone();
+        this.phaseCounts = new long[phases.length];
+    }
+
+    /**
+     * Vytvorí detektor pre vlákno a spustí jeho strážne vlákno, ak je detekcia zapnutá.
+     * Strážne vlákno sa spúšťa až po skončení konštruktora, aby nevidelo neúplne vytvorený detektor.
+     *
+     * @param name Názov sledovaných krokov (napr. tick, frame)
+     * @param thread Sledované vlákno, ktoré volá begin a end
+     * @param phases Časti merané na sledovanom vlákne, ktorých časy sa uložia ku špičke
+     * @return Detektor
+     */
+    public static SpikeDetector start(String name, Thread thread, FramePhase... phases) {
+        SpikeDetector detector = new SpikeDetector(name, thread, phases);
+        if (THRESHOLD > 0) {
+            Thread watchdog = new Thread(detector::watch, name + "-spike-watchdog");
+            watchdog.setDaemon(true);
+            watchdog.start();
+        }
+        return detector;
+    }
+
+    /**
+     * Začne sledovaný krok. Volá sa na sledovanom vlákne.
+     */
+    public void begin() {
+        if (THRESHOLD <= 0) {
+            return;
+        }
+        for (int i = 0; i < this.phases.length; i++) {
+            this.phaseCounts[i] = FrameProfiler.getHistogram(this.phases[i]).getCount();
+        }
+        this.sequence++;
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Ukončí sledovaný krok. Ak trval dlhšie ako prah, uloží špičku s časmi častí, ktoré v kroku prebehli,
+     * a so vzorkou zásobníka, ak ju strážne vlákno stihlo odobrať. Volá sa na sledovanom vlákne.
+     */
+    public void end() {
+        if (THRESHOLD <= 0) {
+            return;
+        }
+        long duration = System.nanoTime() - this.startTime;
+        this.startTime = 0;
+        if (duration <= THRESHOLD) {
+            return;
+        }
+
+        EnumMap<FramePhase, Long> phaseDurations = new EnumMap<>(FramePhase.class);
+        for (int i = 0; i < this.phases.length; i++) {
+            if (FrameProfiler.getHistogram(this.phases[i]).getCount() != this.phaseCounts[i]) {
+                phaseDurations.put(this.phases[i], FrameProfiler.getLastDuration(this.phases[i]));
+            }
+        }
+        StackTraceElement[] stackSample = this.sampledSequence == this.sequence ? this.sample : null;
+        add(new Spike(this.name, Instant.now(), duration, phaseDurations, stackSample));
+    }
+
+    /**
+     * Získa uchované špičky od najstaršej po najnovšiu.
+     *
+     * @return Zoznam špičiek
+     */
+    public static synchronized List<Spike> getSpikes() {
+        List<Spike> spikes = new ArrayList<>();
+        for (long i = Math.max(0, spikeCount - HISTORY); i < spikeCount; i++) {
+            spikes.add(SPIKES[(int)(i % HISTORY)]);
+        }
+        return spikes;
+    }
+
+    /**
+     * Získa počet všetkých zachytených špičiek od spustenia.
+     *
+     * @return Počet špičiek
+     */
+    public static synchronized long getSpikeCount() {
+        return spikeCount;
+    }
+
+    /**
+     * Zapíše uchované špičky do textového súboru – pre každú trvanie, časy častí a vzorku zásobníka.
+     *
+     * @param path Cieľový súbor
+     * @throws ResourcesLoadException ak zápis zlyhá
+     */
+    public static void writeReport(Path path) {
+        List<Spike> spikes = getSpikes();
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.printf(Locale.ROOT, "%d spikes over %.3f ms, last %d kept%n", getSpikeCount(), toMillis(THRESHOLD), spikes.size());
+            for (Spike spike : spikes) {
+                writer.println();
+                writer.printf(Locale.ROOT, "%s %s %.3f ms%n", spike.timestamp(), spike.name(), toMillis(spike.duration()));
+                for (Map.Entry<FramePhase, Long> entry : spike.phaseDurations().entrySet()) {
+                    writer.printf(Locale.ROOT, "  %-16s %.3f ms%n", entry.getKey().toString().toLowerCase(), toMillis(entry.getValue()));
+                }
+                if (spike.stackSample() == null) {
+                    writer.println("  no stack sample");
+                } else {
+                    for (StackTraceElement element : spike.stackSample()) {
+                        writer.println("    at " + element);
+                    }
+                }
+            }
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while writing frame spikes.");
+        }
+    }
+
+    /**
+     * Zapíše uchované špičky do súboru bomberman.spikeLog (predvolene spikes.txt) na samostatnom vlákne,
+     * aby samotný zápis nespôsobil ďalšiu špičku.
+     */
+    public static void dump() {
+        Thread writer = new Thread(() -> writeReport(logPath()), "spike-dump");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Zaregistruje zápis špičiek pri ukončení aplikácie, ak je nastavená vlastnosť bomberman.spikeLog.
+     */
+    public static void dumpOnExit() {
+        if (LOG_PATH == null || LOG_PATH.isBlank()) {
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> writeReport(logPath()), "spike-log-dump"));
+    }
+
+    /**
+     * Získa cestu k súboru špičiek.
+     */
+    private static Path logPath() {
+        return Path.of(LOG_PATH == null || LOG_PATH.isBlank() ? DEFAULT_LOG_PATH : LOG_PATH);
+    }
+
+    /**
+     * Pridá špičku do kruhového zásobníka, najstaršia sa prepíše.
+     */
+    private static synchronized void add(Spike spike) {
+        SPIKES[(int)(spikeCount % HISTORY)] = spike;
+        spikeCount++;
+    }
+
+    /**
+     * Cyklus strážneho vlákna. Kontroluje prebiehajúci krok s periódou polovice prahu
+     * a pri prekročení prahu odoberie jednu vzorku zásobníka sledovaného vlákna.
+     */
+    private void watch() {
+        long period = Math.max(TimeUnit.MILLISECONDS.toNanos(1), THRESHOLD / 2);
+        while (true) {
+            LockSupport.parkNanos(this, period);
+            long start = this.startTime;
+            long currentSequence = this.sequence;
+            if (start == 0 || this.sampledSequence == currentSequence || System.nanoTime() - start <= THRESHOLD) {
+                continue;
+            }
+            this.sample = this.thread.getStackTrace();
+            this.sampledSequence = currentSequence;
+        }
+    }
+
+    /**
+     * Prevedie nanosekundy na milisekundy.
+     */
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Zachytená špička.
+     *
+     * @param name Názov sledovaných krokov (tick, frame)
+     * @param timestamp Čas skončenia kroku
+     * @param duration Trvanie kroku v nanosekundách
+     * @param phaseDurations Časy častí, ktoré v kroku prebehli
+     * @param stackSample Vzorka zásobníka počas kroku, null ak ju strážne vlákno nestihlo odobrať
+     */
+    public record Spike(String name, Instant timestamp, long duration, Map<FramePhase, Long> phaseDurations, StackTraceElement[] stackSample) {
+    }
+}
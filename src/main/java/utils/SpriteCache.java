@@ -0,0 +1,162 @@
+package utils;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Trieda SpriteCache ukladá na disk už dekódované a zmenšené snímky sprite sheetov,
+ * aby ďalšie spustenie hry nemuselo dekódovať PNG ani meniť veľkosť obrázkov.
+ * Súbor sa pri načítaní pamäťovo mapuje a pixely sa kopírujú priamo do rastrov obrázkov.
+ * Platnosť záznamu určuje SHA-256 odtlačok zdrojového PNG, zmenený obrázok sa teda znova spracuje.
+ *
+ * Formát (big-endian):
+ * - hlavička: magické číslo "BMSC", verzia (short), odtlačok zdroja (32 bajtov)
+ * - rozmery: riadky, stĺpce, šírka a výška snímky (int)
+ * - pixely: ARGB hodnoty všetkých snímok po riadkoch (riadky*stĺpce*šírka*výška int)
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class SpriteCache {
+    private static final int MAGIC = 0x424D5343;
+    private static final short VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_SIZE = 4 + 2 + HASH_LENGTH + 4 * 4;
+    private static final String EXTENSION = ".sprites";
+
+    private final Path directory;
+
+    /**
+     * Vytvorí vyrovnávaciu pamäť v danom adresári. Adresár sa vytvorí až pri prvom zápise.
+     *
+     * @param directory Adresár so súbormi vyrovnávacej pamäte
+     */
+    public SpriteCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Načíta snímky z disku, ak existuje platný záznam pre daný zdroj a rozmery.
+     *
+     * @param path Cesta k zdrojovému obrázku
+     * @param source Obsah zdrojového PNG
+     * @param rows Počet riadkov
+     * @param cols Počet stĺpcov
+     * @param width Šírka jednej snímky
+     * @param height Výška jednej snímky
+     * @return Optional so snímkami, alebo prázdny ak záznam chýba, je zastaraný alebo poškodený
+     */
+    public Optional<BufferedImage[][]> load(String path, byte[] source, int rows, int cols, int width, int height) {
+        Path file = this.resolve(path, rows, cols, width, height);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long expectedSize = HEADER_SIZE + 4L * rows * cols * width * height;
+            if (channel.size() != expectedSize) {
+                return Optional.empty();
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize);
+
+            byte[] hash = new byte[HASH_LENGTH];
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                return Optional.empty();
+            }
+            buffer.get(hash);
+            if (!Arrays.equals(hash, hash(source))
+                    || buffer.getInt() != rows || buffer.getInt() != cols
+                    || buffer.getInt() != width || buffer.getInt() != height) {
+                return Optional.empty();
+            }
+
+            IntBuffer pixels = buffer.asIntBuffer();
+            int[] frame = new int[width * height];
+            BufferedImage[][] sprites = new BufferedImage[rows][cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    pixels.get(frame);
+                    sprites[r][c] = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                    sprites[r][c].getRaster().setDataElements(0, 0, width, height, frame);
+                }
+            }
+            return Optional.of(sprites);
+        } catch (IOException _) {
+            // Nečitateľný záznam sa ignoruje, obrázok sa dekóduje zo zdroja a záznam sa prepíše.
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Uloží snímky na disk. Zápis prebieha do dočasného súboru, ktorý sa potom atomicky premenuje,
+     * takže súbežné alebo prerušené spustenie nikdy nenájde neúplný záznam.
+     * Chyba zápisu (napr. adresár iba na čítanie) sa ignoruje, hra vtedy iba beží bez vyrovnávacej pamäte.
+     *
+     * @param path Cesta k zdrojovému obrázku
+     * @param source Obsah zdrojového PNG
+     * @param sprites Zmenšené snímky (riadky x stĺpce), všetky rovnakých rozmerov
+     */
+    public void store(String path, byte[] source, BufferedImage[][] sprites) {
+        int rows = sprites.length;
+        int cols = sprites[0].length;
+        int width = sprites[0][0].getWidth();
+        int height = sprites[0][0].getHeight();
+
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(HEADER_SIZE + 4L * rows * cols * width * height));
+        buffer.putInt(MAGIC).putShort(VERSION).put(hash(source));
+        buffer.putInt(rows).putInt(cols).putInt(width).putInt(height);
+
+        IntBuffer pixels = buffer.asIntBuffer();
+        int[] frame = new int[width * height];
+        for (BufferedImage[] row : sprites) {
+            for (BufferedImage sprite : row) {
+                sprite.getRaster().getDataElements(0, 0, width, height, frame);
+                pixels.put(frame);
+            }
+        }
+
+        Path file = this.resolve(path, rows, cols, width, height);
+        try {
+            Files.createDirectories(this.directory);
+            Path temporary = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, buffer.array());
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException _) {
+            // Vyrovnávacia pamäť je iba zrýchlenie, jej nedostupnosť nesmie zabrániť spusteniu hry.
+        }
+    }
+
+    /**
+     * Získa súbor záznamu pre daný zdroj a rozmery.
+     */
+    private Path resolve(String path, int rows, int cols, int width, int height) {
+        String name = path.replace('/', '_').replace('.', '_');
+        return this.directory.resolve(String.format("%s@%dx%d@%dx%d%s", name, rows, cols, width, height, EXTENSION));
+    }
+
+    /**
+     * Vypočíta SHA-256 odtlačok obsahu zdrojového obrázka.
+     */
+    private static byte[] hash(byte[] source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
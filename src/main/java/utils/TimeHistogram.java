@@ -0,0 +1,108 @@
+package utils;
+
+/**
+ * Trieda TimeHistogram zaznamenáva časy (v nanosekundách) do logaritmicko-lineárnych priečinkov
+ * podobne ako HDR histogram. Každý rozsah medzi dvoma mocninami dvoch je rozdelený na rovnaký počet
+ * priečinkov, takže relatívna chyba percentilu je najviac 1/128 pri ľubovoľne veľkej hodnote a pamäť je pevná.
+ * Zapisovať smie iba jedno vlákno, čítanie z iného vlákna môže vidieť mierne neaktuálne počty.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class TimeHistogram {
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_HALF = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 2) * SUB_BUCKET_HALF;
+
+    private final long[] counts;
+    private long totalCount;
+    private long max;
+    private long sum;
+
+    /**
+     * Vytvorí prázdny histogram.
+     */
+    public TimeHistogram() {
+        this.counts = new long[BUCKET_COUNT];
+    }
+
+    /**
+     * Zaznamená jednu hodnotu, záporné hodnoty sa zaznamenajú ako 0.
+     *
+     * @param value Čas v nanosekundách
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        this.counts[bucketIndex(clamped)]++;
+        this.totalCount++;
+        this.sum += clamped;
+        this.max = Math.max(this.max, clamped);
+    }
+
+    /**
+     * Získa hodnotu daného percentilu (hornú hranicu priečinka, v ktorom percentil leží).
+     *
+     * @param percentile Percentil (0.0 - 100.0)
+     * @return Čas v nanosekundách, 0 ak je histogram prázdny
+     */
+    public long getPercentile(double percentile) {
+        long total = this.totalCount;
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long)Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            seen += this.counts[i];
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), this.max);
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * Získa počet zaznamenaných hodnôt.
+     *
+     * @return Počet hodnôt
+     */
+    public long getCount() {
+        return this.totalCount;
+    }
+
+    /**
+     * Získa najväčšiu zaznamenanú hodnotu.
+     *
+     * @return Čas v nanosekundách
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Získa priemernú zaznamenanú hodnotu.
+     *
+     * @return Čas v nanosekundách, 0 ak je histogram prázdny
+     */
+    public double getMean() {
+        long total = this.totalCount;
+        return total == 0 ? 0 : (double)this.sum / total;
+    }
+
+    /**
+     * Vypočíta index priečinka pre hodnotu.
+     */
+    private static int bucketIndex(long value) {
+        int magnitude = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return magnitude * SUB_BUCKET_HALF + (int)(value >>> magnitude);
+    }
+
+    /**
+     * Vypočíta najväčšiu hodnotu, ktorá patrí do priečinka.
+     */
+    private static long bucketUpperBound(int index) {
+        int magnitude = index < 2 * SUB_BUCKET_HALF ? 0 : index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - (long)magnitude * SUB_BUCKET_HALF;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+}
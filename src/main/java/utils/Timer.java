@@ -1,13 +1,19 @@
 package utils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
- * Trieda Timer slúži na meranie uplynutého času v nanosekundách.
+ * Trieda Timer slúži na meranie uplynutého herného času v nanosekundách.
  * Umožňuje pozastavenie, obnovenie a kontrolu uplynutia časového intervalu.
+ * Čas sa číta z herného času sveta (GameClock), nie z hodín počítača.
  * 
  * @author Tomáš Ďurovec
  * @version 1.0
  */
-public class Timer {
+public class Timer implements ISnapshot {
+    private final GameClock clock;
     private long duration;
     private long startTime;
     private long pausedTime;
@@ -16,9 +22,11 @@ public class Timer {
     /**
      * Vytvorí nový časovač s daným trvaním.
      * 
+     * @param clock Herný čas, podľa ktorého časovač beží
      * @param duration Trvanie časovača v nanosekundách
      */
-    public Timer(long duration) {
+    public Timer(GameClock clock, long duration) {
+        this.clock = clock;
         this.duration = duration;
         this.isPaused = false;
         this.pausedTime = 0;
@@ -26,16 +34,18 @@ public class Timer {
 
     /**
      * Vytvorí nový časovač s predvoleným trvaním 0.
+     * 
+     * @param clock Herný čas, podľa ktorého časovač beží
      */
-    public Timer() {
-        this(0);
+    public Timer(GameClock clock) {
+        this(clock, 0);
     }
 
     /**
      * Spustí alebo reštartuje časovač.
      */
     public void start() {
-        this.startTime = System.nanoTime();
+        this.startTime = this.clock.now();
         this.isPaused = false;
         this.pausedTime = 0;
     }
@@ -45,7 +55,7 @@ public class Timer {
      */
     public void stop() {
         if (!this.isPaused) {
-            this.pausedTime = System.nanoTime() - this.startTime;
+            this.pausedTime = this.clock.now() - this.startTime;
             this.isPaused = true;
         }
     }
@@ -55,7 +65,7 @@ public class Timer {
      */
     public void resume() {
         if (this.isPaused) {
-            this.startTime = System.nanoTime() - this.pausedTime;
+            this.startTime = this.clock.now() - this.pausedTime;
             this.isPaused = false;
         }
     }
@@ -69,10 +79,21 @@ public class Timer {
         if (this.isPaused) {
             return this.pausedTime >= this.duration;
         } else {
-            return System.nanoTime() - this.startTime >= this.duration;
+            return this.clock.now() - this.startTime >= this.duration;
         }
     }
 
+    /**
+     * Získa, o koľko čas časovača prekročil nastavené trvanie (napr. koľko z herného kroku
+     * uplynulo od skutočného konca intervalu, keď sa koniec zistí až pri ďalšom kroku).
+     * 
+     * @return Prekročenie v nanosekundách, 0 ak časovač ešte neskončil
+     */
+    public long getOvershoot() {
+        long elapsed = this.isPaused ? this.pausedTime : this.clock.now() - this.startTime;
+        return Math.max(0, elapsed - this.duration);
+    }
+
     /**
      * Zmení trvanie časovača.
      * 
@@ -81,4 +102,26 @@ public class Timer {
     public void changeDuration(long duration) {
         this.duration = duration;
     }
-}
\ No newline at end of file
+
+    /**
+     * Zapíše stav časovača. Začiatok sa zapisuje v hernom čase, ktorý je súčasťou snímky sveta.
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        output.writeLong(this.duration);
+        output.writeLong(this.startTime);
+        output.writeLong(this.pausedTime);
+        output.writeBoolean(this.isPaused);
+    }
+
+    /**
+     * Obnoví stav časovača.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        this.duration = input.readLong();
+        this.startTime = input.readLong();
+        this.pausedTime = input.readLong();
+        this.isPaused = input.readBoolean();
+    }
+}
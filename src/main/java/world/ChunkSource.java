@@ -0,0 +1,25 @@
+package world;
+
+/**
+ * Rozhranie ChunkSource vytvára obsah časti (chunku) streamovanej mapy, ktorá ešte nebola uložená na disk.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public interface ChunkSource {
+    /**
+     * Naplní typy a varianty dlaždíc chunku.
+     *
+     * @param firstRow Riadok mapy, na ktorom chunk začína
+     * @param firstCol Stĺpec mapy, na ktorom chunk začína
+     * @param chunk Mriežka chunku na naplnenie, na okraji mapy môže byť menšia ako ostatné chunky
+     */
+    void fill(int firstRow, int firstCol, TileGrid chunk);
+
+    /**
+     * Získa semienko zdroja, ktoré spolu s polohou chunku určuje jeho obsah.
+     *
+     * @return Semienko zdroja
+     */
+    long getSeed();
+}
@@ -0,0 +1,451 @@
+package world;
+
+import utils.ResourcesLoadException;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.Checksum;
+
+/**
+ * Trieda ChunkedTileGrid je streamovaná mapa rozdelená na štvorcové časti (chunky) pevnej veľkosti.
+ * V pamäti je iba obmedzený počet naposledy použitých chunkov, ostatné sa pri prístupe načítajú
+ * z disku alebo vytvoria zo zdroja chunkov. Pri vyradení sa zmenené chunky (zničené steny) uložia na disk.
+ * Obsadenosť sa neukladá do chunkov, drží sa iba pre políčka s objektmi, aby vyradenie chunku nestratilo objekty.
+ * Každý svet má vlastnú streamovanú mapu s vlastným adresárom uložených chunkov, ktorý sa zmaže pri zahodení mapy.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class ChunkedTileGrid implements LevelView {
+    private static final String CHUNK_EXTENSION = ".chunk";
+    private static final TileType[] TYPES = TileType.values();
+
+    private final int rows;
+    private final int cols;
+    private final int chunkSize;
+    private final int chunkCols;
+    private final ChunkSource source;
+    private final Path storeDirectory;
+    private final LinkedHashMap<Integer, Chunk> chunks;
+    private final HashMap<Long, Integer> occupancy;
+    private int lastChunkIndex;
+    private Chunk lastChunk;
+
+    /**
+     * Vytvorí streamovanú mapu.
+     *
+     * @param rows Počet riadkov celej mapy
+     * @param cols Počet stĺpcov celej mapy
+     * @param chunkSize Počet riadkov a stĺpcov jedného chunku
+     * @param maxLoadedChunks Najväčší počet chunkov v pamäti
+     * @param source Zdroj obsahu chunkov, ktoré ešte nie sú uložené na disku
+     * @param storeDirectory Adresár, do ktorého sa ukladajú zmenené chunky, nesmie ho používať iná mapa
+     */
+    public ChunkedTileGrid(int rows, int cols, int chunkSize, int maxLoadedChunks, ChunkSource source, Path storeDirectory) {
+        this.rows = rows;
+        this.cols = cols;
+        this.chunkSize = chunkSize;
+        this.chunkCols = (cols + chunkSize - 1) / chunkSize;
+        this.source = source;
+        this.storeDirectory = storeDirectory;
+        this.occupancy = new HashMap<>();
+        this.lastChunkIndex = -1;
+
+        this.chunks = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Chunk> eldest) {
+                if (this.size() > maxLoadedChunks) {
+                    ChunkedTileGrid.this.store(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public int getRows() {
+        return this.rows;
+    }
+
+    @Override
+    public int getCols() {
+        return this.cols;
+    }
+
+    @Override
+    public TileType getType(int row, int col) {
+        return this.chunkAt(row, col).grid.getType(row % this.chunkSize, col % this.chunkSize);
+    }
+
+    @Override
+    public void setType(int row, int col, TileType type) {
+        Chunk chunk = this.chunkAt(row, col);
+        chunk.grid.setType(row % this.chunkSize, col % this.chunkSize, type);
+        chunk.dirty = true;
+    }
+
+    @Override
+    public int getVariant(int row, int col) {
+        return this.chunkAt(row, col).grid.getVariant(row % this.chunkSize, col % this.chunkSize);
+    }
+
+    @Override
+    public void setVariant(int row, int col, int variant) {
+        Chunk chunk = this.chunkAt(row, col);
+        chunk.grid.setVariant(row % this.chunkSize, col % this.chunkSize, variant);
+        chunk.dirty = true;
+    }
+
+    @Override
+    public int getOccupancy(int row, int col) {
+        return this.occupancy.getOrDefault(this.cellKey(row, col), Integer.valueOf(0));
+    }
+
+    @Override
+    public void setOccupancy(int row, int col, int occupancy) {
+        if (occupancy == 0) {
+            this.occupancy.remove(this.cellKey(row, col));
+        } else {
+            this.occupancy.put(this.cellKey(row, col), Integer.valueOf(occupancy));
+        }
+    }
+
+    /**
+     * Načíta vrstvy celej mapy po chunkoch. Chunky v pamäti a na disku sa zahodia, na disk sa uložia iba chunky,
+     * ktoré sa líšia od obsahu zo zdroja chunkov, takže v pamäti nie je nikdy viac ako jeden chunk navyše.
+     */
+    @Override
+    public void readLayers(ByteBuffer source) {
+        int start = source.position();
+        int cells = Math.multiplyExact(this.rows, this.cols);
+        this.chunks.clear();
+        this.lastChunk = null;
+        this.lastChunkIndex = -1;
+        this.deleteStoredChunks();
+
+        for (int index = 0; index < this.getChunkCount(); index++) {
+            Chunk chunk = this.createChunk(index);
+            int firstRow = this.firstRow(index);
+            int firstCol = this.firstCol(index);
+            for (int row = 0; row < chunk.grid.getRows(); row++) {
+                for (int col = 0; col < chunk.grid.getCols(); col++) {
+                    int cell = start + (firstRow + row) * this.cols + firstCol + col;
+                    TileType type = TYPES[source.get(cell)];
+                    int variant = Byte.toUnsignedInt(source.get(cell + cells));
+                    if (type != chunk.grid.getType(row, col) || variant != chunk.grid.getVariant(row, col)) {
+                        chunk.grid.setType(row, col, type);
+                        chunk.grid.setVariant(row, col, variant);
+                        chunk.dirty = true;
+                    }
+                }
+            }
+            this.store(index, chunk);
+        }
+        source.position(start + 2 * cells);
+    }
+
+    /**
+     * Zapíše vrstvy celej mapy po chunkoch. Chunky, ktoré nie sú v pamäti, sa načítajú iba dočasne,
+     * poradie a obsah načítaných chunkov sa nemení.
+     */
+    @Override
+    public void writeLayers(ByteBuffer target) {
+        int start = target.position();
+        int cells = Math.multiplyExact(this.rows, this.cols);
+        Map<Integer, Chunk> loaded = new HashMap<>(this.chunks);
+
+        for (int index = 0; index < this.getChunkCount(); index++) {
+            Chunk chunk = loaded.containsKey(index) ? loaded.get(index) : this.load(index);
+            int firstRow = this.firstRow(index);
+            int firstCol = this.firstCol(index);
+            for (int row = 0; row < chunk.grid.getRows(); row++) {
+                for (int col = 0; col < chunk.grid.getCols(); col++) {
+                    int cell = start + (firstRow + row) * this.cols + firstCol + col;
+                    target.put(cell, (byte)chunk.grid.getType(row, col).ordinal());
+                    target.put(cell + cells, (byte)chunk.grid.getVariant(row, col));
+                }
+            }
+        }
+        target.position(start + 2 * cells);
+    }
+
+    /**
+     * Vráti mapu do pôvodného stavu – zahodí chunky v pamäti aj chunky uložené v adresári tohto pohľadu.
+     */
+    @Override
+    public void revert() {
+        this.chunks.clear();
+        this.occupancy.clear();
+        this.lastChunk = null;
+        this.lastChunkIndex = -1;
+        this.deleteStoredChunks();
+    }
+
+    /**
+     * Zahodí mapu aj s adresárom, do ktorého sa ukladali jej zmenené chunky.
+     */
+    @Override
+    public void discard() {
+        this.revert();
+        try {
+            Files.deleteIfExists(this.storeDirectory);
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while deleting chunk store " + this.storeDirectory + ".");
+        }
+    }
+
+    /**
+     * Zapíše zmenené dlaždice. Porovnávajú sa iba chunky zmenené v pamäti alebo uložené na disku
+     * s obsahom, ktorý pre ne vytvorí zdroj chunkov.
+     */
+    @Override
+    public void writeChanges(DataOutput output) throws IOException {
+        List<int[]> cells = this.changedCells();
+        output.writeInt(cells.size());
+        for (int[] cell : cells) {
+            output.writeInt(cell[0]);
+            output.writeInt(cell[1]);
+            output.writeByte(cell[2]);
+            output.writeByte(cell[3]);
+        }
+    }
+
+    /**
+     * Pridá stav mapy do kontrolného súčtu bez prechádzania celej mapy – rozmery, semienko zdroja chunkov,
+     * zmenené dlaždice a obsadené políčka. Nezmenené chunky sú určené semienkom, preto sa nenačítavajú.
+     */
+    @Override
+    public void updateChecksum(Checksum checksum) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 4);
+        checksum.update(buffer.putInt(this.rows).putInt(this.cols).putLong(this.source.getSeed()).array());
+        for (int[] cell : this.changedCells()) {
+            buffer.clear();
+            checksum.update(buffer.putInt(cell[0]).putInt(cell[1]).putInt(cell[2]).putInt(cell[3]).array());
+        }
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(this.occupancy).entrySet()) {
+            buffer.clear();
+            checksum.update(buffer.putLong(entry.getKey()).putInt(entry.getValue()).putInt(0).array());
+        }
+    }
+
+    /**
+     * Uloží na disk všetky zmenené chunky, ktoré sú práve v pamäti.
+     */
+    public void flush() {
+        for (Map.Entry<Integer, Chunk> entry : this.chunks.entrySet()) {
+            this.store(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Získa počet chunkov, ktoré sú práve v pamäti.
+     *
+     * @return Počet načítaných chunkov
+     */
+    public int getLoadedChunkCount() {
+        return this.chunks.size();
+    }
+
+    /**
+     * Získa chunk obsahujúci zadané políčko, v prípade potreby ho načíta.
+     * Posledný použitý chunk sa vracia bez vyhľadávania v mape, pretože po sebe idúce prístupy
+     * (vykresľovanie, kolízie) takmer vždy smerujú do rovnakého chunku.
+     */
+    private Chunk chunkAt(int row, int col) {
+        Objects.checkIndex(row, this.rows);
+        Objects.checkIndex(col, this.cols);
+        int index = (row / this.chunkSize) * this.chunkCols + col / this.chunkSize;
+        if (index == this.lastChunkIndex) {
+            return this.lastChunk;
+        }
+
+        Chunk chunk = this.chunks.get(index);
+        if (chunk == null) {
+            chunk = this.load(index);
+            this.chunks.put(index, chunk);
+        }
+        this.lastChunkIndex = index;
+        this.lastChunk = chunk;
+        return chunk;
+    }
+
+    /**
+     * Nájde dlaždice, ktoré sa líšia od obsahu zo zdroja chunkov. Prechádzajú sa iba chunky zmenené v pamäti
+     * alebo uložené na disku, a to nad kópiou načítaných chunkov, takže sa nemení ich poradie pri vyraďovaní
+     * a žiadny chunk sa pri tom nevyradí ani neuloží.
+     *
+     * @return Zmenené dlaždice ako riadok, stĺpec, typ a variant, zoradené podľa chunkov
+     */
+    private List<int[]> changedCells() {
+        Map<Integer, Chunk> loaded = new HashMap<>(this.chunks);
+        TreeSet<Integer> changedChunks = new TreeSet<>();
+        for (Map.Entry<Integer, Chunk> entry : loaded.entrySet()) {
+            if (entry.getValue().dirty) {
+                changedChunks.add(entry.getKey());
+            }
+        }
+        if (Files.isDirectory(this.storeDirectory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(this.storeDirectory, "*" + CHUNK_EXTENSION)) {
+                for (Path file : files) {
+                    String[] name = file.getFileName().toString().replace(CHUNK_EXTENSION, "").split("_");
+                    changedChunks.add(Integer.parseInt(name[0]) * this.chunkCols + Integer.parseInt(name[1]));
+                }
+            } catch (IOException _) {
+                throw new ResourcesLoadException("Error while listing stored chunks.");
+            }
+        }
+
+        ArrayList<int[]> cells = new ArrayList<>();
+        for (int index : changedChunks) {
+            Chunk chunk = loaded.containsKey(index) ? loaded.get(index) : this.load(index);
+            Chunk original = this.createChunk(index);
+            int firstRow = this.firstRow(index);
+            int firstCol = this.firstCol(index);
+            for (int row = 0; row < original.grid.getRows(); row++) {
+                for (int col = 0; col < original.grid.getCols(); col++) {
+                    TileType type = chunk.grid.getType(row, col);
+                    int variant = chunk.grid.getVariant(row, col);
+                    if (type != original.grid.getType(row, col) || variant != original.grid.getVariant(row, col)) {
+                        cells.add(new int[] {firstRow + row, firstCol + col, type.ordinal(), variant});
+                    }
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Načíta chunk z disku, alebo ho vytvorí zo zdroja chunkov, ak na disku nie je.
+     * Chunk sa nevkladá medzi načítané chunky.
+     */
+    private Chunk load(int index) {
+        Path file = this.chunkFile(index);
+        if (!Files.exists(file)) {
+            return this.createChunk(index);
+        }
+        TileGrid grid = new HeapTileGrid(this.chunkHeight(index), this.chunkWidth(index));
+        try {
+            grid.readLayers(ByteBuffer.wrap(Files.readAllBytes(file)));
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while loading chunk " + file + ".");
+        }
+        return new Chunk(grid);
+    }
+
+    /**
+     * Vytvorí chunk v pôvodnom stave zo zdroja chunkov.
+     */
+    private Chunk createChunk(int index) {
+        TileGrid grid = new HeapTileGrid(this.chunkHeight(index), this.chunkWidth(index));
+        this.source.fill(this.firstRow(index), this.firstCol(index), grid);
+        return new Chunk(grid);
+    }
+
+    /**
+     * Zmaže chunky uložené v adresári tohto pohľadu.
+     */
+    private void deleteStoredChunks() {
+        if (!Files.isDirectory(this.storeDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.storeDirectory, "*" + CHUNK_EXTENSION)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while deleting stored chunks.");
+        }
+    }
+
+    /**
+     * Získa počet chunkov celej mapy.
+     */
+    private int getChunkCount() {
+        return ((this.rows + this.chunkSize - 1) / this.chunkSize) * this.chunkCols;
+    }
+
+    /**
+     * Získa riadok mapy, na ktorom chunk začína.
+     */
+    private int firstRow(int index) {
+        return (index / this.chunkCols) * this.chunkSize;
+    }
+
+    /**
+     * Získa stĺpec mapy, na ktorom chunk začína.
+     */
+    private int firstCol(int index) {
+        return (index % this.chunkCols) * this.chunkSize;
+    }
+
+    /**
+     * Získa počet riadkov chunku, na okraji mapy môže byť menší ako veľkosť chunku.
+     */
+    private int chunkHeight(int index) {
+        return Math.min(this.chunkSize, this.rows - this.firstRow(index));
+    }
+
+    /**
+     * Získa počet stĺpcov chunku, na okraji mapy môže byť menší ako veľkosť chunku.
+     */
+    private int chunkWidth(int index) {
+        return Math.min(this.chunkSize, this.cols - this.firstCol(index));
+    }
+
+    /**
+     * Uloží chunk na disk, ak bol zmenený.
+     */
+    private void store(int index, Chunk chunk) {
+        if (!chunk.dirty) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(chunk.grid.getRows() * chunk.grid.getCols() * 2);
+        chunk.grid.writeLayers(buffer);
+        try {
+            Files.createDirectories(this.storeDirectory);
+            Files.write(this.chunkFile(index), buffer.array());
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while storing chunk " + index + ".");
+        }
+        chunk.dirty = false;
+    }
+
+    /**
+     * Získa cestu k súboru uloženého chunku.
+     */
+    private Path chunkFile(int index) {
+        return this.storeDirectory.resolve((index / this.chunkCols) + "_" + (index % this.chunkCols) + CHUNK_EXTENSION);
+    }
+
+    /**
+     * Vypočíta kľúč políčka celej mapy po kontrole hraníc.
+     */
+    private long cellKey(int row, int col) {
+        return (long)Objects.checkIndex(row, this.rows) * this.cols + Objects.checkIndex(col, this.cols);
+    }
+
+    /**
+     * Chunk v pamäti – mriežka dlaždíc a príznak zmeny od načítania.
+     */
+    private static final class Chunk {
+        private final TileGrid grid;
+        private boolean dirty;
+
+        private Chunk(TileGrid grid) {
+            this.grid = grid;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package world;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * Trieda CopyOnWriteTileGrid je živý pohľad na zdieľanú mriežku predlohy úrovne.
+ * Ukladá iba zmeny: bitovú množinu zničených stien a riedku obsadenosť – bitovú množinu obsadených políčok
+ * a počty objektov iba pre tieto políčka, takže pohľad ani jeho reštart nezávisia od veľkosti mapy.
+ * Pri inej zmene mapy ako zničenie steny si vytvorí súkromnú kópiu celej mriežky.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class CopyOnWriteTileGrid implements LevelView {
+    private final TileGrid base;
+    private final BitSet destroyed;
+    private final BitSet occupied;
+    private final HashMap<Integer, Integer> occupancy;
+    private TileGrid copy;
+
+    /**
+     * Vytvorí nový pohľad nad zdieľanou mriežkou.
+     *
+     * @param base Zdieľaná mriežka predlohy, ktorá sa nikdy nemení
+     */
+    public CopyOnWriteTileGrid(TileGrid base) {
+        this.base = base;
+        this.destroyed = new BitSet();
+        this.occupied = new BitSet();
+        this.occupancy = new HashMap<>();
+    }
+
+    @Override
+    public int getRows() {
+        return this.base.getRows();
+    }
+
+    @Override
+    public int getCols() {
+        return this.base.getCols();
+    }
+
+    @Override
+    public TileType getType(int row, int col) {
+        if (this.copy != null) {
+            return this.copy.getType(row, col);
+        }
+        if (this.destroyed.get(this.index(row, col))) {
+            return TileType.GROUND;
+        }
+        return this.base.getType(row, col);
+    }
+
+    /**
+     * Nastaví typ dlaždice. Zničenie steny sa uloží iba ako bit, iná zmena vytvorí kópiu mriežky.
+     */
+    @Override
+    public void setType(int row, int col, TileType type) {
+        if (this.copy == null) {
+            if (type == TileType.GROUND && this.base.getType(row, col).isDestructible()) {
+                this.destroyed.set(this.index(row, col));
+                return;
+            }
+            if (type == this.getType(row, col)) {
+                return;
+            }
+            this.materialize();
+        }
+        this.copy.setType(row, col, type);
+    }
+
+    @Override
+    public int getVariant(int row, int col) {
+        if (this.copy != null) {
+            return this.copy.getVariant(row, col);
+        }
+        if (this.destroyed.get(this.index(row, col))) {
+            return 1;
+        }
+        return this.base.getVariant(row, col);
+    }
+
+    @Override
+    public void setVariant(int row, int col, int variant) {
+        if (this.copy == null) {
+            if (variant == this.getVariant(row, col)) {
+                return;
+            }
+            this.materialize();
+        }
+        this.copy.setVariant(row, col, variant);
+    }
+
+    @Override
+    public int getOccupancy(int row, int col) {
+        int index = this.index(row, col);
+        if (!this.occupied.get(index)) {
+            return 0;
+        }
+        return this.occupancy.get(index);
+    }
+
+    @Override
+    public void setOccupancy(int row, int col, int occupancy) {
+        int index = this.index(row, col);
+        if (occupancy == 0) {
+            this.occupied.clear(index);
+            this.occupancy.remove(index);
+        } else {
+            this.occupied.set(index);
+            this.occupancy.put(index, Integer.valueOf(occupancy));
+        }
+    }
+
+    /**
+     * Načíta vrstvy do súkromnej kópie, predloha zostáva nezmenená.
+     */
+    @Override
+    public void readLayers(ByteBuffer source) {
+        TileGrid newCopy = TileGrid.create(this.getRows(), this.getCols());
+        newCopy.readLayers(source);
+        this.destroyed.clear();
+        this.copy = newCopy;
+    }
+
+    @Override
+    public void writeLayers(ByteBuffer target) {
+        if (this.copy != null) {
+            this.copy.writeLayers(target);
+            return;
+        }
+        for (int row = 0; row < this.getRows(); row++) {
+            for (int col = 0; col < this.getCols(); col++) {
+                target.put((byte)this.getType(row, col).ordinal());
+            }
+        }
+        for (int row = 0; row < this.getRows(); row++) {
+            for (int col = 0; col < this.getCols(); col++) {
+                target.put((byte)this.getVariant(row, col));
+            }
+        }
+    }
+
+    /**
+     * Vráti pohľad do pôvodného stavu predlohy (zruší všetky zmeny).
+     */
+    @Override
+    public void revert() {
+        this.destroyed.clear();
+        this.occupied.clear();
+        this.occupancy.clear();
+        this.copy = null;
+    }
+
+    /**
+     * Zapíše zmenené dlaždice. Bez súkromnej kópie sú zmenami iba zničené steny,
+     * s kópiou sa porovnajú všetky dlaždice s predlohou.
+     */
+    @Override
+    public void writeChanges(DataOutput output) throws IOException {
+        int cols = this.getCols();
+        if (this.copy == null) {
+            output.writeInt(this.destroyed.cardinality());
+            for (int i = this.destroyed.nextSetBit(0); i >= 0; i = this.destroyed.nextSetBit(i + 1)) {
+                this.writeCell(output, i / cols, i % cols);
+            }
+            return;
+        }
+
+        int count = 0;
+        for (int row = 0; row < this.getRows(); row++) {
+            for (int col = 0; col < cols; col++) {
+                if (this.isChanged(row, col)) {
+                    count++;
+                }
+            }
+        }
+        output.writeInt(count);
+        for (int row = 0; row < this.getRows(); row++) {
+            for (int col = 0; col < cols; col++) {
+                if (this.isChanged(row, col)) {
+                    this.writeCell(output, row, col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Zistí, či sa dlaždica líši od predlohy.
+     */
+    private boolean isChanged(int row, int col) {
+        return this.getType(row, col) != this.base.getType(row, col) || this.getVariant(row, col) != this.base.getVariant(row, col);
+    }
+
+    /**
+     * Zapíše polohu, typ a variant dlaždice.
+     */
+    private void writeCell(DataOutput output, int row, int col) throws IOException {
+        output.writeInt(row);
+        output.writeInt(col);
+        output.writeByte(this.getType(row, col).ordinal());
+        output.writeByte(this.getVariant(row, col));
+    }
+
+    /**
+     * Vytvorí súkromnú kópiu celej mriežky vrátane doterajších zmien.
+     */
+    private void materialize() {
+        int rows = this.getRows();
+        int cols = this.getCols();
+        TileGrid newCopy = TileGrid.create(rows, cols);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                newCopy.setType(row, col, this.getType(row, col));
+                newCopy.setVariant(row, col, this.getVariant(row, col));
+            }
+        }
+        this.copy = newCopy;
+    }
+
+    /**
+     * Vypočíta index bunky po kontrole hraníc.
+     */
+    private int index(int row, int col) {
+        return Objects.checkIndex(row, this.getRows()) * this.getCols() + Objects.checkIndex(col, this.getCols());
+    }
+}
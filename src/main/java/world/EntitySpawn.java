@@ -0,0 +1,52 @@
+package world;
+
+import entity.Entity;
+import entity.EntityType;
+import entity.enemy.Goblin;
+import entity.enemy.Slime;
+import entity.enemy.Vampire;
+import entity.player.Player;
+import utils.GridPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Záznam EntitySpawn popisuje jednu entitu úrovne bez toho, aby ju vytváral.
+ * Predloha úrovne uchováva iba tieto popisy, entity sa z nich vytvárajú pri každom resete sveta.
+ *
+ * @param type Typ entity
+ * @param position Počiatočná pozícia v mriežke
+ * @param dynamites Počet dynamitov (iba hráč)
+ * @param pathLength Dĺžka náhodnej cesty (goblin a upír)
+ * @param path Pevná hliadková cesta (sliz)
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public record EntitySpawn(EntityType type, GridPosition position, int dynamites, int pathLength, List<GridPosition> path) {
+
+    /**
+     * Vytvorí popis s nemennou kópiou hliadkovej cesty.
+     */
+    public EntitySpawn {
+        path = List.copyOf(path);
+    }
+
+    /**
+     * Vytvorí entitu podľa popisu v zadanom svete.
+     *
+     * @param world Svet, do ktorého entita patrí
+     * @return Nová entita
+     */
+    public Entity spawn(World world) {
+        int row = this.position.row();
+        int col = this.position.col();
+        return switch (this.type) {
+            case PLAYER -> new Player(row, col, this.dynamites, world);
+            case SLIME -> new Slime(row, col, new ArrayList<>(this.path), world);
+            case GOBLIN -> new Goblin(row, col, this.pathLength, world);
+            case VAMPIRE -> new Vampire(row, col, this.pathLength, world);
+        };
+    }
+}
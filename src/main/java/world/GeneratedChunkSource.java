@@ -0,0 +1,72 @@
+package world;
+
+import utils.GameRandom;
+import utils.GridPosition;
+
+import java.util.Map;
+
+/**
+ * Trieda GeneratedChunkSource vytvára chunky streamovanej mapy procedurálne zo semienka.
+ * Každý chunk má vlastný generátor náhodných čísel odvodený zo semienka a polohy chunku,
+ * takže rovnaký chunk sa po vyradení a opätovnom načítaní vytvorí vždy rovnako.
+ * Mapa obsahuje iba okrajové steny, pravidelné stĺpy a rozbitné steny, preto je každé políčko dosiahnuteľné.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class GeneratedChunkSource implements ChunkSource {
+    private final long seed;
+    private final int rows;
+    private final int cols;
+    private final double crackedWallDensity;
+    private final Map<GridPosition, TileType> fixedTiles;
+
+    /**
+     * Vytvorí zdroj chunkov.
+     *
+     * @param seed Semienko mapy
+     * @param rows Počet riadkov celej mapy
+     * @param cols Počet stĺpcov celej mapy
+     * @param crackedWallDensity Hustota rozbitných stien (0.0 - 1.0)
+     * @param fixedTiles Políčka s pevne daným typom (okolie hráča, kľúč, dvere, nepriatelia)
+     */
+    public GeneratedChunkSource(long seed, int rows, int cols, double crackedWallDensity, Map<GridPosition, TileType> fixedTiles) {
+        this.seed = seed;
+        this.rows = rows;
+        this.cols = cols;
+        this.crackedWallDensity = crackedWallDensity;
+        this.fixedTiles = Map.copyOf(fixedTiles);
+    }
+
+    @Override
+    public long getSeed() {
+        return this.seed;
+    }
+
+    @Override
+    public void fill(int firstRow, int firstCol, TileGrid chunk) {
+        GameRandom random = new GameRandom(this.seed ^ (((long)firstRow << 32) | firstCol));
+
+        for (int localRow = 0; localRow < chunk.getRows(); localRow++) {
+            for (int localCol = 0; localCol < chunk.getCols(); localCol++) {
+                int row = firstRow + localRow;
+                int col = firstCol + localCol;
+
+                TileType type;
+                if (row == 0 || col == 0 || row == this.rows - 1 || col == this.cols - 1) {
+                    type = TileType.WALL;
+                } else if (row % 2 == 0 && col % 2 == 0) {
+                    type = TileType.WALL;
+                } else if (random.nextDouble() < this.crackedWallDensity) {
+                    type = TileType.CRACKED_WALL;
+                } else {
+                    type = TileType.GROUND;
+                }
+                type = this.fixedTiles.getOrDefault(new GridPosition(row, col), type);
+
+                chunk.setType(localRow, localCol, type);
+                chunk.setVariant(localRow, localCol, type.randomVariant(random));
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package world;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Trieda HeapTileGrid uchováva vrstvy mapy v poliach na halde – typy a varianty po bajtoch, obsadenosť po dvoch bajtoch.
+ * Predvolená implementácia mriežky pre bežné (malé) úrovne.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class HeapTileGrid implements TileGrid {
+    private static final TileType[] TYPES = TileType.values();
+
+    private final int rows;
+    private final int cols;
+    private final byte[] types;
+    private final byte[] variants;
+    private final short[] occupancy;
+
+    /**
+     * Vytvorí novú mriežku so zadanými rozmermi.
+     *
+     * @param rows Počet riadkov
+     * @param cols Počet stĺpcov
+     */
+    public HeapTileGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.types = new byte[Math.multiplyExact(rows, cols)];
+        this.variants = new byte[this.types.length];
+        this.occupancy = new short[this.types.length];
+    }
+
+    @Override
+    public int getRows() {
+        return this.rows;
+    }
+
+    @Override
+    public int getCols() {
+        return this.cols;
+    }
+
+    @Override
+    public TileType getType(int row, int col) {
+        return TYPES[this.types[this.index(row, col)]];
+    }
+
+    @Override
+    public void setType(int row, int col, TileType type) {
+        this.types[this.index(row, col)] = (byte)type.ordinal();
+    }
+
+    @Override
+    public int getVariant(int row, int col) {
+        return this.variants[this.index(row, col)];
+    }
+
+    @Override
+    public void setVariant(int row, int col, int variant) {
+        this.variants[this.index(row, col)] = (byte)variant;
+    }
+
+    @Override
+    public int getOccupancy(int row, int col) {
+        return this.occupancy[this.index(row, col)];
+    }
+
+    @Override
+    public void setOccupancy(int row, int col, int occupancy) {
+        this.occupancy[this.index(row, col)] = (short)Objects.checkIndex(occupancy, MAX_OCCUPANCY + 1);
+    }
+
+    @Override
+    public void readLayers(ByteBuffer source) {
+        source.get(this.types).get(this.variants);
+    }
+
+    @Override
+    public void writeLayers(ByteBuffer target) {
+        target.put(this.types).put(this.variants);
+    }
+
+    /**
+     * Vypočíta index bunky v poli po kontrole hraníc.
+     */
+    private int index(int row, int col) {
+        return Objects.checkIndex(row, this.rows) * this.cols + Objects.checkIndex(col, this.cols);
+    }
+}
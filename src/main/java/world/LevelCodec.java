@@ -0,0 +1,258 @@
+package world;
+
+import entity.EntityType;
+import objects.hiddenITem.EHiddenItem;
+import utils.GridPosition;
+import utils.ResourcesLoadException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Trieda LevelCodec zapisuje a číta skompilované úrovne v binárnom formáte.
+ * Mriežka je v súbore uložená ako dve súvislé vrstvy bajtov (typy a varianty), takže načítanie
+ * mapy je jedna hromadná kópia z pamäťovo mapovaného súboru namiesto parsovania po znakoch.
+ *
+ * Formát (big-endian):
+ * - hlavička: magické číslo "BMLV", verzia (short), názov úrovne (short dĺžka + UTF-8), biom (byte)
+ * - mriežka: riadky (int), stĺpce (int), vrstva typov (riadky*stĺpce bajtov), vrstva variantov
+ * - kľúč a dvere: riadok a stĺpec (int), -1 ak chýbajú
+ * - skryté predmety: celková pravdepodobnosť (double), počet (byte), dvojice typ (byte) + pravdepodobnosť (double)
+ * - podmienky: počet (byte), dvojice typ entity (byte) + počet zabití (int)
+ * - entity: počet (int), pre každú typ (byte), riadok, stĺpec, dynamity, dĺžka cesty, počet bodov cesty (int) a body cesty
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public final class LevelCodec {
+    private static final int MAGIC = 0x424D4C56;
+    private static final short VERSION = 1;
+    private static final String EXTENSION = ".lvl";
+
+    private LevelCodec() {
+    }
+
+    /**
+     * Zapíše predlohu úrovne do binárneho súboru.
+     *
+     * @param template Predloha úrovne
+     * @param path Cieľový súbor
+     * @throws IOException ak zápis zlyhá
+     */
+    public static void write(LevelTemplate template, Path path) throws IOException {
+        byte[] name = template.getLevelName().getBytes(StandardCharsets.UTF_8);
+        int cells = Math.multiplyExact(template.getRows(), template.getCols());
+
+        int size = 4 + 2 + 2 + name.length + 1;
+        size += 8 + 2 * cells;
+        size += 16;
+        size += 8 + 1 + template.getHiddenItemsSpawnChances().size() * 9;
+        size += 1 + template.getRequiredEnemyKills().size() * 5;
+        size += 4;
+        for (EntitySpawn spawn : template.getSpawns()) {
+            size += 1 + 5 * 4 + spawn.path().size() * 8;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putShort(VERSION);
+        buffer.putShort((short)name.length).put(name);
+        buffer.put((byte)template.getBiomeType().ordinal());
+
+        buffer.putInt(template.getRows()).putInt(template.getCols());
+        template.writeLayers(buffer);
+
+        putPosition(buffer, template.getKeyPosition());
+        putPosition(buffer, template.getDoorPosition());
+
+        buffer.putDouble(template.getHiddenItemSpawnChance());
+        buffer.put((byte)template.getHiddenItemsSpawnChances().size());
+        for (Map.Entry<EHiddenItem, Double> entry : template.getHiddenItemsSpawnChances().entrySet()) {
+            buffer.put((byte)entry.getKey().ordinal()).putDouble(entry.getValue());
+        }
+
+        buffer.put((byte)template.getRequiredEnemyKills().size());
+        for (Map.Entry<EntityType, Integer> entry : template.getRequiredEnemyKills().entrySet()) {
+            buffer.put((byte)entry.getKey().ordinal()).putInt(entry.getValue());
+        }
+
+        buffer.putInt(template.getSpawns().size());
+        for (EntitySpawn spawn : template.getSpawns()) {
+            buffer.put((byte)spawn.type().ordinal());
+            putPosition(buffer, spawn.position());
+            buffer.putInt(spawn.dynamites()).putInt(spawn.pathLength());
+            buffer.putInt(spawn.path().size());
+            for (GridPosition point : spawn.path()) {
+                putPosition(buffer, point);
+            }
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(path, buffer.array());
+    }
+
+    /**
+     * Načíta skompilovanú úroveň zo súboru pomocou pamäťového mapovania.
+     *
+     * @param path Súbor skompilovanej úrovne
+     * @return Načítaná predloha
+     * @throws ResourcesLoadException ak súbor nie je možné prečítať alebo nie je platný
+     */
+    public static LevelTemplate map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Compiled level " + path + " cant load.");
+        }
+    }
+
+    /**
+     * Načíta skompilovanú úroveň z buffera.
+     *
+     * @param buffer Buffer s obsahom súboru úrovne
+     * @return Načítaná predloha
+     * @throws ResourcesLoadException ak obsah nie je platná skompilovaná úroveň
+     */
+    public static LevelTemplate read(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new ResourcesLoadException("Unsupported compiled level format.");
+            }
+            byte[] name = new byte[checkLength(buffer, Short.toUnsignedInt(buffer.getShort()))];
+            buffer.get(name);
+            String levelName = new String(name, StandardCharsets.UTF_8);
+            BiomeType biomeType = BiomeType.values()[buffer.get()];
+
+            int rows = buffer.getInt();
+            int cols = buffer.getInt();
+            if (rows <= 0 || cols <= 0) {
+                throw new ResourcesLoadException("Compiled level has invalid size " + rows + "x" + cols + ".");
+            }
+            checkLength(buffer, 2L * rows * cols);
+            TileGrid grid = TileGrid.create(rows, cols);
+            grid.readLayers(buffer);
+
+            GridPosition keyPosition = getPosition(buffer);
+            GridPosition doorPosition = getPosition(buffer);
+
+            LevelDefinition definition = new LevelDefinition();
+            definition.setHiddenItemSpawnChance(buffer.getDouble());
+
+            EHiddenItem[] items = EHiddenItem.values();
+            Map<EHiddenItem, Double> spawnChances = new EnumMap<>(EHiddenItem.class);
+            for (int i = buffer.get(); i > 0; i--) {
+                spawnChances.put(items[buffer.get()], Double.valueOf(buffer.getDouble()));
+            }
+            definition.setHiddenItemsSpawnChances(spawnChances);
+
+            EntityType[] entityTypes = EntityType.values();
+            Map<EntityType, Integer> conditions = new EnumMap<>(EntityType.class);
+            for (int i = buffer.get(); i > 0; i--) {
+                conditions.put(entityTypes[buffer.get()], Integer.valueOf(buffer.getInt()));
+            }
+            definition.setLevelCompletionConditions(conditions);
+
+            for (int i = buffer.getInt(); i > 0; i--) {
+                EntityType type = entityTypes[buffer.get()];
+                GridPosition position = getPosition(buffer);
+                int dynamites = buffer.getInt();
+                int pathLength = buffer.getInt();
+                List<GridPosition> path = new ArrayList<>();
+                for (int j = buffer.getInt(); j > 0; j--) {
+                    path.add(getPosition(buffer));
+                }
+                definition.addSpawn(new EntitySpawn(type, position, dynamites, pathLength, path));
+            }
+
+            return new LevelTemplate(levelName, biomeType, grid, keyPosition, doorPosition, definition);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException _) {
+            throw new ResourcesLoadException("Compiled level is corrupted.");
+        }
+    }
+
+    /**
+     * Vyhľadá skompilovanú úroveň medzi zdrojmi. Súbor na disku sa pamäťovo mapuje,
+     * zdroj v JAR archíve sa prečíta do poľa bajtov.
+     *
+     * @param levelName Názov úrovne
+     * @return Optional s predlohou, alebo prázdny ak skompilovaná úroveň neexistuje
+     */
+    static Optional<LevelTemplate> loadCompiled(String levelName) {
+        URL url = LevelCodec.class.getClassLoader().getResource(resolvePath(levelName));
+        if (url == null) {
+            return Optional.empty();
+        }
+        try {
+            if (url.getProtocol().equals("file")) {
+                return Optional.of(map(Path.of(url.toURI())));
+            }
+            try (InputStream inputStream = url.openStream()) {
+                return Optional.of(read(ByteBuffer.wrap(inputStream.readAllBytes())));
+            }
+        } catch (IOException | URISyntaxException _) {
+            throw new ResourcesLoadException("Compiled level " + levelName + " cant load.");
+        }
+    }
+
+    /**
+     * Získa cestu k skompilovanej úrovni v rámci zdrojov.
+     *
+     * @param levelName Názov úrovne
+     * @return Relatívna cesta k súboru
+     */
+    public static String resolvePath(String levelName) {
+        return "levels/" + levelName + EXTENSION;
+    }
+
+    /**
+     * Overí, že v bufferi zostáva aspoň zadaný počet bajtov, skôr ako sa pre ne alokuje pamäť.
+     *
+     * @return Počet bajtov
+     * @throws ResourcesLoadException ak je úroveň skrátená
+     */
+    private static int checkLength(ByteBuffer buffer, long length) {
+        if (length > buffer.remaining()) {
+            throw new ResourcesLoadException("Compiled level is corrupted.");
+        }
+        return (int)length;
+    }
+
+    /**
+     * Zapíše pozíciu v mriežke, chýbajúcu pozíciu ako -1, -1.
+     */
+    private static void putPosition(ByteBuffer buffer, GridPosition position) {
+        if (position == null) {
+            buffer.putInt(-1).putInt(-1);
+        } else {
+            buffer.putInt(position.row()).putInt(position.col());
+        }
+    }
+
+    /**
+     * Prečíta pozíciu v mriežke zapísanú metódou putPosition.
+     */
+    private static GridPosition getPosition(ByteBuffer buffer) {
+        int row = buffer.getInt();
+        int col = buffer.getInt();
+        if (row < 0) {
+            return null;
+        }
+        return new GridPosition(row, col);
+    }
+}
@@ -0,0 +1,25 @@
+package world;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Trieda LevelCompiler skompiluje textové súbory všetkých úrovní zo zoznamu úrovní do binárneho formátu.
+ * Spúšťa sa pri zostavení projektu, výsledné súbory sa uložia medzi zdroje vedľa textových máp.
+ * Použitie: LevelCompiler [výstupný adresár zdrojov], predvolene target/classes.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class LevelCompiler {
+    public static void main(String[] args) throws IOException {
+        Path outputDirectory = Path.of(args.length > 0 ? args[0] : "target/classes");
+
+        for (String levelName : LevelManager.loadLevelNames()) {
+            LevelTemplate template = LevelTemplate.fromText(levelName);
+            Path output = outputDirectory.resolve(LevelCodec.resolvePath(template.getLevelName()));
+            LevelCodec.write(template, output);
+            System.out.println("Compiled " + template.getLevelName() + " -> " + output);
+        }
+    }
+}
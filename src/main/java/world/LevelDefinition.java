@@ -0,0 +1,170 @@
+package world;
+
+import entity.EntityType;
+import entity.player.Player;
+import objects.hiddenITem.EHiddenItem;
+import utils.GridPosition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trieda LevelDefinition obsahuje obsah úrovne okrem mapy: entity, hliadkové cesty,
+ * podmienky dokončenia a pravdepodobnosti výskytu skrytých predmetov.
+ * Obsahuje iba údaje, entity sa z nej vytvárajú až pri resete sveta.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class LevelDefinition {
+    private final ArrayList<EntitySpawn> spawns;
+    private final EnumMap<EntityType, Integer> requiredEnemyKills;
+    private final EnumMap<EHiddenItem, Double> hiddenItemsSpawnChances;
+    private double hiddenItemSpawnChance;
+
+    /**
+     * Vytvorí prázdnu definíciu s predvolenými pravdepodobnosťami skrytých predmetov.
+     */
+    public LevelDefinition() {
+        this.spawns = new ArrayList<>();
+        this.requiredEnemyKills = new EnumMap<>(EntityType.class);
+        this.hiddenItemSpawnChance = 0.9;
+
+        this.hiddenItemsSpawnChances = new EnumMap<>(EHiddenItem.class);
+        this.hiddenItemsSpawnChances.put(EHiddenItem.ADD_DYNAMITE, Double.valueOf(0.6));
+        this.hiddenItemsSpawnChances.put(EHiddenItem.ADD_HEALTH, Double.valueOf(0.1));
+        this.hiddenItemsSpawnChances.put(EHiddenItem.DAMAGE, Double.valueOf(0.3));
+    }
+
+    /**
+     * Nastaví hráča s daným počtom dynamitov.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @param dynamites Počet dynamitov
+     */
+    public void setPlayer(int row, int col, int dynamites) {
+        this.spawns.removeIf(spawn -> spawn.type() == EntityType.PLAYER);
+        this.spawns.add(new EntitySpawn(EntityType.PLAYER, new GridPosition(row, col), dynamites, 0, List.of()));
+    }
+
+    /**
+     * Nastaví hráča s predvoleným počtom dynamitov.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     */
+    public void setPlayer(int row, int col) {
+        this.setPlayer(row, col, Player.DEFAULT_DYNAMITES);
+    }
+
+    /**
+     * Pridá sliz s pevnou hliadkovou cestou.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @param path Hliadková cesta
+     */
+    public void addSlime(int row, int col, List<GridPosition> path) {
+        this.spawns.add(new EntitySpawn(EntityType.SLIME, new GridPosition(row, col), 0, 0, path));
+    }
+
+    /**
+     * Pridá goblina s náhodnou cestou danej dĺžky.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @param pathLength Dĺžka cesty
+     */
+    public void addGoblin(int row, int col, int pathLength) {
+        this.spawns.add(new EntitySpawn(EntityType.GOBLIN, new GridPosition(row, col), 0, pathLength, List.of()));
+    }
+
+    /**
+     * Pridá upíra s náhodnou cestou danej dĺžky.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @param pathLength Dĺžka cesty
+     */
+    public void addVampire(int row, int col, int pathLength) {
+        this.spawns.add(new EntitySpawn(EntityType.VAMPIRE, new GridPosition(row, col), 0, pathLength, List.of()));
+    }
+
+    /**
+     * Pridá ľubovoľný popis entity (napr. pri načítaní zo súboru).
+     *
+     * @param spawn Popis entity
+     */
+    public void addSpawn(EntitySpawn spawn) {
+        this.spawns.add(spawn);
+    }
+
+    /**
+     * Nastaví podmienky dokončenia úrovne (požadované počty zabití nepriateľov podľa typu).
+     *
+     * @param requiredEnemyKills Mapa požadovaných zabití podľa typu nepriateľa
+     */
+    public void setLevelCompletionConditions(Map<EntityType, Integer> requiredEnemyKills) {
+        this.requiredEnemyKills.clear();
+        this.requiredEnemyKills.putAll(requiredEnemyKills);
+    }
+
+    /**
+     * Nastaví celkovú pravdepodobnosť výskytu skrytého predmetu na jednej pozícii.
+     *
+     * @param chance Pravdepodobnosť (0.0 - 1.0)
+     */
+    public void setHiddenItemSpawnChance(double chance) {
+        this.hiddenItemSpawnChance = chance;
+    }
+
+    /**
+     * Nastaví pravdepodobnosti výskytu jednotlivých skrytých predmetov.
+     *
+     * @param itemsChances Mapa pravdepodobností pre jednotlivé typy skrytých predmetov
+     */
+    public void setHiddenItemsSpawnChances(Map<EHiddenItem, Double> itemsChances) {
+        this.hiddenItemsSpawnChances.clear();
+        this.hiddenItemsSpawnChances.putAll(itemsChances);
+    }
+
+    /**
+     * Získa popisy entít v poradí, v akom boli pridané.
+     *
+     * @return Nemodifikovateľný zoznam popisov entít
+     */
+    public List<EntitySpawn> getSpawns() {
+        return Collections.unmodifiableList(this.spawns);
+    }
+
+    /**
+     * Získa požadované počty zabití nepriateľov podľa typu.
+     *
+     * @return Nemodifikovateľná mapa požadovaných zabití
+     */
+    public Map<EntityType, Integer> getRequiredEnemyKills() {
+        return Collections.unmodifiableMap(this.requiredEnemyKills);
+    }
+
+    /**
+     * Získa celkovú pravdepodobnosť výskytu skrytého predmetu.
+     *
+     * @return Pravdepodobnosť (0.0 - 1.0)
+     */
+    public double getHiddenItemSpawnChance() {
+        return this.hiddenItemSpawnChance;
+    }
+
+    /**
+     * Získa pravdepodobnosti výskytu jednotlivých skrytých predmetov.
+     *
+     * @return Nemodifikovateľná mapa pravdepodobností
+     */
+    public Map<EHiddenItem, Double> getHiddenItemsSpawnChances() {
+        return Collections.unmodifiableMap(this.hiddenItemsSpawnChances);
+    }
+}
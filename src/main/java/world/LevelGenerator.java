@@ -0,0 +1,434 @@
+package world;
+
+import entity.EntityType;
+import utils.GameRandom;
+import utils.GridPosition;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Trieda LevelGenerator procedurálne vytvára úrovne ľubovoľnej veľkosti zo zadaného semienka.
+ * Rovnaké semienko a nastavenia vždy vytvoria rovnakú úroveň, preto je vhodná na záťažové testy
+ * vykresľovania, hľadania cesty a správy objektov na veľkých mapách.
+ *
+ * Vygenerovaná úroveň je vždy riešiteľná: všetky políčka, ktoré nie sú pevnou stenou, sú z pozície hráča
+ * dosiahnuteľné (rozbitné steny sa dajú zničiť dynamitom), kľúč je pod dosiahnuteľnou rozbitnou stenou
+ * a dvere na dosiahnuteľnej voľnej ploche.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class LevelGenerator {
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int PLAYER_ROW = 1;
+    private static final int PLAYER_COL = 1;
+    private static final int SAFE_DISTANCE = 4;
+    private static final int ENEMY_PATH_LENGTH = 4;
+    private static final int MAX_ATTEMPTS = 10_000;
+    private static final double MAX_HIDDEN_ITEM_SPAWN_CHANCE = 0.9;
+    private static final int EXPECTED_HIDDEN_ITEMS = 1_000;
+
+    private final long seed;
+    private final int rows;
+    private final int cols;
+    private final BiomeType biomeType;
+    private double wallDensity;
+    private double crackedWallDensity;
+    private double hiddenItemSpawnChance;
+    private final EnumMap<EntityType, Integer> enemyCounts;
+    private final EnumMap<EntityType, Integer> requiredEnemyKills;
+
+    /**
+     * Vytvorí generátor s predvolenými hustotami stien a bez nepriateľov. Predvolená pravdepodobnosť skrytého
+     * predmetu sa zmenšuje s plochou mapy, aby ani obrovská mapa nemala viac ako približne tisíc skrytých predmetov.
+     *
+     * @param seed Semienko generátora náhodných čísel
+     * @param rows Počet riadkov (aspoň 5)
+     * @param cols Počet stĺpcov (aspoň 5)
+     * @param biomeType Typ biomu
+     * @throws IllegalArgumentException ak je mapa menšia ako 5×5
+     */
+    public LevelGenerator(long seed, int rows, int cols, BiomeType biomeType) {
+        if (rows < 5 || cols < 5) {
+            throw new IllegalArgumentException("Generated level must be at least 5x5.");
+        }
+        this.seed = seed;
+        this.rows = rows;
+        this.cols = cols;
+        this.biomeType = biomeType;
+        this.wallDensity = 0.05;
+        this.crackedWallDensity = 0.4;
+        this.hiddenItemSpawnChance = Math.min(MAX_HIDDEN_ITEM_SPAWN_CHANCE, EXPECTED_HIDDEN_ITEMS / ((double)rows * cols));
+        this.enemyCounts = new EnumMap<>(EntityType.class);
+        this.requiredEnemyKills = new EnumMap<>(EntityType.class);
+    }
+
+    /**
+     * Nastaví pravdepodobnosť, že voľné políčko bude pevnou stenou (okrem pravidelných stĺpov).
+     *
+     * @param wallDensity Hustota pevných stien (0.0 - 1.0)
+     */
+    public void setWallDensity(double wallDensity) {
+        this.wallDensity = wallDensity;
+    }
+
+    /**
+     * Nastaví pravdepodobnosť, že voľné políčko bude rozbitnou stenou.
+     *
+     * @param crackedWallDensity Hustota rozbitných stien (0.0 - 1.0)
+     */
+    public void setCrackedWallDensity(double crackedWallDensity) {
+        this.crackedWallDensity = crackedWallDensity;
+    }
+
+    /**
+     * Nastaví pravdepodobnosť, že rozbitná stena skrýva predmet. Každý skrytý predmet je pri resete sveta
+     * samostatný objekt, preto má byť na veľkých mapách malá.
+     *
+     * @param hiddenItemSpawnChance Pravdepodobnosť skrytého predmetu (0.0 - 1.0)
+     */
+    public void setHiddenItemSpawnChance(double hiddenItemSpawnChance) {
+        this.hiddenItemSpawnChance = hiddenItemSpawnChance;
+    }
+
+    /**
+     * Nastaví počet nepriateľov daného typu.
+     *
+     * @param type Typ nepriateľa
+     * @param count Počet nepriateľov
+     * @throws IllegalArgumentException ak typ nie je nepriateľ
+     */
+    public void setEnemyCount(EntityType type, int count) {
+        if (type == EntityType.PLAYER) {
+            throw new IllegalArgumentException("Player is not an enemy.");
+        }
+        this.enemyCounts.put(type, Integer.valueOf(count));
+    }
+
+    /**
+     * Nastaví požadovaný počet zabití nepriateľov daného typu pre dokončenie úrovne.
+     * Ak sa vygeneruje menej nepriateľov, požiadavka sa zníži na ich počet.
+     *
+     * @param type Typ nepriateľa
+     * @param count Počet zabití
+     */
+    public void setRequiredEnemyKills(EntityType type, int count) {
+        this.requiredEnemyKills.put(type, Integer.valueOf(count));
+    }
+
+    /**
+     * Vygeneruje predlohu úrovne.
+     *
+     * @return Nová predloha úrovne
+     * @throws IllegalStateException ak na mape nezostane miesto pre kľúč alebo dvere
+     */
+    public LevelTemplate generate() {
+        GameRandom random = new GameRandom(this.seed);
+        TileGrid grid = TileGrid.create(this.rows, this.cols);
+
+        this.generateWalls(grid, random);
+        BitSet reachable = this.sealUnreachable(grid);
+
+        GridPosition keyPosition = this.placeKey(grid, reachable, random);
+        GridPosition doorPosition = this.placeDoor(grid, reachable, random, keyPosition);
+
+        for (int row = 0; row < this.rows; row++) {
+            for (int col = 0; col < this.cols; col++) {
+                grid.setVariant(row, col, grid.getType(row, col).randomVariant(random));
+            }
+        }
+
+        LevelDefinition definition = new LevelDefinition();
+        definition.setPlayer(PLAYER_ROW, PLAYER_COL);
+        definition.setHiddenItemSpawnChance(this.hiddenItemSpawnChance);
+        EnumMap<EntityType, Integer> spawned = this.spawnEnemies(grid, random, definition, doorPosition);
+
+        EnumMap<EntityType, Integer> conditions = new EnumMap<>(EntityType.class);
+        this.requiredEnemyKills.forEach((type, count) -> conditions.put(type, Math.min(count, spawned.getOrDefault(type, 0))));
+        definition.setLevelCompletionConditions(conditions);
+
+        String levelName = String.format("generated_%d_%dx%d", this.seed, this.rows, this.cols);
+        return new LevelTemplate(levelName, this.biomeType, grid, keyPosition, doorPosition, definition);
+    }
+
+    /**
+     * Vygeneruje novú úroveň a vytvorí nad ňou svet.
+     *
+     * @return Nový svet s vygenerovanou úrovňou
+     */
+    public World generateWorld() {
+        return new World(this.generate());
+    }
+
+    /**
+     * Vygeneruje predlohu streamovanej úrovne, ktorej mapa sa vytvára po chunkoch až pri prístupe.
+     * Celá mapa nie je nikdy v pamäti naraz, preto môže byť oveľa väčšia ako bežná úroveň.
+     * Streamovaná mapa neobsahuje náhodné pevné steny (hustota pevných stien sa ignoruje),
+     * takže je riešiteľná bez prehľadania celej mapy. Skryté predmety sa v nej negenerujú.
+     *
+     * @param chunkSize Počet riadkov a stĺpcov jedného chunku
+     * @param maxLoadedChunks Najväčší počet chunkov v pamäti
+     * @param storeDirectory Adresár, v ktorom má mapa každého sveta vlastný podadresár so zmenenými chunkami
+     * @return Nová predloha streamovanej úrovne
+     */
+    public LevelTemplate generateStreamed(int chunkSize, int maxLoadedChunks, Path storeDirectory) {
+        GameRandom random = new GameRandom(this.seed);
+        HashMap<GridPosition, TileType> fixedTiles = new HashMap<>();
+        fixedTiles.put(new GridPosition(PLAYER_ROW, PLAYER_COL), TileType.GROUND);
+        fixedTiles.put(new GridPosition(PLAYER_ROW + 1, PLAYER_COL), TileType.GROUND);
+        fixedTiles.put(new GridPosition(PLAYER_ROW, PLAYER_COL + 1), TileType.GROUND);
+
+        GridPosition keyPosition = this.randomFreeCell(random, fixedTiles);
+        fixedTiles.put(keyPosition, TileType.CRACKED_WALL);
+        GridPosition doorPosition = this.randomFreeCell(random, fixedTiles);
+        fixedTiles.put(doorPosition, TileType.GROUND);
+
+        LevelDefinition definition = new LevelDefinition();
+        definition.setPlayer(PLAYER_ROW, PLAYER_COL);
+        definition.setHiddenItemSpawnChance(0.0);
+        for (EntityType type : this.enemyCounts.keySet()) {
+            for (int i = 0; i < this.enemyCounts.get(type); i++) {
+                GridPosition position = this.randomFreeCell(random, fixedTiles);
+                fixedTiles.put(position, TileType.GROUND);
+                switch (type) {
+                    case SLIME -> definition.addSlime(position.row(), position.col(), this.createStreamedPatrolPath(position, fixedTiles));
+                    case GOBLIN -> definition.addGoblin(position.row(), position.col(), ENEMY_PATH_LENGTH);
+                    case VAMPIRE -> definition.addVampire(position.row(), position.col(), ENEMY_PATH_LENGTH);
+                    default -> throw new IllegalStateException();
+                }
+            }
+        }
+        definition.setLevelCompletionConditions(this.requiredEnemyKills);
+
+        GeneratedChunkSource source = new GeneratedChunkSource(this.seed, this.rows, this.cols, this.crackedWallDensity, fixedTiles);
+        StreamedMap map = new StreamedMap(this.rows, this.cols, chunkSize, maxLoadedChunks, source, storeDirectory);
+
+        String levelName = String.format("streamed_%d_%dx%d", this.seed, this.rows, this.cols);
+        return new LevelTemplate(levelName, this.biomeType, map, keyPosition, doorPosition, definition);
+    }
+
+    /**
+     * Vytvorí hliadkovú cestu slizu v streamovanej mape – úsek po nepárnom riadku,
+     * ktorého políčka sa pevne nastavia na voľnú plochu.
+     */
+    private List<GridPosition> createStreamedPatrolPath(GridPosition start, HashMap<GridPosition, TileType> fixedTiles) {
+        int endCol = Math.min(start.col() + ENEMY_PATH_LENGTH, this.cols - 2);
+        for (int col = start.col(); col <= endCol; col++) {
+            fixedTiles.putIfAbsent(new GridPosition(start.row(), col), TileType.GROUND);
+        }
+        if (endCol == start.col()) {
+            return List.of(start);
+        }
+        return List.of(start, new GridPosition(start.row(), endCol));
+    }
+
+    /**
+     * Vyberie náhodné políčko na nepárnom riadku (nikdy nie je stĺpom ani okrajom),
+     * ktoré ešte nemá pevne daný typ a nie je v bezpečnej vzdialenosti od hráča.
+     *
+     * @throws IllegalStateException ak sa voľné políčko nenájde (príliš malá mapa)
+     */
+    private GridPosition randomFreeCell(Random random, HashMap<GridPosition, TileType> fixedTiles) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int row = 1 + 2 * random.nextInt((this.rows - 1) / 2);
+            int col = 1 + random.nextInt(this.cols - 2);
+            GridPosition position = new GridPosition(row, col);
+            int distance = Math.abs(row - PLAYER_ROW) + Math.abs(col - PLAYER_COL);
+            if (distance >= SAFE_DISTANCE && !fixedTiles.containsKey(position)) {
+                return position;
+            }
+        }
+        throw new IllegalStateException("Streamed level has no free cell left.");
+    }
+
+    /**
+     * Rozmiestni okrajové steny, pravidelné stĺpy a náhodné pevné a rozbitné steny.
+     * Okolie hráča zostane voľné, aby mohol bezpečne položiť prvý dynamit.
+     */
+    private void generateWalls(TileGrid grid, Random random) {
+        for (int row = 0; row < this.rows; row++) {
+            for (int col = 0; col < this.cols; col++) {
+                TileType type;
+                if (row == 0 || col == 0 || row == this.rows - 1 || col == this.cols - 1) {
+                    type = TileType.WALL;
+                } else if (row % 2 == 0 && col % 2 == 0) {
+                    type = TileType.WALL;
+                } else if (this.isPlayerArea(row, col)) {
+                    type = TileType.GROUND;
+                } else {
+                    double roll = random.nextDouble();
+                    if (roll < this.wallDensity) {
+                        type = TileType.WALL;
+                    } else if (roll < this.wallDensity + this.crackedWallDensity) {
+                        type = TileType.CRACKED_WALL;
+                    } else {
+                        type = TileType.GROUND;
+                    }
+                }
+                grid.setType(row, col, type);
+            }
+        }
+    }
+
+    /**
+     * Prehľadá mapu do šírky z pozície hráča cez všetko okrem pevných stien
+     * a z nedosiahnuteľných políčok urobí pevné steny.
+     *
+     * @return Množina dosiahnuteľných políčok (index riadok * stĺpce + stĺpec)
+     */
+    private BitSet sealUnreachable(TileGrid grid) {
+        BitSet reachable = new BitSet(this.rows * this.cols);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        reachable.set(PLAYER_ROW * this.cols + PLAYER_COL);
+        queue.add(PLAYER_ROW * this.cols + PLAYER_COL);
+
+        while (!queue.isEmpty()) {
+            int index = queue.poll();
+            int row = index / this.cols;
+            int col = index % this.cols;
+            for (int[] direction : DIRECTIONS) {
+                int nextRow = row + direction[0];
+                int nextCol = col + direction[1];
+                int next = nextRow * this.cols + nextCol;
+                if (grid.getType(nextRow, nextCol) != TileType.WALL && !reachable.get(next)) {
+                    reachable.set(next);
+                    queue.add(next);
+                }
+            }
+        }
+
+        for (int row = 1; row < this.rows - 1; row++) {
+            for (int col = 1; col < this.cols - 1; col++) {
+                if (!reachable.get(row * this.cols + col)) {
+                    grid.setType(row, col, TileType.WALL);
+                }
+            }
+        }
+        return reachable;
+    }
+
+    /**
+     * Umiestni kľúč pod náhodnú dosiahnuteľnú rozbitnú stenu, ak žiadna nie je, jednu vytvorí.
+     */
+    private GridPosition placeKey(TileGrid grid, BitSet reachable, Random random) {
+        List<GridPosition> candidates = this.collect(grid, reachable, TileType.CRACKED_WALL);
+        if (candidates.isEmpty()) {
+            candidates = this.collect(grid, reachable, TileType.GROUND);
+            candidates.removeIf(position -> this.isPlayerArea(position.row(), position.col()));
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("Generated level has no room for the key.");
+        }
+        GridPosition key = candidates.get(random.nextInt(candidates.size()));
+        grid.setType(key.row(), key.col(), TileType.CRACKED_WALL);
+        return key;
+    }
+
+    /**
+     * Umiestni dvere na náhodnú dosiahnuteľnú voľnú plochu mimo okolia hráča,
+     * ak žiadna nie je, zmení na voľnú plochu rozbitnú stenu.
+     */
+    private GridPosition placeDoor(TileGrid grid, BitSet reachable, Random random, GridPosition key) {
+        List<GridPosition> candidates = this.collect(grid, reachable, TileType.GROUND);
+        candidates.removeIf(position -> this.isPlayerArea(position.row(), position.col()));
+        if (candidates.isEmpty()) {
+            candidates = this.collect(grid, reachable, TileType.CRACKED_WALL);
+            candidates.remove(key);
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("Generated level has no room for the door.");
+        }
+        GridPosition door = candidates.get(random.nextInt(candidates.size()));
+        grid.setType(door.row(), door.col(), TileType.GROUND);
+        return door;
+    }
+
+    /**
+     * Rozmiestni nepriateľov na dosiahnuteľné voľné plochy v bezpečnej vzdialenosti od hráča.
+     *
+     * @return Skutočný počet rozmiestnených nepriateľov podľa typu
+     */
+    private EnumMap<EntityType, Integer> spawnEnemies(TileGrid grid, Random random, LevelDefinition definition, GridPosition door) {
+        List<GridPosition> free = new ArrayList<>();
+        for (int row = 1; row < this.rows - 1; row++) {
+            for (int col = 1; col < this.cols - 1; col++) {
+                int distance = Math.abs(row - PLAYER_ROW) + Math.abs(col - PLAYER_COL);
+                if (grid.getType(row, col) == TileType.GROUND && distance >= SAFE_DISTANCE && !door.equals(new GridPosition(row, col))) {
+                    free.add(new GridPosition(row, col));
+                }
+            }
+        }
+
+        EnumMap<EntityType, Integer> spawned = new EnumMap<>(EntityType.class);
+        for (EntityType type : this.enemyCounts.keySet()) {
+            for (int i = 0; i < this.enemyCounts.get(type) && !free.isEmpty(); i++) {
+                int last = free.size() - 1;
+                int chosen = random.nextInt(free.size());
+                GridPosition position = free.get(chosen);
+                free.set(chosen, free.get(last));
+                free.remove(last);
+
+                switch (type) {
+                    case SLIME -> definition.addSlime(position.row(), position.col(), this.createPatrolPath(grid, random, position));
+                    case GOBLIN -> definition.addGoblin(position.row(), position.col(), ENEMY_PATH_LENGTH);
+                    case VAMPIRE -> definition.addVampire(position.row(), position.col(), ENEMY_PATH_LENGTH);
+                    default -> throw new IllegalStateException();
+                }
+                spawned.merge(type, 1, Integer::sum);
+            }
+        }
+        return spawned;
+    }
+
+    /**
+     * Vytvorí hliadkovú cestu slizu – priamy úsek po voľnej ploche v náhodnom smere.
+     */
+    private List<GridPosition> createPatrolPath(TileGrid grid, Random random, GridPosition start) {
+        List<GridPosition> path = new ArrayList<>();
+        path.add(start);
+
+        int[] direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+        GridPosition end = start;
+        for (int step = 1; step <= ENEMY_PATH_LENGTH; step++) {
+            int row = start.row() + direction[0] * step;
+            int col = start.col() + direction[1] * step;
+            if (grid.getType(row, col) != TileType.GROUND) {
+                break;
+            }
+            end = new GridPosition(row, col);
+        }
+        if (!end.equals(start)) {
+            path.add(end);
+        }
+        return path;
+    }
+
+    /**
+     * Zozbiera dosiahnuteľné políčka daného typu.
+     */
+    private List<GridPosition> collect(TileGrid grid, BitSet reachable, TileType type) {
+        List<GridPosition> positions = new ArrayList<>();
+        for (int index = reachable.nextSetBit(0); index >= 0; index = reachable.nextSetBit(index + 1)) {
+            int row = index / this.cols;
+            int col = index % this.cols;
+            if (grid.getType(row, col) == type) {
+                positions.add(new GridPosition(row, col));
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Zistí, či políčko patrí do okolia štartovacej pozície hráča.
+     */
+    private boolean isPlayerArea(int row, int col) {
+        return Math.abs(row - PLAYER_ROW) + Math.abs(col - PLAYER_COL) <= 1;
+    }
+}
@@ -0,0 +1,27 @@
+package world;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Udalosť JFR načítania úrovne – prepnutia na úroveň, pripravenú vopred alebo resetovanú na mieste.
+ * Načítanie predlohy zo súboru zaznamenáva samostatná udalosť LevelParseEvent.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@Name("bomberman.LevelLoad")
+@Label("Level Load")
+@Category({"Bomberman", "World"})
+@Description("Level switch")
+final class LevelLoadEvent extends Event {
+    @Label("Level Name")
+    String levelName;
+
+    @Label("Source")
+    @Description("prefetched or reset")
+    String source;
+}
@@ -1,53 +1,172 @@
 package world;
 
+import replay.SessionRecorder;
 import utils.ResourcesLoadException;
-import world.level.Level1;
-import world.level.Level2;
-import world.level.Level3;
+import utils.Settings;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Trieda LevelManager spravuje úrovne hry, ich stav a ukladanie postupu.
  * Umožňuje načítanie, inicializáciu a označenie dokončených úrovní, ako aj správu stavu hry.
+ * Ak je nastavená vlastnosť bomberman.historySeconds, svety uchovávajú históriu stavov danej dĺžky
+ * a hra sa dá vrátiť späť. Rozohraná úroveň sa dá rýchlo uložiť a načítať, každých bomberman.autosaveSeconds
+ * sekúnd hry (predvolene 5, 0 = vypnuté) sa uloží automaticky. Súbory sa zapisujú na pozadí.
  * 
  * @author Tomáš Ďurovec
  * @version 1.0
  */
 public class LevelManager {
-    private static final String SAVE_FILE = "save.txt";
-    private static final String GAME_COMPLETED = "completed";
+    private static final String PROGRESS_FILE = "progress.sav";
+    private static final String LEGACY_SAVE_FILE = "save.txt";
+    private static final String LEVELS_INDEX = "levels/levels.txt";
+    private static final int HISTORY_SECONDS = Integer.getInteger("bomberman.historySeconds", 0);
+    private static final int AUTOSAVE_SECONDS = Integer.getInteger("bomberman.autosaveSeconds", 5);
+    private static final String QUICK_SAVE_FILE = "quicksave.sav";
+    private static final String AUTOSAVE_FILE = "autosave.sav";
     private final ArrayList<LevelStat> levels;
+    private final ExecutorService prefetchExecutor;
+    private final ExecutorService saveExecutor;
+    private final ConcurrentHashMap<String, WorldSave> saves;
+    private final AtomicReference<String> failedSave;
+    private final SessionRecorder sessionRecorder;
+    private final ProgressStore progress;
     private int currentLevel;
-    private boolean gameCompleted;
+    private CompletableFuture<World> prefetchedWorld;
+    private int prefetchedLevel;
 
     /**
-     * Vytvorí nový LevelManager, načíta úrovne a stav hry zo súboru.
+     * Vytvorí nový LevelManager, načíta úrovne a postup hry zo záznamu postupu.
      */
     public LevelManager() {
         this.currentLevel = 1;
-        this.gameCompleted = false;
+        this.prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.saveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.saves = new ConcurrentHashMap<>();
+        this.failedSave = new AtomicReference<>();
+        this.sessionRecorder = new SessionRecorder();
+
+        List<String> levelNames = loadLevelNames();
+        this.progress = ProgressStore.open(Path.of(PROGRESS_FILE), Path.of(LEGACY_SAVE_FILE), levelNames, this.saveExecutor);
 
         this.levels = new ArrayList<>();
-        this.levels.add(new LevelStat(new Level1(), Boolean.valueOf(false)));
-        this.levels.add(new LevelStat(new Level2()));
-        this.levels.add(new LevelStat(new Level3()));
+        for (String levelName : levelNames) {
+            World world = new World(levelName);
+            if (HISTORY_SECONDS > 0) {
+                world.setHistory(new WorldHistory(world, HISTORY_SECONDS));
+            }
+            this.levels.add(new LevelStat(world, Boolean.valueOf(!this.progress.isUnlocked(this.levels.size()))));
+        }
+    }
 
-        this.loadSave();
+    /**
+     * Načíta názvy všetkých úrovní zo zoznamu úrovní v poradí, v akom sa hrajú.
+     * Samotné súbory úrovní sa načítajú až pri prvom spustení úrovne.
+     * 
+     * @return Zoznam názvov úrovní
+     * @throws ResourcesLoadException ak sa zoznam úrovní nepodarí načítať
+     */
+    public static List<String> loadLevelNames() {
+        try (InputStream inputStream = LevelManager.class.getClassLoader().getResourceAsStream(LEVELS_INDEX)) {
+
+            if (inputStream == null) {
+                throw new IOException();
+            }
+
+            Scanner scanner = new Scanner(inputStream);
+            ArrayList<String> levelNames = new ArrayList<>();
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine().trim();
+                if (!line.isEmpty()) {
+                    levelNames.add(line);
+                }
+            }
+            return levelNames;
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while loading levels.");
+        }
     }
 
     /**
      * Načíta a inicializuje zvolenú úroveň podľa čísla.
+     * Ak bola úroveň vopred pripravená na pozadí, iba sa počká na jej dokončenie a prepne sa na ňu.
+     * Inak sa najprv počká na dokončenie rozbehnutej prípravy, aby sa svet neresetoval z dvoch vlákien naraz.
+     * Načítanie sa zaznamená ako udalosť JFR LevelLoadEvent. Ak je zapnuté nahrávanie, začne sa nový záznam hry.
      * 
      * @param level Číslo úrovne (1 = prvá úroveň)
      */
     public void loadLevel(int level) {
+        this.sessionRecorder.finish();
+        LevelLoadEvent event = new LevelLoadEvent();
+        event.begin();
+        CompletableFuture<World> prefetched = this.prefetchedWorld;
+        this.prefetchedWorld = null;
+        boolean prefetchedReady = false;
+
+        if (prefetched != null) {
+            try {
+                World world = prefetched.join();
+                if (this.prefetchedLevel == level) {
+                    world.gameTimer(true);
+                    prefetchedReady = true;
+                }
+            } catch (CompletionException _) {
+                // Príprava na pozadí zlyhala, úroveň sa načíta znova a prípadná chyba sa ohlási tu.
+            }
+        }
+
         this.currentLevel = level;
-        this.initLevel();
+        if (!prefetchedReady) {
+            this.initLevel();
+        }
+
+        event.levelName = this.getWorld().getLevelName();
+        event.source = prefetchedReady ? "prefetched" : "reset";
+        event.commit();
+
+        this.sessionRecorder.begin(this.getWorld());
+    }
+
+    /**
+     * Začne pripravovať zvolenú úroveň na pozadí – resetuje jej svet a načíta obrázky jej biomu.
+     * Časovače pripraveného sveta sú zastavené, kým sa úroveň nenačíta metódou loadLevel.
+     * 
+     * @param level Číslo úrovne (1 = prvá úroveň)
+     */
+    public void prefetchLevel(int level) {
+        if (level < 1 || level > this.levels.size() || level == this.currentLevel) {
+            return;
+        }
+        if (this.prefetchedWorld != null && this.prefetchedLevel == level) {
+            return;
+        }
+
+        World world = this.levels.get(level - 1).level();
+        this.prefetchedLevel = level;
+        this.prefetchedWorld = CompletableFuture.supplyAsync(() -> {
+            world.reset();
+            world.gameTimer(false);
+            Tile.preloadImages(world.getTemplate().getBiomeType());
+            return world;
+        }, this.prefetchExecutor);
     }
 
     /**
@@ -66,6 +185,74 @@ public class LevelManager {
         this.getWorld().reset();
     }
 
+    /**
+     * Reštartuje aktuálnu úroveň do počiatočného stavu bez opätovného načítania.
+     * Ak je zapnuté nahrávanie, začne sa nový záznam hry.
+     */
+    public void restartLevel() {
+        this.sessionRecorder.finish();
+        this.getWorld().restart();
+        this.sessionRecorder.begin(this.getWorld());
+    }
+
+    /**
+     * Vráti aktuálnu úroveň o daný počet sekúnd späť z histórie sveta, najviac po najstaršiu uchovanú snímku.
+     * Ak je zapnuté nahrávanie, záznam sa ukončí a nový začne od obnoveného stavu.
+     * 
+     * @param seconds Počet sekúnd hry
+     * @return true ak sa svet vrátil, false ak história nie je zapnutá alebo je prázdna
+     */
+    public boolean rewind(int seconds) {
+        World world = this.getWorld();
+        WorldHistory history = world.getHistory();
+        if (history == null || history.size() == 0) {
+            return false;
+        }
+        this.sessionRecorder.finish();
+        history.rewind((long)seconds * Settings.FPS);
+        this.sessionRecorder.begin(world);
+        return true;
+    }
+
+    /**
+     * Rýchlo uloží rozohranú aktuálnu úroveň. Stav sa zachytí hneď, súbor sa zapíše na pozadí.
+     */
+    public void quickSave() {
+        this.save(QUICK_SAVE_FILE);
+    }
+
+    /**
+     * Automaticky uloží rozohranú aktuálnu úroveň, ak od jej začiatku uplynul ďalší interval automatického ukladania.
+     * Volá sa po každom hernom kroku, prehratá hra sa neukladá.
+     */
+    public void autosave() {
+        World world = this.getWorld();
+        long interval = (long)AUTOSAVE_SECONDS * Settings.FPS;
+        if (interval > 0 && world.getTick() > 0 && world.getTick() % interval == 0 && !world.getPlayer().isFinished()) {
+            this.save(AUTOSAVE_FILE);
+        }
+    }
+
+    /**
+     * Načíta rýchlo uloženú úroveň.
+     * 
+     * @return true ak sa uloženie našlo a načítalo
+     * @throws ResourcesLoadException ak je uloženie poškodené
+     */
+    public boolean quickLoad() {
+        return this.load(QUICK_SAVE_FILE);
+    }
+
+    /**
+     * Načíta automaticky uloženú úroveň.
+     * 
+     * @return true ak sa uloženie našlo a načítalo
+     * @throws ResourcesLoadException ak je uloženie poškodené
+     */
+    public boolean loadAutosave() {
+        return this.load(AUTOSAVE_FILE);
+    }
+
     /**
      * Získa číslo aktuálnej úrovne.
      * 
@@ -81,7 +268,7 @@ public class LevelManager {
      * @return true ak je hra dokončená, inak false
      */
     public boolean isGameCompleted() {
-        return this.gameCompleted;
+        return this.progress.isGameCompleted();
     }
 
     /**
@@ -98,15 +285,14 @@ public class LevelManager {
     }
 
     /**
-     * Označí hru ako dokončenú a uloží tento stav do súboru.
+     * Označí hru ako dokončenú a uloží tento stav do záznamu postupu.
      */
     public void setGameCompleted() {
-        this.gameCompleted = true;
-        this.writeToSaveFile(GAME_COMPLETED);
+        this.progress.setGameCompleted();
     }
 
     /**
-     * Označí ďalšiu úroveň ako pripravenú na hranie a uloží tento stav do súboru.
+     * Označí ďalšiu úroveň ako pripravenú na hranie a uloží tento stav do záznamu postupu.
      * 
      * @param levelNumber Index úrovne (0 = prvá úroveň)
      */
@@ -115,44 +301,76 @@ public class LevelManager {
         if (levelStat.toPlay()) {
             World level = levelStat.level();
             this.levels.set(levelNumber, new LevelStat(level, Boolean.valueOf(false)));
-            this.writeToSaveFile(this.levels.get(levelNumber).level().getClass().getSimpleName());
+            this.progress.unlock(levelNumber);
         }
     }
 
     /**
-     * Načíta stav hry a úrovní zo súboru.
-     * Ak súbor neexistuje, vyhodí výnimku ResourcesLoadException.
+     * Získa a zabudne súbor, ktorého zápis na pozadí naposledy zlyhal – uloženie úrovne alebo záznam postupu.
+     * 
+     * @return Súbor neúspešného uloženia, null ak od posledného volania žiadny zápis nezlyhal
      */
-    private void loadSave() {
-        try (Scanner scanner = new Scanner(new File(SAVE_FILE))) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine().trim();
-                for (int i = 0; i < this.levels.size(); i++) {
-                    World level = this.levels.get(i).level();
-                    if (line.equals(GAME_COMPLETED)) {
-                        this.gameCompleted = true;
-                    } else if (line.equals(level.getClass().getSimpleName())) {
-                        this.levels.set(i, new LevelStat(level, Boolean.valueOf(false)));
-                    }
-                }
+    public String takeSaveFailure() {
+        String file = this.failedSave.getAndSet(null);
+        if (file == null && this.progress.takeWriteFailure()) {
+            file = PROGRESS_FILE;
+        }
+        return file;
+    }
 
+    /**
+     * Zachytí stav aktuálnej úrovne a zapíše ho do súboru na pozadí. Posledné uloženie každého súboru
+     * zostáva v pamäti, takže načítanie nečaká na disk ani na dokončenie zápisu.
+     * Ak zápis zlyhá, uloženie sa z pamäte odstráni (načítanie použije predošlé uloženie na disku)
+     * a súbor sa zaznamená, aby ho bolo možné ohlásiť metódou takeSaveFailure.
+     */
+    private void save(String file) {
+        WorldSave save = WorldSave.capture(this.getWorld());
+        this.saves.put(file, save);
+        this.saveExecutor.execute(() -> {
+            try {
+                save.write(Path.of(file));
+            } catch (IOException _) {
+                this.saves.remove(file, save);
+                this.failedSave.set(file);
             }
-        } catch (FileNotFoundException _) {
-            throw new ResourcesLoadException("Error while loading save.");
-        }
+        });
     }
 
     /**
-     * Zapíše textový záznam o stave hry do súboru.
-     * 
-     * @param text Text na zápis do súboru
+     * Načíta uloženú úroveň z pamäte alebo zo súboru. Ak je uložená iná úroveň ako aktuálna, najprv sa načíta ona.
+     * Stav sveta sa obnoví, história sveta sa vyprázdni a ak je zapnuté nahrávanie, začne sa nový záznam.
      */
-    private void writeToSaveFile(String text) {
-        try (FileWriter fileWriter = new FileWriter(SAVE_FILE, true)) {
-            fileWriter.write(text + System.lineSeparator());
-        } catch (IOException _) {
-            throw new ResourcesLoadException("Error while writing save.");
+    private boolean load(String file) {
+        WorldSave save = this.saves.get(file);
+        if (save == null) {
+            save = WorldSave.read(Path.of(file)).orElse(null);
+            if (save == null) {
+                return false;
+            }
+            this.saves.put(file, save);
+        }
+
+        int level = 0;
+        for (int i = 0; i < this.levels.size(); i++) {
+            if (this.levels.get(i).level().getLevelName().equals(save.levelName())) {
+                level = i + 1;
+            }
+        }
+        if (level == 0) {
+            throw new ResourcesLoadException("Unknown level " + save.levelName() + " in save " + file + ".");
+        }
+        if (level != this.currentLevel) {
+            this.loadLevel(level);
         }
-    }
 
-}
\ No newline at end of file
+        World world = this.getWorld();
+        this.sessionRecorder.finish();
+        save.restore(world);
+        if (world.getHistory() != null) {
+            world.getHistory().clear();
+        }
+        this.sessionRecorder.begin(world);
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package world;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Udalosť JFR načítania predlohy úrovne zo súboru pri jej prvom použití.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@Name("bomberman.LevelParse")
+@Label("Level Parse")
+@Category({"Bomberman", "World"})
+@Description("Level template load from a compiled or text file")
+final class LevelParseEvent extends Event {
+    @Label("Level Name")
+    String levelName;
+
+    @Label("Source")
+    @Description("compiled or text")
+    String source;
+}
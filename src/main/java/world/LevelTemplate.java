@@ -0,0 +1,393 @@
+package world;
+
+import entity.EntityType;
+import objects.hiddenITem.EHiddenItem;
+import utils.GameRandom;
+import utils.GridPosition;
+import utils.ResourcesLoadException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Trieda LevelTemplate reprezentuje nemennú predlohu úrovne – mapu a definíciu entít a pravdepodobností.
+ * Predloha sa načíta zo skompilovaného binárneho súboru úrovne, ak existuje, inak z textového súboru úrovne.
+ * Každá úroveň sa načíta iba raz, predloha je zdieľaná všetkými svetmi s rovnakou úrovňou.
+ * Živé svety nad ňou vytvárajú pohľady s kópiou pri zápise, ktoré ukladajú iba zmeny.
+ * Predloha streamovanej úrovne neobsahuje mriežku, iba nemenný popis mapy, z ktorého si každý svet vytvorí
+ * vlastnú streamovanú mapu.
+ *
+ * Textový súbor úrovne obsahuje biom, rozmery a riadky mapy, za ktorými nasleduje obsah úrovne, jeden záznam na riadok:
+ * - player riadok stĺpec [dynamity]
+ * - slime riadok stĺpec riadok,stĺpec ... (hliadková cesta)
+ * - goblin riadok stĺpec dĺžkaCesty, vampire riadok stĺpec dĺžkaCesty
+ * - kills TYP počet ... (podmienky dokončenia)
+ * - hidden-chance pravdepodobnosť, hidden-items TYP pravdepodobnosť ... (skryté predmety)
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public final class LevelTemplate {
+    private static final ConcurrentHashMap<String, LevelTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String levelName;
+    private final BiomeType biomeType;
+    private final int rows;
+    private final int cols;
+    private final TileGrid grid;
+    private final StreamedMap streamedMap;
+    private final GridPosition keyPosition;
+    private final GridPosition doorPosition;
+    private final LevelDefinition definition;
+
+    /**
+     * Vytvorí predlohu z už naplnenej mriežky a definície úrovne.
+     *
+     * @param levelName Názov úrovne
+     * @param biomeType Typ biomu
+     * @param grid Mriežka mapy, ktorá sa po vytvorení predlohy už nesmie meniť
+     * @param keyPosition Pozícia kľúča
+     * @param doorPosition Pozícia dverí
+     * @param definition Definícia entít a pravdepodobností, ktorá sa po vytvorení predlohy už nesmie meniť
+     */
+    LevelTemplate(String levelName, BiomeType biomeType, TileGrid grid, GridPosition keyPosition, GridPosition doorPosition, LevelDefinition definition) {
+        this(levelName, biomeType, grid.getRows(), grid.getCols(), grid, null, keyPosition, doorPosition, definition);
+    }
+
+    /**
+     * Vytvorí predlohu streamovanej úrovne z popisu mapy a definície úrovne.
+     *
+     * @param levelName Názov úrovne
+     * @param biomeType Typ biomu
+     * @param streamedMap Popis streamovanej mapy
+     * @param keyPosition Pozícia kľúča
+     * @param doorPosition Pozícia dverí
+     * @param definition Definícia entít a pravdepodobností, ktorá sa po vytvorení predlohy už nesmie meniť
+     */
+    LevelTemplate(String levelName, BiomeType biomeType, StreamedMap streamedMap, GridPosition keyPosition, GridPosition doorPosition, LevelDefinition definition) {
+        this(levelName, biomeType, streamedMap.rows(), streamedMap.cols(), null, streamedMap, keyPosition, doorPosition, definition);
+    }
+
+    private LevelTemplate(String levelName, BiomeType biomeType, int rows, int cols, TileGrid grid, StreamedMap streamedMap,
+                          GridPosition keyPosition, GridPosition doorPosition, LevelDefinition definition) {
+        this.levelName = levelName;
+        this.biomeType = biomeType;
+        this.rows = rows;
+        this.cols = cols;
+        this.grid = grid;
+        this.streamedMap = streamedMap;
+        this.keyPosition = keyPosition;
+        this.doorPosition = doorPosition;
+        this.definition = definition;
+    }
+
+    /**
+     * Získa predlohu úrovne podľa názvu. Úroveň sa načíta iba pri prvom použití –
+     * zo skompilovaného súboru, ak existuje, inak z textového súboru úrovne.
+     * Načítanie sa zaznamená ako udalosť JFR LevelParseEvent.
+     *
+     * @param levelName Názov úrovne (súboru)
+     * @return Zdieľaná predloha úrovne
+     * @throws ResourcesLoadException ak sa súbor nepodarí načítať
+     */
+    public static LevelTemplate of(String levelName) {
+        return CACHE.computeIfAbsent(levelName, name -> {
+            LevelParseEvent event = new LevelParseEvent();
+            event.begin();
+            Optional<LevelTemplate> compiled = LevelCodec.loadCompiled(name);
+            LevelTemplate template = compiled.orElseGet(() -> fromText(name));
+            event.levelName = name;
+            event.source = compiled.isPresent() ? "compiled" : "text";
+            event.commit();
+            return template;
+        });
+    }
+
+    /**
+     * Načíta predlohu vždy z textového súboru úrovne (bez vyrovnávacej pamäte), napr. pre kompilátor úrovní.
+     *
+     * @param levelName Názov úrovne (súboru)
+     * @return Nová predloha
+     * @throws ResourcesLoadException ak sa súbor nepodarí načítať
+     */
+    public static LevelTemplate fromText(String levelName) {
+        return loadFromFile(levelName);
+    }
+
+    /**
+     * Vytvorí nový živý pohľad na mapu predlohy, ktorý ukladá iba zmeny.
+     * Pre streamovanú úroveň sa vytvorí nová streamovaná mapa s vlastnými chunkami a adresárom zmien,
+     * pohľady iných svetov tak zostanú nedotknuté.
+     *
+     * @return Živá mapa úrovne v pôvodnom stave
+     */
+    public LevelView createView() {
+        if (this.streamedMap != null) {
+            return this.streamedMap.createView();
+        }
+        return new CopyOnWriteTileGrid(this.grid);
+    }
+
+    /**
+     * Získa názov úrovne.
+     *
+     * @return Názov úrovne
+     */
+    public String getLevelName() {
+        return this.levelName;
+    }
+
+    /**
+     * Získa typ biomu úrovne.
+     *
+     * @return Typ biomu
+     */
+    public BiomeType getBiomeType() {
+        return this.biomeType;
+    }
+
+    /**
+     * Získa počet riadkov mapy.
+     *
+     * @return Počet riadkov
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Získa počet stĺpcov mapy.
+     *
+     * @return Počet stĺpcov
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * Získa pozíciu kľúča.
+     *
+     * @return Pozícia kľúča v mriežke
+     */
+    public GridPosition getKeyPosition() {
+        return this.keyPosition;
+    }
+
+    /**
+     * Získa pozíciu dverí.
+     *
+     * @return Pozícia dverí v mriežke
+     */
+    public GridPosition getDoorPosition() {
+        return this.doorPosition;
+    }
+
+    /**
+     * Získa popisy entít úrovne.
+     *
+     * @return Nemodifikovateľný zoznam popisov entít
+     */
+    public List<EntitySpawn> getSpawns() {
+        return this.definition.getSpawns();
+    }
+
+    /**
+     * Získa požadované počty zabití nepriateľov podľa typu.
+     *
+     * @return Nemodifikovateľná mapa požadovaných zabití
+     */
+    public Map<EntityType, Integer> getRequiredEnemyKills() {
+        return this.definition.getRequiredEnemyKills();
+    }
+
+    /**
+     * Získa celkovú pravdepodobnosť výskytu skrytého predmetu.
+     *
+     * @return Pravdepodobnosť (0.0 - 1.0)
+     */
+    public double getHiddenItemSpawnChance() {
+        return this.definition.getHiddenItemSpawnChance();
+    }
+
+    /**
+     * Získa pravdepodobnosti výskytu jednotlivých skrytých predmetov.
+     *
+     * @return Nemodifikovateľná mapa pravdepodobností
+     */
+    public Map<EHiddenItem, Double> getHiddenItemsSpawnChances() {
+        return this.definition.getHiddenItemsSpawnChances();
+    }
+
+    /**
+     * Zapíše vrstvy mapy predlohy (napr. pre zápis skompilovanej úrovne). Streamovaná mapa sa zapíše
+     * cez dočasný pohľad, ktorý sa potom zahodí.
+     */
+    void writeLayers(ByteBuffer target) {
+        if (this.streamedMap == null) {
+            this.grid.writeLayers(target);
+            return;
+        }
+        LevelView view = this.streamedMap.createView();
+        try {
+            view.writeLayers(target);
+        } finally {
+            view.discard();
+        }
+    }
+
+    /**
+     * Načíta predlohu úrovne zo súboru podľa názvu úrovne.
+     *
+     * @param levelName Názov úrovne
+     * @return Načítaná predloha
+     * @throws ResourcesLoadException ak sa súbor nepodarí načítať
+     */
+    private static LevelTemplate loadFromFile(String levelName) {
+        String path = String.format("levels/%s.txt", levelName);
+        try (InputStream inputStream = LevelTemplate.class.getClassLoader().getResourceAsStream(path)) {
+
+            if (inputStream == null) {
+                throw new IOException();
+            }
+
+            Scanner scanner = new Scanner(inputStream);
+            ArrayList<String> lines = new ArrayList<>();
+            while (scanner.hasNextLine()) {
+                lines.add(scanner.nextLine().trim());
+            }
+            return createTemplate(levelName, lines);
+        } catch (IOException e) {
+            throw new ResourcesLoadException("Map with name " + levelName + "cant load.");
+        }
+    }
+
+    /**
+     * Vytvorí predlohu úrovne na základe zoznamu riadkov zo súboru.
+     * Varianty dlaždíc sa losujú zo semena odvodeného z bajtov názvu úrovne, takže rovnaká úroveň vyzerá vždy rovnako.
+     *
+     * @param levelName Názov úrovne
+     * @param lines Zoznam riadkov súboru úrovne
+     * @return Nová predloha
+     */
+    private static LevelTemplate createTemplate(String levelName, ArrayList<String> lines) {
+        BiomeType biomeType = BiomeType.valueOf(lines.getFirst());
+
+        String[] dimensions = lines.get(1).split(" ");
+
+        int rows = Integer.parseInt(dimensions[0]);
+        int cols = Integer.parseInt(dimensions[1]);
+
+        TileGrid grid = TileGrid.create(rows, cols);
+        GameRandom random = new GameRandom(variantSeed(levelName));
+        GridPosition keyPosition = null;
+        GridPosition doorPosition = null;
+
+        for (int row = 0; row < rows; row++) {
+            String line = lines.get(row + 2);
+            for (int col = 0; col < cols; col++) {
+                char tileChar = line.charAt(col);
+
+                TileType type = switch (tileChar) {
+                    case '#' -> TileType.WALL;
+                    case '+' -> TileType.CRACKED_WALL;
+                    case '.' -> TileType.GROUND;
+                    case 'K' -> {
+                        keyPosition = new GridPosition(row, col);
+                        yield TileType.CRACKED_WALL;
+                    }
+                    case 'D' -> {
+                        doorPosition = new GridPosition(row, col);
+                        yield TileType.GROUND;
+                    }
+                    default -> null;
+                };
+
+                if (type != null) {
+                    grid.setType(row, col, type);
+                    grid.setVariant(row, col, type.randomVariant(random));
+                }
+
+            }
+        }
+
+        LevelDefinition definition = new LevelDefinition();
+        for (int i = rows + 2; i < lines.size(); i++) {
+            if (!lines.get(i).isEmpty()) {
+                parseDefinitionLine(levelName, lines.get(i), definition);
+            }
+        }
+
+        return new LevelTemplate(levelName, biomeType, grid, keyPosition, doorPosition, definition);
+    }
+
+    /**
+     * Vypočíta semeno variantov dlaždíc ako kontrolný súčet CRC32 názvu úrovne v UTF-8,
+     * ktorý na rozdiel od String.hashCode nezávisí od implementácie reťazcov.
+     */
+    private static long variantSeed(String levelName) {
+        CRC32 crc = new CRC32();
+        crc.update(levelName.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    /**
+     * Spracuje jeden záznam obsahu úrovne a pridá ho do definície.
+     *
+     * @param levelName Názov úrovne (pre chybové hlásenie)
+     * @param line Riadok so záznamom
+     * @param definition Definícia úrovne na naplnenie
+     * @throws ResourcesLoadException ak záznam nie je platný
+     */
+    private static void parseDefinitionLine(String levelName, String line, LevelDefinition definition) {
+        String[] parts = line.split("\\s+");
+        try {
+            switch (parts[0]) {
+                case "player" -> {
+                    if (parts.length > 3) {
+                        definition.setPlayer(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+                    } else {
+                        definition.setPlayer(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                    }
+                }
+                case "slime" -> {
+                    ArrayList<GridPosition> path = new ArrayList<>();
+                    for (int i = 3; i < parts.length; i++) {
+                        String[] point = parts[i].split(",");
+                        path.add(new GridPosition(Integer.parseInt(point[0]), Integer.parseInt(point[1])));
+                    }
+                    definition.addSlime(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), path);
+                }
+                case "goblin" -> definition.addGoblin(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+                case "vampire" -> definition.addVampire(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+                case "kills" -> {
+                    EnumMap<EntityType, Integer> conditions = new EnumMap<>(EntityType.class);
+                    for (int i = 1; i + 1 < parts.length; i += 2) {
+                        conditions.put(EntityType.valueOf(parts[i]), Integer.valueOf(parts[i + 1]));
+                    }
+                    definition.setLevelCompletionConditions(conditions);
+                }
+                case "hidden-chance" -> definition.setHiddenItemSpawnChance(Double.parseDouble(parts[1]));
+                case "hidden-items" -> {
+                    EnumMap<EHiddenItem, Double> spawnChances = new EnumMap<>(EHiddenItem.class);
+                    for (int i = 1; i + 1 < parts.length; i += 2) {
+                        spawnChances.put(EHiddenItem.valueOf(parts[i]), Double.valueOf(parts[i + 1]));
+                    }
+                    definition.setHiddenItemsSpawnChances(spawnChances);
+                }
+                default -> throw new IllegalArgumentException();
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException _) {
+            throw new ResourcesLoadException("Level " + levelName + " has invalid entry: " + line);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package world;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * Rozhranie LevelView reprezentuje živú mapu hraného sveta, ktorú je možné vrátiť do pôvodného stavu úrovne.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public interface LevelView extends TileGrid {
+    /**
+     * Vráti mapu do pôvodného stavu úrovne (zruší všetky zmeny).
+     */
+    void revert();
+
+    /**
+     * Uvoľní prostriedky pohľadu, keď ho svet prestane používať (napr. uložené zmeny na disku).
+     * Pohľad sa potom už nesmie používať.
+     */
+    default void discard() {
+    }
+
+    /**
+     * Zapíše zmeny mapy oproti pôvodnému stavu úrovne pre snímku sveta.
+     * Formát: počet zmenených dlaždíc (int), pre každú riadok, stĺpec (int), typ a variant (byte).
+     * Obsadenosť sa nezapisuje, obnoví sa pridaním objektov.
+     *
+     * @param output Cieľ zápisu
+     * @throws IOException ak zápis zlyhá
+     */
+    void writeChanges(DataOutput output) throws IOException;
+
+    /**
+     * Vráti mapu do pôvodného stavu úrovne a použije zmeny zapísané metódou writeChanges.
+     *
+     * @param input Zdroj zmien
+     * @throws IOException ak čítanie zlyhá
+     */
+    default void readChanges(DataInput input) throws IOException {
+        this.revert();
+        int count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            int row = input.readInt();
+            int col = input.readInt();
+            this.setType(row, col, TileType.values()[input.readUnsignedByte()]);
+            this.setVariant(row, col, input.readUnsignedByte());
+        }
+    }
+
+    /**
+     * Pridá stav mapy do kontrolného súčtu sveta – pre každú dlaždicu riadok, stĺpec, typ a obsadenosť.
+     *
+     * @param checksum Kontrolný súčet sveta
+     */
+    default void updateChecksum(Checksum checksum) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 5);
+        for (int row = 0; row < this.getRows(); row++) {
+            for (int col = 0; col < this.getCols(); col++) {
+                buffer.clear();
+                buffer.putInt(row).putInt(col).putInt(this.getType(row, col).ordinal()).putInt(this.getOccupancy(row, col)).putInt(0);
+                checksum.update(buffer.array());
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package world;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Trieda OffHeapTileGrid uchováva vrstvy mapy mimo haldy v jednom MemorySegment-e.
+ * Pamäť nie je prehľadávaná garbage collectorom, preto je vhodná pre veľmi veľké mapy.
+ * Segment je rozdelený na tri za sebou idúce vrstvy: typy dlaždíc a varianty obrázkov (po bajte)
+ * a obsadenosť (po dvoch bajtoch).
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class OffHeapTileGrid implements TileGrid {
+    private static final TileType[] TYPES = TileType.values();
+    private static final VarHandle BYTE = ValueLayout.JAVA_BYTE.varHandle();
+
+    private final int rows;
+    private final int cols;
+    private final long layerSize;
+    private final MemorySegment segment;
+
+    /**
+     * Vytvorí novú mriežku so zadanými rozmermi.
+     * Pamäť je uvoľnená automaticky, keď mriežka prestane byť dosiahnuteľná.
+     *
+     * @param rows Počet riadkov
+     * @param cols Počet stĺpcov
+     */
+    public OffHeapTileGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.layerSize = (long)rows * cols;
+        this.segment = Arena.ofAuto().allocate(this.layerSize * 4, Short.BYTES);
+    }
+
+    @Override
+    public int getRows() {
+        return this.rows;
+    }
+
+    @Override
+    public int getCols() {
+        return this.cols;
+    }
+
+    @Override
+    public TileType getType(int row, int col) {
+        return TYPES[this.get(0, row, col)];
+    }
+
+    @Override
+    public void setType(int row, int col, TileType type) {
+        this.set(0, row, col, type.ordinal());
+    }
+
+    @Override
+    public int getVariant(int row, int col) {
+        return this.get(1, row, col);
+    }
+
+    @Override
+    public void setVariant(int row, int col, int variant) {
+        this.set(1, row, col, variant);
+    }
+
+    @Override
+    public int getOccupancy(int row, int col) {
+        return this.segment.get(ValueLayout.JAVA_SHORT, this.occupancyOffset(row, col));
+    }
+
+    @Override
+    public void setOccupancy(int row, int col, int occupancy) {
+        this.segment.set(ValueLayout.JAVA_SHORT, this.occupancyOffset(row, col), (short)Objects.checkIndex(occupancy, MAX_OCCUPANCY + 1));
+    }
+
+    /**
+     * Skopíruje vrstvy priamo zo zdrojového buffera do segmentu bez medzikópie na halde.
+     */
+    @Override
+    public void readLayers(ByteBuffer source) {
+        MemorySegment.copy(MemorySegment.ofBuffer(source), 0, this.segment, 0, this.layerSize * 2);
+        source.position(source.position() + (int)(this.layerSize * 2));
+    }
+
+    @Override
+    public void writeLayers(ByteBuffer target) {
+        MemorySegment.copy(this.segment, 0, MemorySegment.ofBuffer(target), 0, this.layerSize * 2);
+        target.position(target.position() + (int)(this.layerSize * 2));
+    }
+
+    /**
+     * Získa pohľad na celú pamäť mriežky len na čítanie, napr. pre pracovné vlákna.
+     *
+     * @return Segment len na čítanie
+     */
+    public MemorySegment asReadOnlySegment() {
+        return this.segment.asReadOnly();
+    }
+
+    /**
+     * Prečíta bajt z danej vrstvy.
+     */
+    private int get(int layer, int row, int col) {
+        return (byte)BYTE.get(this.segment, this.offset(layer, row, col));
+    }
+
+    /**
+     * Zapíše bajt do danej vrstvy.
+     */
+    private void set(int layer, int row, int col, int value) {
+        BYTE.set(this.segment, this.offset(layer, row, col), (byte)value);
+    }
+
+    /**
+     * Vypočíta posun obsadenosti bunky, vrstva obsadenosti nasleduje za vrstvami typov a variantov.
+     */
+    private long occupancyOffset(int row, int col) {
+        return 2 * this.layerSize + Short.BYTES * (this.offset(0, row, col));
+    }
+
+    /**
+     * Vypočíta posun bunky v segmente po kontrole hraníc.
+     */
+    private long offset(int layer, int row, int col) {
+        Objects.checkIndex(row, this.rows);
+        Objects.checkIndex(col, this.cols);
+        return layer * this.layerSize + (long)row * this.cols + col;
+    }
+}
@@ -0,0 +1,256 @@
+package world;
+
+import utils.ResourcesLoadException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+/**
+ * Trieda ProgressStore uchováva postup hráča – odomknuté úrovne a dokončenie hry – v binárnom zázname
+ * pevnej veľkosti. Pri spustení sa záznam načíta jedným malým čítaním. Zmeny sa zapisujú na pozadí:
+ * viac zmien tesne za sebou (napr. odomknutie úrovne a dokončenie hry) sa zapíše jedným zápisom
+ * do dočasného súboru, ktorý sa atomicky premenuje, takže záznam nie je nikdy neúplný.
+ * Neuložené zmeny sa zapíšu aj pri ukončení aplikácie. Zlyhaný zápis na pozadí sa zaznamená (zmeny zostanú
+ * neuložené a zapíšu sa pri ďalšej zmene) a dá sa ohlásiť metódou takeWriteFailure.
+ * Ak záznam neexistuje, postup sa jednorazovo prevezme zo starého textového súboru uložení (save.txt),
+ * ak neexistuje ani ten, začína sa s odomknutou prvou úrovňou.
+ *
+ * Formát (big-endian, 19 bajtov):
+ * - magické číslo "BMPG" (int), verzia (short), príznaky (byte, bit 0 = hra dokončená)
+ * - odomknuté úrovne (long, bit i = úroveň i v poradí zoznamu úrovní)
+ * - kontrolný súčet CRC32 predošlých bajtov (int)
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class ProgressStore {
+    public static final int MAX_LEVELS = Long.SIZE;
+    private static final int MAGIC = 0x424D5047;
+    private static final short VERSION = 1;
+    private static final int RECORD_SIZE = 4 + 2 + 1 + 8 + 4;
+    private static final int GAME_COMPLETED_FLAG = 1;
+    private static final String LEGACY_GAME_COMPLETED = "completed";
+    private static final String LEGACY_LEVEL_PREFIX = "Level";
+
+    private final Path path;
+    private final Executor executor;
+    private long unlockedLevels;
+    private boolean gameCompleted;
+    private boolean dirty;
+    private boolean writeScheduled;
+    private boolean writeFailed;
+
+    /**
+     * Načíta postup zo záznamu, alebo ho prevezme zo starého súboru uložení.
+     */
+    private ProgressStore(Path path, Path legacyPath, List<String> levelNames, Executor executor) {
+        this.path = path;
+        this.executor = executor;
+        this.unlockedLevels = 1;
+        if (!this.read()) {
+            this.migrate(legacyPath, levelNames);
+        }
+    }
+
+    /**
+     * Načíta postup zo záznamu, alebo ho prevezme zo starého súboru uložení, a zaregistruje zápis
+     * neuložených zmien pri ukončení aplikácie.
+     *
+     * @param path Súbor záznamu postupu
+     * @param legacyPath Starý textový súbor uložení
+     * @param levelNames Názvy úrovní v poradí, v akom sa hrajú
+     * @param executor Vlákno, na ktorom sa záznam zapisuje
+     * @return Načítaný postup
+     * @throws ResourcesLoadException ak je záznam poškodený alebo sa nedá prečítať
+     */
+    public static ProgressStore open(Path path, Path legacyPath, List<String> levelNames, Executor executor) {
+        ProgressStore store = new ProgressStore(path, legacyPath, levelNames, executor);
+        Runtime.getRuntime().addShutdownHook(new Thread(store::flush, "progress-flush"));
+        return store;
+    }
+
+    /**
+     * Zistí, či je úroveň odomknutá. Prvá úroveň je odomknutá vždy.
+     *
+     * @param index Index úrovne (0 = prvá úroveň)
+     * @return true ak je úroveň odomknutá
+     */
+    public synchronized boolean isUnlocked(int index) {
+        return index < MAX_LEVELS && (this.unlockedLevels & (1L << index)) != 0;
+    }
+
+    /**
+     * Odomkne úroveň a naplánuje zápis záznamu. Úrovne za MAX_LEVELS sa neukladajú.
+     *
+     * @param index Index úrovne (0 = prvá úroveň)
+     */
+    public synchronized void unlock(int index) {
+        if (index < MAX_LEVELS && !this.isUnlocked(index)) {
+            this.unlockedLevels |= 1L << index;
+            this.scheduleWrite();
+        }
+    }
+
+    /**
+     * Zistí, či je hra dokončená.
+     *
+     * @return true ak hráč prešiel všetky úrovne
+     */
+    public synchronized boolean isGameCompleted() {
+        return this.gameCompleted;
+    }
+
+    /**
+     * Označí hru ako dokončenú a naplánuje zápis záznamu.
+     */
+    public synchronized void setGameCompleted() {
+        if (!this.gameCompleted) {
+            this.gameCompleted = true;
+            this.scheduleWrite();
+        }
+    }
+
+    /**
+     * Zapíše neuložené zmeny hneď na aktuálnom vlákne.
+     *
+     * @throws ResourcesLoadException ak zápis zlyhá
+     */
+    public synchronized void flush() {
+        if (!this.dirty) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        buffer.putInt(MAGIC).putShort(VERSION);
+        buffer.put((byte)(this.gameCompleted ? GAME_COMPLETED_FLAG : 0));
+        buffer.putLong(this.unlockedLevels);
+        buffer.putInt((int)checksum(buffer.array(), RECORD_SIZE - 4));
+
+        try {
+            Path directory = this.path.toAbsolutePath().getParent();
+            Path temporary = Files.createTempFile(directory, this.path.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, buffer.array());
+                Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while writing save.");
+        }
+        this.dirty = false;
+    }
+
+    /**
+     * Zistí a zabudne, či od posledného volania zlyhal zápis záznamu na pozadí.
+     *
+     * @return true ak zápis zlyhal
+     */
+    public synchronized boolean takeWriteFailure() {
+        boolean failed = this.writeFailed;
+        this.writeFailed = false;
+        return failed;
+    }
+
+    /**
+     * Označí záznam ako zmenený a naplánuje jeho zápis, ak ešte nie je naplánovaný.
+     * Zápis uloží stav platný v čase, keď sa vykoná, takže zahrnie aj neskoršie zmeny.
+     * Výnimka zápisu sa na vlákne zápisu nevyhodí, iba sa zaznamená.
+     */
+    private void scheduleWrite() {
+        this.dirty = true;
+        if (this.writeScheduled) {
+            return;
+        }
+        this.writeScheduled = true;
+        this.executor.execute(() -> {
+            synchronized (this) {
+                this.writeScheduled = false;
+                try {
+                    this.flush();
+                } catch (ResourcesLoadException _) {
+                    this.writeFailed = true;
+                }
+            }
+        });
+    }
+
+    /**
+     * Načíta záznam jedným čítaním.
+     *
+     * @return true ak záznam existuje, false ak neexistuje
+     */
+    private boolean read() {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            if (channel.size() != RECORD_SIZE || channel.read(buffer, 0) != RECORD_SIZE) {
+                throw new ResourcesLoadException("Error while loading save.");
+            }
+        } catch (NoSuchFileException _) {
+            return false;
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while loading save.");
+        }
+
+        buffer.flip();
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION
+                || buffer.getInt(RECORD_SIZE - 4) != (int)checksum(buffer.array(), RECORD_SIZE - 4)) {
+            throw new ResourcesLoadException("Error while loading save.");
+        }
+        this.gameCompleted = (buffer.get() & GAME_COMPLETED_FLAG) != 0;
+        this.unlockedLevels = buffer.getLong() | 1;
+        return true;
+    }
+
+    /**
+     * Prevezme postup zo starého textového súboru uložení, v ktorom je na každom riadku názov odomknutej úrovne,
+     * starší názov triedy úrovne (Level1, ...) alebo príznak dokončenia hry. Súbor sa prejde jedenkrát,
+     * prevzatý postup sa hneď zapíše do nového záznamu. Ak starý súbor neexistuje, postup zostane počiatočný.
+     */
+    private void migrate(Path legacyPath, List<String> levelNames) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(legacyPath, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException _) {
+            return;
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while loading save.");
+        }
+
+        HashMap<String, Integer> levelIndexes = new HashMap<>();
+        for (int i = 0; i < levelNames.size(); i++) {
+            levelIndexes.put(levelNames.get(i), Integer.valueOf(i));
+            levelIndexes.put(LEGACY_LEVEL_PREFIX + (i + 1), Integer.valueOf(i));
+        }
+        for (String line : lines) {
+            String entry = line.trim();
+            Integer index = levelIndexes.get(entry);
+            if (entry.equals(LEGACY_GAME_COMPLETED)) {
+                this.setGameCompleted();
+            } else if (index != null) {
+                this.unlock(index.intValue());
+            }
+        }
+        this.dirty = true;
+        this.flush();
+    }
+
+    /**
+     * Vypočíta kontrolný súčet CRC32 začiatku poľa.
+     */
+    private static long checksum(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return crc.getValue();
+    }
+}
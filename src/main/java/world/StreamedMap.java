@@ -0,0 +1,41 @@
+package world;
+
+import utils.ResourcesLoadException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Záznam StreamedMap je nemenná predloha streamovanej mapy – rozmery, delenie na chunky a zdroj ich obsahu.
+ * Predloha sama nemá žiadny stav, každý svet nad ňou dostane vlastnú streamovanú mapu.
+ *
+ * @param rows Počet riadkov celej mapy
+ * @param cols Počet stĺpcov celej mapy
+ * @param chunkSize Počet riadkov a stĺpcov jedného chunku
+ * @param maxLoadedChunks Najväčší počet chunkov v pamäti jedného pohľadu
+ * @param source Zdroj obsahu chunkov
+ * @param storeRoot Adresár, v ktorom má každý pohľad vlastný podadresár so zmenenými chunkami
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+record StreamedMap(int rows, int cols, int chunkSize, int maxLoadedChunks, ChunkSource source, Path storeRoot) {
+
+    /**
+     * Vytvorí novú streamovanú mapu v pôvodnom stave s vlastnými chunkami v pamäti, obsadenosťou
+     * a novým prázdnym adresárom na ukladanie zmenených chunkov.
+     *
+     * @return Nový pohľad na mapu
+     * @throws ResourcesLoadException ak sa adresár nepodarí vytvoriť
+     */
+    ChunkedTileGrid createView() {
+        try {
+            Files.createDirectories(this.storeRoot);
+            Path storeDirectory = Files.createTempDirectory(this.storeRoot, "view");
+            return new ChunkedTileGrid(this.rows, this.cols, this.chunkSize, this.maxLoadedChunks, this.source, storeDirectory);
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while creating chunk store in " + this.storeRoot + ".");
+        }
+    }
+}
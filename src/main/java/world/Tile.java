@@ -1,101 +1,148 @@
 package world;
 
-import java.awt.Graphics;
 import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import utils.GridPosition;
 import utils.Settings;
+import utils.RenderSnapshot;
 
 /**
  * Trieda reprezentuje jednu dlaždicu na hernej mape.
- * Uchováva informácie o type dlaždice, pozícii v mriežke, obrázku a biome.
- * 
+ * Je to ľahký pohľad na bunku mriežky – typ a variant dlaždice sú uložené v TileGrid,
+ * obrázky sú zdieľané medzi všetkými dlaždicami rovnakého typu, variantu a biomu.
+ *
  * @author Tomáš Ďurovec
  * @version 1.0
  */
 public class Tile {
-    private TileType tileType;
-    private BufferedImage image;
-    private final GridPosition gridPosition;
+    private static final int MAX_VARIANTS = 4;
+    private static final int TYPE_COUNT = TileType.values().length;
+    private static final AtomicReferenceArray<BufferedImage> IMAGES = new AtomicReferenceArray<>(BiomeType.values().length * TYPE_COUNT * MAX_VARIANTS);
+
+    private final TileGrid grid;
+    private final int row;
+    private final int col;
     private final BiomeType biomeType;
 
     /**
-     * Vytvorí novú dlaždicu na zadaných súradniciach s daným typom a biomom.
-     * 
-     * @param gridPosition Pozícia dlaždice v mriežke
-     * @param tileType Typ dlaždice
+     * Vytvorí pohľad na dlaždicu mriežky na zadaných súradniciach.
+     *
+     * @param grid Mriežka mapy
+     * @param row Riadok
+     * @param col Stĺpec
      * @param biomeType Typ biomu (napr. les, púšť)
      */
-    public Tile(GridPosition gridPosition, TileType tileType, BiomeType biomeType) {
-        this.tileType = tileType;
-        this.gridPosition = gridPosition;
+    public Tile(TileGrid grid, int row, int col, BiomeType biomeType) {
+        this.grid = grid;
+        this.row = row;
+        this.col = col;
         this.biomeType = biomeType;
-        this.loadImage();
+    }
+
+    /**
+     * Vopred načíta obrázky všetkých typov a variantov dlaždíc daného biomu,
+     * aby prvé vykreslenie úrovne nemuselo čakať na dekódovanie obrázkov.
+     *
+     * @param biomeType Typ biomu
+     */
+    public static void preloadImages(BiomeType biomeType) {
+        for (TileType type : TileType.values()) {
+            for (int variant = 1; variant <= type.getVariantCount(); variant++) {
+                getImage(biomeType, type, variant);
+            }
+        }
     }
 
     /**
      * Vykreslí dlaždicu na zadané súradnice.
-     * 
-     * @param g Grafický kontext
-     * @param x X-ová súradnica na obrazovke
-     * @param y Y-ová súradnica na obrazovke
+     *
+     * @param g Záznam snímky, do ktorého sa vykresľuje
+     * @param x X-ová súradnica v hernom svete
+     * @param y Y-ová súradnica v hernom svete
      */
-    public void render(Graphics g, int x, int y) {
-        g.drawImage(this.image, x, y, null);
+    public void render(RenderSnapshot.Builder g, int x, int y) {
+        g.drawWorldImage(this.getImage(), x, y);
     }
 
     /**
      * Získa pozíciu dlaždice v mriežke.
-     * 
+     *
      * @return Pozícia v mriežke
      */
     public GridPosition getGridPosition() {
-        return this.gridPosition;
+        return new GridPosition(this.row, this.col);
     }
 
     /**
      * Zistí, či dlaždica spôsobuje kolíziu.
-     * 
+     *
      * @return true ak spôsobuje kolíziu, inak false
      */
     public boolean isCollide() {
-        return this.tileType.isCollide();
+        return this.getType().isCollide();
     }
 
     /**
      * Zistí, či je dlaždica typu voľná plocha (GROUND).
-     * 
+     *
      * @return true ak je dlaždica voľná plocha, inak false
      */
     public boolean isGround() {
-        return this.tileType == TileType.GROUND;
+        return this.getType() == TileType.GROUND;
     }
 
     /**
      * Zistí, či je dlaždica zničiteľná.
-     * 
+     *
      * @return true ak je zničiteľná, inak false
      */
     public boolean isDestructible() {
-        return this.tileType.isDestructible();
+        return this.getType().isDestructible();
     }
 
     /**
-     * Zmení rozbitnú stenu na voľnú plochu a načíta nový obrázok.
+     * Zmení rozbitnú stenu na voľnú plochu.
      */
     public void destructCrackedWall() {
-        this.tileType = TileType.GROUND;
-        this.loadImage();
+        this.grid.setType(this.row, this.col, TileType.GROUND);
+        this.grid.setVariant(this.row, this.col, 1);
+    }
+
+    /**
+     * Získa typ dlaždice z mriežky.
+     *
+     * @return Typ dlaždice
+     */
+    private TileType getType() {
+        return this.grid.getType(this.row, this.col);
     }
 
     /**
-     * Načíta obrázok dlaždice podľa typu a biomu.
+     * Získa zdieľaný obrázok dlaždice podľa typu, variantu a biomu.
+     * Obrázky sú uložené v poli indexovanom biomom, typom a variantom, aby vykreslenie nemuselo skladať kľúč.
      */
-    private void loadImage() {
-        this.image = Settings.loadImage(
-                this.tileType.resolveImagePath(this.biomeType),
-                Settings.TILE_SIZE, Settings.TILE_SIZE
-        );
+    private BufferedImage getImage() {
+        return getImage(this.biomeType, this.getType(), this.grid.getVariant(this.row, this.col));
+    }
+
+    /**
+     * Získa zdieľaný obrázok pre zadaný biom, typ a variant, pri prvom použití ho načíta.
+     * Používa ho aj vykresľovanie mapy sveta, ktoré dlaždice nevytvára.
+     * Obrázky sa načítavajú aj na vláknach načítavania zdrojov, preto sa ukladajú atomicky – ak obrázok súčasne
+     * načíta viac vlákien, všetky dostanú ten, ktorý bol uložený ako prvý.
+     */
+    static BufferedImage getImage(BiomeType biomeType, TileType type, int variant) {
+        int index = (biomeType.ordinal() * TYPE_COUNT + type.ordinal()) * MAX_VARIANTS + variant;
+
+        BufferedImage image = IMAGES.get(index);
+        if (image == null) {
+            image = Settings.loadImage(type.resolveImagePath(biomeType, variant), Settings.TILE_SIZE, Settings.TILE_SIZE);
+            if (!IMAGES.compareAndSet(index, null, image)) {
+                image = IMAGES.get(index);
+            }
+        }
+        return image;
     }
 
 }
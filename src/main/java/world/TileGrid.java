@@ -0,0 +1,131 @@
+package world;
+
+import utils.Settings;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Rozhranie TileGrid reprezentuje mriežku hernej mapy uloženú po vrstvách.
+ * Každá bunka obsahuje typ dlaždice, variant obrázka a obsadenosť (počet objektov na políčku).
+ * Konkrétna implementácia sa vyberá pri vytvorení mriežky (na halde alebo mimo haldy).
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public interface TileGrid {
+    /**
+     * Najväčší počet objektov na jednom políčku, ktorý mriežka dokáže uložiť.
+     */
+    int MAX_OCCUPANCY = Short.MAX_VALUE;
+
+    /**
+     * Vytvorí novú mriežku so zadanými rozmermi podľa nastavenia {@link Settings#OFF_HEAP_GRID}.
+     *
+     * @param rows Počet riadkov
+     * @param cols Počet stĺpcov
+     * @return Nová mriežka, všetky bunky sú typu GROUND
+     */
+    static TileGrid create(int rows, int cols) {
+        if (Settings.OFF_HEAP_GRID) {
+            return new OffHeapTileGrid(rows, cols);
+        }
+        return new HeapTileGrid(rows, cols);
+    }
+
+    /**
+     * Získa počet riadkov mriežky.
+     *
+     * @return Počet riadkov
+     */
+    int getRows();
+
+    /**
+     * Získa počet stĺpcov mriežky.
+     *
+     * @return Počet stĺpcov
+     */
+    int getCols();
+
+    /**
+     * Získa typ dlaždice na zadaných súradniciach.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @return Typ dlaždice
+     * @throws IndexOutOfBoundsException ak sú súradnice mimo mriežky
+     */
+    TileType getType(int row, int col);
+
+    /**
+     * Nastaví typ dlaždice na zadaných súradniciach.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @param type Typ dlaždice
+     * @throws IndexOutOfBoundsException ak sú súradnice mimo mriežky
+     */
+    void setType(int row, int col, TileType type);
+
+    /**
+     * Získa variant obrázka dlaždice (1 až počet variantov typu).
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @return Variant obrázka
+     */
+    int getVariant(int row, int col);
+
+    /**
+     * Nastaví variant obrázka dlaždice.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @param variant Variant obrázka
+     */
+    void setVariant(int row, int col, int variant);
+
+    /**
+     * Získa počet objektov umiestnených na políčku.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @return Počet objektov
+     */
+    int getOccupancy(int row, int col);
+
+    /**
+     * Nastaví počet objektov umiestnených na políčku.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @param occupancy Počet objektov (0 - MAX_OCCUPANCY)
+     * @throws IndexOutOfBoundsException ak sú súradnice mimo mriežky alebo počet objektov mimo rozsahu
+     */
+    void setOccupancy(int row, int col, int occupancy);
+
+    /**
+     * Hromadne načíta vrstvy typov a variantov z buffera (najprv všetky typy, potom všetky varianty, po riadkoch).
+     * Pozícia buffera sa posunie za prečítané dáta. Obsadenosť sa nemení.
+     *
+     * @param source Zdrojový buffer, napr. pamäťovo mapovaný súbor úrovne
+     */
+    void readLayers(ByteBuffer source);
+
+    /**
+     * Hromadne zapíše vrstvy typov a variantov do buffera v rovnakom tvare, aký číta metóda readLayers.
+     *
+     * @param target Cieľový buffer
+     */
+    void writeLayers(ByteBuffer target);
+
+    /**
+     * Zistí, či sú súradnice v rámci mriežky.
+     *
+     * @param row Riadok
+     * @param col Stĺpec
+     * @return true ak sú súradnice v mriežke, inak false
+     */
+    default boolean contains(int row, int col) {
+        return row >= 0 && row < this.getRows() && col >= 0 && col < this.getCols();
+    }
+}
@@ -56,16 +56,37 @@ public enum TileType {
         return this.collide;
     }
 
+    /**
+     * Náhodne vyberie variant obrázka dlaždice.
+     * 
+     * @param random Inštancia generátora náhodných čísel
+     * @return Variant obrázka (1 až počet variantov)
+     */
+    public int randomVariant(Random random) {
+        if (this.countTypes > 1) {
+            return 1 + random.nextInt(this.countTypes);
+        }
+        return 1;
+    }
+
+    /**
+     * Získa počet variantov obrázka dlaždice.
+     * 
+     * @return Počet variantov
+     */
+    public int getVariantCount() {
+        return this.countTypes;
+    }
+
     /**
      * Vyrieši cestu k obrázku dlaždice podľa typu biomu a variantu.
      * 
      * @param biome Typ biomu (napr. les, púšť)
+     * @param variant Variant obrázka (1 až počet variantov)
      * @return Cesta k obrázku dlaždice
      */
-    public String resolveImagePath(BiomeType biome) {
+    public String resolveImagePath(BiomeType biome, int variant) {
         if (this.countTypes > 1) {
-            Random random = new Random();
-            int variant = 1 + random.nextInt(this.countTypes);
             return biome.getPath() + this.imageName.replace("*", String.valueOf(variant));
         }
         return biome.getPath() + this.imageName;
@@ -7,90 +7,116 @@ import entity.player.Player;
 
 import objects.GameObjectManager;
 import objects.Door;
+import objects.Dynamite;
+import objects.Explosion;
 import objects.GameObject;
+import objects.ItemType;
 import objects.PlaceableObject;
 import objects.Actionable;
 import objects.hiddenITem.EHiddenItem;
 import objects.hiddenITem.HiddenItem;
 import objects.hiddenITem.Key;
+import replay.InputAction;
+import replay.InputRecorder;
+import utils.FramePhase;
+import utils.FrameProfiler;
+import utils.GameClock;
+import utils.GameRandom;
 import utils.GridPosition;
+import utils.ISnapshot;
 import utils.ITimer;
+import utils.RenderSnapshot;
 import utils.ResourcesLoadException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.Optional;
 import java.util.Iterator;
-import java.util.Random;
-import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
 
 /**
- * Abstraktná trieda reprezentujúca herný svet (úroveň) v hre Bomberman.
- * Zodpovedá za načítanie mapy, správu entít, objektov, podmienok výhry a generovanie skrytých predmetov.
+ * Trieda reprezentujúca herný svet (úroveň) v hre Bomberman.
+ * Zodpovedá za načítanie úrovne, správu entít, objektov, podmienok výhry a generovanie skrytých predmetov.
+ * Obsah úrovne (mapa, entity, podmienky) je popísaný v súbore úrovne, svet ho preberá z predlohy.
+ * Všetka náhoda vo svete pochádza z generátora zo semena sveta a čas z herného času sveta (GameClock),
+ * preto svet resetovaný s rovnakým semenom a s rovnakými vstupmi v rovnakých krokoch prejde vždy
+ * rovnakými stavmi – na tom je postavené nahrávanie a prehrávanie hier.
  * 
  * @author Tomáš Ďurovec
  * @version 1.0
  */
-public abstract class World {
+public class World implements ISnapshot {
+    private static final long HIDDEN_ITEMS_SEED_MIX = 0x9E3779B97F4A7C15L;
+
     private final String levelName;
-    private int rows;
-    private int cols;
-    private BiomeType biomeType;
+    private final GameClock clock;
+    private LevelTemplate template;
     private Player player;
     private ArrayList<Entity> entities;
-    private Tile[][] map;
+    private ArrayList<Entity> spawnedEntities;
+    private IdentityHashMap<Entity, Integer> spawnIndices;
+    private LevelView map;
     private GameObjectManager gameObjectManager;
-    private double hiddenItemSpawnChance = 0.9;
-    private HashMap<EHiddenItem, Double> hiddenItemsSpawnChances;
-    private Key key;
     private Door door;
-    private HashMap<EntityType, Integer> requiredEnemyKills;
     private final HashMap<EntityType, Integer> enemyKillCounts;
+    private byte[] initialHiddenItems;
+    private long seed;
+    private GameRandom random;
+    private InputRecorder inputRecorder;
+    private WorldHistory history;
 
     /**
      * Vytvorí nový svet s daným názvom úrovne.
-     * Inicializuje pravdepodobnosti výskytu skrytých predmetov a štatistiky nepriateľov.
      * 
-     * @param levelName Názov úrovne (súboru mapy)
+     * @param levelName Názov úrovne (súboru úrovne)
      */
     public World(String levelName) {
         this.levelName = levelName;
-
-        this.hiddenItemsSpawnChances = new HashMap<>();
-        this.hiddenItemsSpawnChances.put(EHiddenItem.ADD_DYNAMITE, Double.valueOf(0.6));
-        this.hiddenItemsSpawnChances.put(EHiddenItem.ADD_HEALTH, Double.valueOf(0.1));
-        this.hiddenItemsSpawnChances.put(EHiddenItem.DAMAGE, Double.valueOf(0.3));
-
-        this.requiredEnemyKills = new HashMap<>();
+        this.clock = new GameClock();
         this.enemyKillCounts = new HashMap<>();
     }
 
     /**
-     * Inicializuje úroveň. Túto metódu musí implementovať každá konkrétna úroveň.
+     * Vytvorí nový svet nad už pripravenou predlohou, napr. vygenerovanou úrovňou.
+     * 
+     * @param template Predloha úrovne
      */
-    protected abstract void initLevel();
+    public World(LevelTemplate template) {
+        this(template.getLevelName());
+        this.template = template;
+    }
 
     /**
-     * Nastaví pravdepodobnosti výskytu jednotlivých skrytých predmetov.
+     * Získa názov úrovne.
      * 
-     * @param itemsChances Mapa pravdepodobností pre jednotlivé typy skrytých predmetov
+     * @return Názov úrovne
      */
-    protected void setHiddenItemsSpawnChances(HashMap<EHiddenItem, Double> itemsChances) {
-        this.hiddenItemsSpawnChances.clear();
-        this.hiddenItemsSpawnChances = itemsChances;
+    public String getLevelName() {
+        return this.levelName;
     }
 
     /**
-     * Nastaví celkovú pravdepodobnosť výskytu skrytého predmetu na jednej pozícii.
+     * Získa zdieľanú predlohu úrovne, pri prvom volaní ju načíta.
      * 
-     * @param chance Pravdepodobnosť (0.0 - 1.0)
+     * @return Predloha úrovne
      */
-    protected void setHiddenItemSpawnChance(double chance) {
-        this.hiddenItemSpawnChance = chance;
+    public LevelTemplate getTemplate() {
+        if (this.template == null) {
+            this.template = LevelTemplate.of(this.levelName);
+        }
+        return this.template;
     }
 
     /**
@@ -99,7 +125,7 @@ public abstract class World {
      * @return Nemodifikovateľná mapa požadovaných zabití
      */
     public Map<EntityType, Integer> getRequiredEnemyKills() {
-        return Collections.unmodifiableMap(this.requiredEnemyKills);
+        return this.template.getRequiredEnemyKills();
     }
 
     /**
@@ -112,28 +138,293 @@ public abstract class World {
     }
 
     /**
-     * Resetuje svet – načíta mapu, inicializuje entity, objekty a skryté predmety.
+     * Resetuje svet s novým náhodným semenom.
      */
     public void reset() {
+        this.reset(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Resetuje svet – vytvorí nový pohľad na zdieľanú predlohu mapy, inicializuje entity, objekty a skryté predmety.
+     * Súbor mapy sa parsuje iba pri prvom resete úrovne. Rozmiestnenie skrytých predmetov sa uloží
+     * ako počiatočný stav, ku ktorému sa vracia metóda restart.
+     * Skryté predmety sa losujú z vlastného generátora odvodeného zo semena, takže reset a restart
+     * s rovnakým semenom začnú hru z rovnakého stavu.
+     * 
+     * @param seed Semeno generátora náhodných čísel sveta
+     */
+    public void reset(long seed) {
+        WorldResetEvent event = new WorldResetEvent();
+        event.begin();
+
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        this.clock.reset();
+        if (this.history != null) {
+            this.history.clear();
+        }
         this.entities = new ArrayList<>();
-        this.gameObjectManager = new GameObjectManager();
         this.enemyKillCounts.clear();
 
-        this.loadMapFromFile();
+        this.getTemplate();
+        if (this.map != null) {
+            this.map.discard();
+        }
+        this.map = this.template.createView();
+        this.gameObjectManager = new GameObjectManager(this.map);
 
-        this.initLevel();
-        this.placeRandomHiddenItems();
+        this.spawnEntities();
+        this.initialHiddenItems = this.rollHiddenItems();
+        this.placeHiddenItems(this.initialHiddenItems);
+        this.placeKeyAndDoor();
 
-        this.addHiddenItemToTile(this.key);
-        this.gameObjectManager.add(this.door);
+        this.commitResetEvent(event, false);
+    }
+
+    /**
+     * Reštartuje svet do počiatočného stavu uloženého pri poslednom resete.
+     * Mapa sa vráti zrušením zmien pohľadu, skryté predmety sa rozmiestnia rovnako ako pri resete,
+     * nič sa nenačítava zo súborov. Generátor náhodných čísel a herný čas začnú odznova s rovnakým semenom.
+     * Ak svet ešte nebol resetovaný, vykoná sa reset.
+     */
+    public void restart() {
+        if (this.initialHiddenItems == null) {
+            this.reset();
+            return;
+        }
+
+        WorldResetEvent event = new WorldResetEvent();
+        event.begin();
+
+        this.random = new GameRandom(this.seed);
+        this.clock.reset();
+        if (this.history != null) {
+            this.history.clear();
+        }
+        this.entities = new ArrayList<>();
+        this.enemyKillCounts.clear();
+
+        this.map.revert();
+        this.gameObjectManager = new GameObjectManager(this.map);
+
+        this.spawnEntities();
+        this.placeHiddenItems(this.initialHiddenItems);
+        this.placeKeyAndDoor();
+
+        this.commitResetEvent(event, true);
     }
 
     /**
      * Aktualizuje stav všetkých objektov a entít v svete (herné objekty, entity).
+     * Herný čas sveta sa pred aktualizáciou posunie o jeden krok, po nej sa krok ohlási záznamu vstupov a histórii.
      */
     public void update() {
+        this.clock.advance();
+
+        long startTime = System.nanoTime();
         this.gameObjectManager.update();
+        FrameProfiler.record(FramePhase.UPDATE_OBJECTS, startTime);
+
+        startTime = System.nanoTime();
         this.updateEntities();
+        FrameProfiler.record(FramePhase.UPDATE_ENTITIES, startTime);
+
+        if (this.inputRecorder != null) {
+            this.inputRecorder.onUpdate();
+        }
+        if (this.history != null) {
+            this.history.onUpdate();
+        }
+    }
+
+    /**
+     * Získa herný čas sveta, podľa ktorého bežia časovače objektov a entít.
+     * 
+     * @return Herný čas
+     */
+    public GameClock getClock() {
+        return this.clock;
+    }
+
+    /**
+     * Získa počet herných krokov od posledného resetu alebo reštartu.
+     * 
+     * @return Číslo aktuálneho kroku
+     */
+    public long getTick() {
+        return this.clock.getTick();
+    }
+
+    /**
+     * Získa semeno, s ktorým bol svet naposledy resetovaný.
+     * 
+     * @return Semeno sveta
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Získa generátor náhodných čísel sveta. Všetka náhoda počas hry (napr. cesty nepriateľov)
+     * sa musí brať z neho, aby sa hra dala prehrať zo záznamu.
+     * 
+     * @return Generátor náhodných čísel sveta
+     */
+    public GameRandom getRandom() {
+        return this.random;
+    }
+
+    /**
+     * Vypočíta kontrolný súčet stavu sveta – krok, mapa, entity (typ, poloha, zdravie, stav),
+     * objekty (typ a poloha) a počty zabití. Dva svety s rovnakým priebehom hry majú rovnaký súčet.
+     * 
+     * @return Kontrolný súčet CRC32 stavu sveta
+     */
+    public long checksum() {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 5);
+        this.updateChecksum(crc, buffer, (int)this.getTick(), this.getRows(), this.getCols(), 0, 0);
+        this.map.updateChecksum(crc);
+        for (Entity entity : this.entities) {
+            this.updateChecksum(crc, buffer, entity.getType().ordinal(), entity.getWorldX(), entity.getWorldY(),
+                    entity.getHealth(), entity.getState().ordinal());
+        }
+        for (GameObject object : this.gameObjectManager.getAllSortedObjects()) {
+            GridPosition position = object.getGridPosition();
+            this.updateChecksum(crc, buffer, object.getClass().getName().hashCode(), position.row(), position.col(),
+                    object.getRenderPriority(), 0);
+        }
+        for (EntityType type : EntityType.values()) {
+            this.updateChecksum(crc, buffer, type.ordinal(), this.enemyKillCounts.getOrDefault(type, Integer.valueOf(0)), 0, 0, 0);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Zapíše úplný stav sveta – semeno, herný krok, stav generátora, počty zabití, zmeny mapy, stav hráča
+     * (aj po jeho odstránení zo sveta, nepriatelia ho stále sledujú), živé entity (poradie pri vytvorení
+     * a stav) a všetky objekty (typ, poloha a stav).
+     */
+    @Override
+    public void writeState(DataOutput output) throws IOException {
+        output.writeLong(this.seed);
+        output.writeLong(this.getTick());
+        output.writeLong(this.random.getState());
+        for (EntityType type : EntityType.values()) {
+            output.writeInt(this.enemyKillCounts.getOrDefault(type, Integer.valueOf(0)));
+        }
+        this.map.writeChanges(output);
+
+        this.player.writeState(output);
+        output.writeInt(this.entities.size());
+        for (Entity entity : this.entities) {
+            output.writeInt(this.getSpawnIndex(entity));
+            if (entity != this.player) {
+                entity.writeState(output);
+            }
+        }
+
+        List<GameObject> objects = this.gameObjectManager.getAllObjects();
+        output.writeInt(objects.size());
+        for (GameObject object : objects) {
+            output.writeByte(object.getItemType().ordinal());
+            output.writeInt(object.getGridPosition().row());
+            output.writeInt(object.getGridPosition().col());
+            object.writeState(output);
+        }
+    }
+
+    /**
+     * Obnoví úplný stav sveta zapísaný metódou writeState. Ak svet ešte nebol resetovaný alebo bol resetovaný
+     * s iným semenom, najprv sa resetuje so semenom snímky, aby zodpovedali počiatočné skryté predmety.
+     * Entity sa vytvoria znova podľa predlohy a prevezmú stav zo snímky, objekty sa vytvoria podľa typu.
+     */
+    @Override
+    public void readState(DataInput input) throws IOException {
+        long stateSeed = input.readLong();
+        if (this.initialHiddenItems == null || stateSeed != this.seed) {
+            this.reset(stateSeed);
+        }
+        this.clock.setTick(input.readLong());
+        long randomState = input.readLong();
+        this.enemyKillCounts.clear();
+        for (EntityType type : EntityType.values()) {
+            int killed = input.readInt();
+            if (killed > 0) {
+                this.enemyKillCounts.put(type, Integer.valueOf(killed));
+            }
+        }
+        this.map.readChanges(input);
+        this.gameObjectManager = new GameObjectManager(this.map);
+
+        this.entities = new ArrayList<>();
+        this.spawnEntities();
+        this.entities.clear();
+        this.player.readState(input);
+        int entityCount = input.readInt();
+        for (int i = 0; i < entityCount; i++) {
+            Entity entity = this.getSpawnedEntity(input.readInt());
+            if (entity != this.player) {
+                entity.readState(input);
+            }
+            this.entities.add(entity);
+        }
+
+        ItemType[] itemTypes = ItemType.values();
+        int objectCount = input.readInt();
+        for (int i = 0; i < objectCount; i++) {
+            ItemType itemType = itemTypes[input.readUnsignedByte()];
+            GridPosition position = new GridPosition(input.readInt(), input.readInt());
+            GameObject object = switch (itemType) {
+                case DYNAMITE -> new Dynamite(position, this);
+                case EXPLOSION -> new Explosion(position, this);
+                case DOOR -> this.door = new Door(position, this);
+                default -> EHiddenItem.valueOf(itemType.name()).newInstance(position, this);
+            };
+            object.readState(input);
+            this.gameObjectManager.add(object);
+        }
+        this.random.setState(randomState);
+    }
+
+    /**
+     * Zachytí úplný stav sveta do poľa bajtov (snímka pre záznam hry, pretáčanie alebo uloženie).
+     * 
+     * @return Snímka sveta
+     * @throws ResourcesLoadException ak zápis stavu zlyhá
+     */
+    public byte[] captureState() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            this.writeState(output);
+        } catch (IOException _) {
+            throw new ResourcesLoadException("Error while capturing world state.");
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Obnoví stav sveta zo snímky vytvorenej metódou captureState.
+     * 
+     * @param state Snímka sveta
+     * @throws ResourcesLoadException ak snímka nie je platná
+     */
+    public void restoreState(byte[] state) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(state))) {
+            this.readState(input);
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException _) {
+            throw new ResourcesLoadException("Error while restoring world state.");
+        }
+    }
+
+    /**
+     * Pridá päticu čísel do kontrolného súčtu.
+     */
+    private void updateChecksum(CRC32 crc, ByteBuffer buffer, int a, int b, int c, int d, int e) {
+        buffer.clear();
+        buffer.putInt(a).putInt(b).putInt(c).putInt(d).putInt(e);
+        buffer.flip();
+        crc.update(buffer);
     }
 
     /**
@@ -146,21 +437,30 @@ public abstract class World {
     }
 
     /**
-     * Zistí, či je úroveň úspešne dokončená (hráč je na otvorených dverách).
+     * Získa počet entít v svete.
      * 
-     * @return true ak je úroveň dokončená, inak false
+     * @return Počet entít, 0 ak svet ešte nebol resetovaný
      */
-    public boolean isLevelCompleted() {
-        return this.door.isDoorOpened() && this.player.getGridPosition().equals(this.door.getGridPosition());
+    public int getEntityCount() {
+        return this.entities == null ? 0 : this.entities.size();
     }
 
     /**
-     * Nastaví podmienky dokončenia úrovne (požadované počty zabití nepriateľov podľa typu).
+     * Získa počet herných objektov na mape vrátane neaktívnych skrytých predmetov.
      * 
-     * @param requiredEnemyKills Mapa požadovaných zabití podľa typu nepriateľa
+     * @return Počet objektov, 0 ak svet ešte nebol resetovaný
      */
-    protected void setLevelCompletionConditions(HashMap<EntityType, Integer> requiredEnemyKills) {
-        this.requiredEnemyKills = requiredEnemyKills;
+    public int getGameObjectCount() {
+        return this.gameObjectManager == null ? 0 : this.gameObjectManager.getObjectCount();
+    }
+
+    /**
+     * Zistí, či je úroveň úspešne dokončená (hráč je na otvorených dverách).
+     * 
+     * @return true ak je úroveň dokončená, inak false
+     */
+    public boolean isLevelCompleted() {
+        return this.door.isDoorOpened() && this.player.getGridPosition().equals(this.door.getGridPosition());
     }
 
     /**
@@ -169,15 +469,57 @@ public abstract class World {
      * @return true ak sú podmienky splnené, inak false
      */
     public boolean isLevelConditionCompleted() {
-        for (EntityType type : this.requiredEnemyKills.keySet()) {
-            int killed = this.enemyKillCounts.getOrDefault(type, Integer.valueOf(0));
-            if (killed < this.requiredEnemyKills.get(type)) {
+        for (Map.Entry<EntityType, Integer> condition : this.getRequiredEnemyKills().entrySet()) {
+            int killed = this.enemyKillCounts.getOrDefault(condition.getKey(), Integer.valueOf(0));
+            if (killed < condition.getValue()) {
                 return false;
             }
         }
         return this.player.hasKey();
     }
 
+    /**
+     * Nastaví záznam vstupov hráča, do ktorého sa zapisujú vstupy použité metódou applyInput.
+     * 
+     * @param inputRecorder Záznam vstupov, null ak sa vstupy nezaznamenávajú
+     */
+    public void setInputRecorder(InputRecorder inputRecorder) {
+        this.inputRecorder = inputRecorder;
+    }
+
+    /**
+     * Nastaví históriu stavov sveta, do ktorej sa počas hry zachytávajú snímky na vrátenie hry späť.
+     * Reset a reštart sveta históriu vyprázdnia.
+     * 
+     * @param history História sveta, null ak sa história neuchováva
+     */
+    public void setHistory(WorldHistory history) {
+        this.history = history;
+    }
+
+    /**
+     * Získa históriu stavov sveta.
+     * 
+     * @return História sveta, null ak sa história neuchováva
+     */
+    public WorldHistory getHistory() {
+        return this.history;
+    }
+
+    /**
+     * Použije vstup hráča na svet v aktuálnom hernom kroku a zaznamená ho, ak sa hra nahráva.
+     * Cez túto metódu musia prechádzať všetky vstupy, ktoré menia svet, aby sa hra dala prehrať zo záznamu.
+     * 
+     * @param action Vstup
+     * @param pressed true pri stlačení, false pri uvoľnení
+     */
+    public void applyInput(InputAction action, boolean pressed) {
+        if (this.inputRecorder != null) {
+            this.inputRecorder.record(this.getTick(), action, pressed);
+        }
+        action.apply(this, pressed);
+    }
+
     /**
      * Pozastaví alebo obnoví časovače všetkých objektov a entít v svete.
      * 
@@ -197,22 +539,42 @@ public abstract class World {
     }
 
     /**
-     * Nastaví hráča do sveta a pridá ho do zoznamu entít.
+     * Vytvorí entity podľa popisov v predlohe úrovne a pridá ich do sveta.
+     * Poradie každej entity sa uloží do mapy, aby ho snímky stavu nemuseli hľadať v zozname.
+     */
+    private void spawnEntities() {
+        this.spawnedEntities = new ArrayList<>();
+        this.spawnIndices = new IdentityHashMap<>();
+        for (EntitySpawn spawn : this.template.getSpawns()) {
+            Entity entity = spawn.spawn(this);
+            if (entity instanceof Player newPlayer) {
+                this.player = newPlayer;
+            }
+            this.spawnIndices.put(entity, this.spawnedEntities.size());
+            this.spawnedEntities.add(entity);
+            this.entities.add(entity);
+        }
+    }
+
+    /**
+     * Získa poradie entity medzi entitami vytvorenými pri resete alebo reštarte sveta.
+     * Poradie je rovnaké v každom svete tej istej úrovne, preto sa ním entity označujú v snímkach.
      * 
-     * @param player Inštancia hráča
+     * @param entity Entita sveta
+     * @return Poradie entity, -1 ak entita nebola vytvorená pri resete
      */
-    protected void setPlayer(Player player) {
-        this.entities.add(player);
-        this.player = player;
+    public int getSpawnIndex(Entity entity) {
+        return this.spawnIndices.getOrDefault(entity, -1);
     }
 
     /**
-     * Pridá nepriateľa do sveta (do zoznamu entít).
+     * Získa entitu podľa poradia, v akom bola vytvorená pri resete alebo reštarte sveta.
      * 
-     * @param enemy Inštancia nepriateľa
+     * @param spawnIndex Poradie entity
+     * @return Entita
      */
-    protected void addEnemy(Enemy enemy) {
-        this.entities.add(enemy);
+    public Entity getSpawnedEntity(int spawnIndex) {
+        return this.spawnedEntities.get(spawnIndex);
     }
 
     /**
@@ -242,21 +604,47 @@ public abstract class World {
      * @return Dlaždica alebo null ak je mimo mapy
      */
     public Tile getTile(int row, int col) {
-        if (row >= 0 && row < this.rows && col >= 0 && col < this.cols) {
-            return this.map[row][col];
+        if (this.map.contains(row, col)) {
+            return new Tile(this.map, row, col, this.template.getBiomeType());
         }
         return null;
     }
 
     /**
-     * Nastaví typ dlaždice na zadaných súradniciach.
+     * Získa typ dlaždice priamo z mapy bez vytvárania dlaždice (pre kolízie, hľadanie ciest a výbuchy).
      * 
      * @param row Riadok
      * @param col Stĺpec
-     * @param tileType Typ dlaždice
+     * @return Typ dlaždice alebo null ak je mimo mapy
      */
-    private void setTile(int row, int col, TileType tileType) {
-        this.map[row][col] = new Tile(new GridPosition(row, col), tileType, this.biomeType);
+    public TileType getTileType(int row, int col) {
+        if (this.map.contains(row, col)) {
+            return this.map.getType(row, col);
+        }
+        return null;
+    }
+
+    /**
+     * Získa typ dlaždice na základe GridPosition priamo z mapy.
+     * 
+     * @param gridPosition Pozícia na mriežke
+     * @return Typ dlaždice alebo null ak je mimo mapy
+     */
+    public TileType getTileType(GridPosition gridPosition) {
+        return this.getTileType(gridPosition.row(), gridPosition.col());
+    }
+
+    /**
+     * Vykreslí dlaždicu mapy podľa typu a variantu v mriežke bez vytvárania dlaždice.
+     * 
+     * @param g Záznam snímky, do ktorého sa vykresľuje
+     * @param row Riadok
+     * @param col Stĺpec
+     * @param x X-ová súradnica v hernom svete
+     * @param y Y-ová súradnica v hernom svete
+     */
+    public void renderTile(RenderSnapshot.Builder g, int row, int col, int x, int y) {
+        g.drawWorldImage(Tile.getImage(this.template.getBiomeType(), this.map.getType(row, col), this.map.getVariant(row, col)), x, y);
     }
 
     /**
@@ -265,10 +653,9 @@ public abstract class World {
      * @param item Skrytý predmet
      */
     private void addHiddenItemToTile(HiddenItem item) {
-        GridPosition gridPos = item.getGridPosition();
-        Tile tile = this.getTile(gridPos);
+        TileType type = this.getTileType(item.getGridPosition());
 
-        if (tile != null && tile.isDestructible()) {
+        if (type != null && type.isDestructible()) {
             this.gameObjectManager.add(item);
         }
     }
@@ -337,7 +724,7 @@ public abstract class World {
      * @return Počet riadkov
      */
     public int getRows() {
-        return this.rows;
+        return this.map.getRows();
     }
 
     /**
@@ -346,7 +733,7 @@ public abstract class World {
      * @return Počet stĺpcov
      */
     public int getCols() {
-        return this.cols;
+        return this.map.getCols();
     }
 
     /**
@@ -377,92 +764,63 @@ public abstract class World {
     }
 
     /**
-     * Načíta mapu úrovne zo súboru podľa názvu úrovne.
+     * Náhodne vyberie skryté predmety pre rozbitné steny podľa pravdepodobností.
+     * Losuje sa z generátora odvodeného zo semena sveta, oddeleného od generátora sveta.
+     * Výsledok je kompaktná vrstva mapy: 0 = bez predmetu, inak poradové číslo typu predmetu + 1.
      * 
-     * @throws ResourcesLoadException ak sa súbor nepodarí načítať
+     * @return Vrstva skrytých predmetov po riadkoch
      */
-    private void loadMapFromFile() {
-        String path = String.format("levels/%s.txt", this.levelName);
-        try (InputStream inputStream = this.getClass().getClassLoader().getResourceAsStream(path)) {
-
-            if (inputStream == null) {
-                throw new IOException();
-            }
-
-            Scanner scanner = new Scanner(inputStream);
-            ArrayList<String> lines = new ArrayList<>();
-            while (scanner.hasNextLine()) {
-                lines.add(scanner.nextLine().trim());
+    private byte[] rollHiddenItems() {
+        if (this.template.getHiddenItemSpawnChance() <= 0) {
+            return new byte[0];
+        }
+        GameRandom random = new GameRandom(this.seed ^ HIDDEN_ITEMS_SEED_MIX);
+        byte[] hiddenItems = new byte[this.getRows() * this.getCols()];
+        for (int row = 0; row < this.getRows(); row++) {
+            for (int col = 0; col < this.getCols(); col++) {
+                if (this.map.getType(row, col).isDestructible() && random.nextDouble() < this.template.getHiddenItemSpawnChance()) {
+                    Optional<EHiddenItem> optionalHiddenItem = this.createRandomHiddenItem(random);
+                    if (optionalHiddenItem.isPresent()) {
+                        hiddenItems[row * this.getCols() + col] = (byte)(optionalHiddenItem.get().ordinal() + 1);
+                    }
+                }
             }
-            this.createMap(lines);
-        } catch (IOException e) {
-            throw new ResourcesLoadException("Map with name " + this.levelName + "cant load.");
         }
+        return hiddenItems;
     }
 
     /**
-     * Vytvorí mapu sveta na základe zoznamu riadkov zo súboru.
+     * Rozmiestni skryté predmety na mapu podľa vrstvy skrytých predmetov.
      * 
-     * @param lines Zoznam riadkov mapy
-     */
-    private void createMap(ArrayList<String> lines) {
-        this.biomeType = BiomeType.valueOf(lines.getFirst());
-
-        String[] dimensions = lines.get(1).split(" ");
-
-        this.rows = Integer.parseInt(dimensions[0]);
-        this.cols = Integer.parseInt(dimensions[1]);
-
-        this.map = new Tile[this.rows][this.cols];
-
-        for (int row = 0; row < this.rows; row++) {
-            String line = lines.get(row + 2);
-            for (int col = 0; col < this.cols; col++) {
-                char tileChar = line.charAt(col);
-
-                TileType type = switch (tileChar) {
-                    case '#' -> TileType.WALL;
-                    case '+' -> TileType.CRACKED_WALL;
-                    case '.' -> TileType.GROUND;
-                    case 'K' -> {
-                        this.key = new Key(new GridPosition(row, col), this);
-                        yield TileType.CRACKED_WALL;
-                    }
-                    case 'D' -> {
-                        this.door = new Door(new GridPosition(row, col), this);
-                        yield TileType.GROUND;
-                    }
-                    default -> null;
-                };
-
-                if (type != null) {
-                    this.setTile(row, col, type);
-                }
-
+     * @param hiddenItems Vrstva skrytých predmetov vytvorená metódou rollHiddenItems
+     */
+    private void placeHiddenItems(byte[] hiddenItems) {
+        EHiddenItem[] types = EHiddenItem.values();
+        for (int i = 0; i < hiddenItems.length; i++) {
+            if (hiddenItems[i] != 0) {
+                GridPosition position = new GridPosition(i / this.getCols(), i % this.getCols());
+                this.addHiddenItemToTile(types[hiddenItems[i] - 1].newInstance(position, this));
             }
         }
     }
 
     /**
-     * Náhodne rozmiestni skryté predmety na mapu podľa pravdepodobností.
+     * Umiestni na mapu kľúč a dvere podľa predlohy úrovne.
      */
-    private void placeRandomHiddenItems() {
-        Random random = new Random();
-        for (int row = 0; row < this.rows; row++) {
-            for (int col = 0; col < this.cols; col++) {
-                if (this.getTile(row, col).isDestructible() && random.nextDouble() < this.hiddenItemSpawnChance) {
-                    Optional<EHiddenItem> optionalHiddenItem = this.createRandomHiddenItem(random);
-                    if (optionalHiddenItem.isPresent()) {
-                        EHiddenItem hiddenItem = optionalHiddenItem.get();
-                        this.addHiddenItemToTile(
-                                hiddenItem.newInstance(
-                                        new GridPosition(row, col), this
-                                )
-                        );
-                    }
-                }
-            }
-        }
+    private void placeKeyAndDoor() {
+        this.door = new Door(this.template.getDoorPosition(), this);
+        this.addHiddenItemToTile(new Key(this.template.getKeyPosition(), this));
+        this.gameObjectManager.add(this.door);
+    }
+
+    /**
+     * Doplní a zapíše udalosť JFR resetu sveta.
+     */
+    private void commitResetEvent(WorldResetEvent event, boolean restart) {
+        event.levelName = this.levelName;
+        event.restart = restart;
+        event.entityCount = this.entities.size();
+        event.commit();
     }
 
     /**
@@ -471,13 +829,13 @@ public abstract class World {
      * @param random Inštancia generátora náhodných čísel
      * @return Optional s typom skrytého predmetu, ak bol vygenerovaný
      */
-    private Optional<EHiddenItem> createRandomHiddenItem(Random random) {
+    private Optional<EHiddenItem> createRandomHiddenItem(GameRandom random) {
         double roll = random.nextDouble();
         double cumulative = 0.0;
-        for (EHiddenItem hiddenItem : this.hiddenItemsSpawnChances.keySet()) {
-            cumulative += this.hiddenItemsSpawnChances.get(hiddenItem);
+        for (Map.Entry<EHiddenItem, Double> chance : this.template.getHiddenItemsSpawnChances().entrySet()) {
+            cumulative += chance.getValue();
             if (roll <= cumulative) {
-                return Optional.of(hiddenItem);
+                return Optional.of(chance.getKey());
             }
         }
 
@@ -0,0 +1,296 @@
+package world;
+
+import utils.Settings;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Trieda WorldHistory uchováva históriu stavov sveta v ohraničenom kruhovom zásobníku. Každých INTERVAL krokov
+ * sa zachytí stav sveta (zmenené dlaždice, entity s polohou, zdravím a stavom, objekty s časovačmi).
+ * Väčšina snímok sa ukladá iba ako rozdiel voči poslednej celej snímke, takže história niekoľkých sekúnd
+ * zaberá len desiatky kilobajtov. Obnovenie ľubovoľnej uchovanej snímky potrebuje najviac jednu celú snímku
+ * a jeden rozdiel, svet sa tak dá vrátiť o niekoľko sekúnd bez opätovného prehrávania hry.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public class WorldHistory {
+    public static final int INTERVAL = Settings.FPS / 4;
+    private static final int BASE_INTERVAL = 16;
+    private static final int MIN_SAME_RUN = 4;
+
+    private final World world;
+    private final int capacity;
+    private final long[] ticks;
+    private final long[] bases;
+    private final byte[][] snapshots;
+    private long first;
+    private long count;
+    private long lastBase;
+
+    /**
+     * Vytvorí históriu sveta s danou dĺžkou.
+     *
+     * @param world Svet, ktorého stavy sa uchovávajú
+     * @param seconds Dĺžka histórie v sekundách hry
+     */
+    public WorldHistory(World world, int seconds) {
+        this.world = world;
+        this.capacity = Math.max(1, seconds * Settings.FPS / INTERVAL);
+        this.ticks = new long[this.capacity];
+        this.bases = new long[this.capacity];
+        this.snapshots = new byte[this.capacity][];
+        this.lastBase = -1;
+    }
+
+    /**
+     * Zahodí všetky uchované snímky (napr. po resete alebo reštarte sveta).
+     */
+    public void clear() {
+        this.first = 0;
+        this.count = 0;
+        this.lastBase = -1;
+        Arrays.fill(this.snapshots, null);
+    }
+
+    /**
+     * Zaznamená dokončenie herného kroku. Každých INTERVAL krokov (a v prvom kroku po vyčistení) zachytí stav sveta.
+     * Ak sa svet medzitým vrátil späť mimo histórie (napr. obnovením stavu), snímky z neplatnej budúcnosti sa zahodia.
+     * Volá sa na konci aktualizácie sveta.
+     */
+    public void onUpdate() {
+        long tick = this.world.getTick();
+        if (this.size() > 0 && this.getNewestTick() >= tick) {
+            this.truncate(tick);
+        }
+        if (this.count == 0 || tick % INTERVAL == 0) {
+            this.add(tick, this.world.captureState());
+        }
+    }
+
+    /**
+     * Získa počet snímok, ktoré sa dajú obnoviť.
+     *
+     * @return Počet snímok
+     */
+    public int size() {
+        return (int)(this.count - this.oldest());
+    }
+
+    /**
+     * Získa krok najstaršej snímky, ktorá sa dá obnoviť.
+     *
+     * @return Krok snímky, -1 ak je história prázdna
+     */
+    public long getOldestTick() {
+        return this.size() == 0 ? -1 : this.ticks[this.slot(this.oldest())];
+    }
+
+    /**
+     * Získa krok najnovšej snímky.
+     *
+     * @return Krok snímky, -1 ak je história prázdna
+     */
+    public long getNewestTick() {
+        return this.size() == 0 ? -1 : this.ticks[this.slot(this.count - 1)];
+    }
+
+    /**
+     * Obnoví svet z najnovšej snímky nie neskôr ako daný krok, alebo z najstaršej snímky, ak je krok starší.
+     * Novšie snímky sa zahodia, história pokračuje od obnoveného stavu.
+     *
+     * @param tick Cieľový krok
+     * @return Krok obnovenej snímky, -1 ak je história prázdna
+     */
+    public long restore(long tick) {
+        long oldest = this.oldest();
+        if (this.count == oldest) {
+            return -1;
+        }
+        long sequence = this.count - 1;
+        while (sequence > oldest && this.ticks[this.slot(sequence)] > tick) {
+            sequence--;
+        }
+
+        long base = this.bases[this.slot(sequence)];
+        byte[] state = this.snapshots[this.slot(base)];
+        if (base != sequence) {
+            state = applyDelta(state, this.snapshots[this.slot(sequence)]);
+        }
+        this.world.restoreState(state);
+
+        long restoredTick = this.ticks[this.slot(sequence)];
+        this.truncate(restoredTick + 1);
+        return restoredTick;
+    }
+
+    /**
+     * Vráti svet o daný počet krokov späť (na najbližšiu snímku nie neskôr ako cieľový krok).
+     *
+     * @param ticks Počet krokov
+     * @return Krok obnovenej snímky, -1 ak je história prázdna
+     */
+    public long rewind(long ticks) {
+        return this.restore(this.world.getTick() - ticks);
+    }
+
+    /**
+     * Získa počet bajtov, ktoré zaberajú uchované snímky.
+     *
+     * @return Počet bajtov
+     */
+    public long getMemoryUsage() {
+        long bytes = 0;
+        for (byte[] snapshot : this.snapshots) {
+            if (snapshot != null) {
+                bytes += snapshot.length;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Pridá snímku do zásobníka. Uloží ju ako rozdiel voči poslednej celej snímke, alebo ako novú celú snímku,
+     * ak je posledná celá snímka príliš stará (po jej prepísaní by sa stratila aj štvrtina histórie)
+     * alebo by rozdiel nebol výrazne menší.
+     */
+    private void add(long tick, byte[] state) {
+        byte[] snapshot = state;
+        long base = this.count;
+        if (this.lastBase >= 0 && this.count - this.lastBase < Math.min(BASE_INTERVAL, Math.max(1, this.capacity / 4))) {
+            byte[] delta = createDelta(this.snapshots[this.slot(this.lastBase)], state);
+            if (delta.length < state.length / 2) {
+                snapshot = delta;
+                base = this.lastBase;
+            }
+        }
+
+        if (this.count - this.first == this.capacity) {
+            this.first++;
+        }
+        int slot = this.slot(this.count);
+        this.ticks[slot] = tick;
+        this.bases[slot] = base;
+        this.snapshots[slot] = snapshot;
+        this.lastBase = base;
+        this.count++;
+    }
+
+    /**
+     * Zahodí snímky od daného kroku ďalej, história pokračuje od poslednej ponechanej snímky.
+     */
+    private void truncate(long tick) {
+        long oldest = this.oldest();
+        long kept = this.count;
+        while (kept > oldest && this.ticks[this.slot(kept - 1)] >= tick) {
+            kept--;
+            this.snapshots[this.slot(kept)] = null;
+        }
+        if (kept == oldest) {
+            this.clear();
+            return;
+        }
+        this.count = kept;
+        this.lastBase = this.bases[this.slot(kept - 1)];
+    }
+
+    /**
+     * Získa poradové číslo najstaršej snímky, ktorej celá snímka ešte nebola prepísaná.
+     */
+    private long oldest() {
+        long oldest = this.first;
+        while (oldest < this.count && this.bases[this.slot(oldest)] < this.first) {
+            oldest++;
+        }
+        return oldest;
+    }
+
+    /**
+     * Získa pozíciu snímky v zásobníku podľa jej poradového čísla.
+     */
+    private int slot(long sequence) {
+        return (int)(sequence % this.capacity);
+    }
+
+    /**
+     * Vytvorí rozdiel stavu voči základu: dĺžka stavu a striedavo počet zhodných bajtov a počet zmenených bajtov
+     * nasledovaný ich hodnotami. Krátke zhodné úseky sa pridajú k zmeneným, aby rozdiel nerástol réžiou.
+     */
+    private static byte[] createDelta(byte[] base, byte[] state) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeVarInt(output, state.length);
+        int position = 0;
+        while (position < state.length) {
+            int same = position;
+            while (same < state.length && same < base.length && base[same] == state[same]) {
+                same++;
+            }
+            writeVarInt(output, same - position);
+            position = same;
+            if (position == state.length) {
+                break;
+            }
+
+            int changed = position;
+            int sameRun = 0;
+            while (changed < state.length && sameRun < MIN_SAME_RUN) {
+                sameRun = changed < base.length && base[changed] == state[changed] ? sameRun + 1 : 0;
+                changed++;
+            }
+            int end = sameRun < MIN_SAME_RUN ? changed : changed - sameRun;
+            writeVarInt(output, end - position);
+            output.write(state, position, end - position);
+            position = end;
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Obnoví stav zo základu a rozdielu vytvoreného metódou createDelta.
+     */
+    private static byte[] applyDelta(byte[] base, byte[] delta) {
+        ByteBuffer buffer = ByteBuffer.wrap(delta);
+        byte[] state = new byte[readVarInt(buffer)];
+        int position = 0;
+        while (position < state.length) {
+            int same = readVarInt(buffer);
+            System.arraycopy(base, position, state, position, same);
+            position += same;
+            if (position == state.length) {
+                break;
+            }
+            int changed = readVarInt(buffer);
+            buffer.get(state, position, changed);
+            position += changed;
+        }
+        return state;
+    }
+
+    /**
+     * Zapíše nezáporné číslo po 7 bitoch, vyšší bit bajtu označuje pokračovanie.
+     */
+    private static void writeVarInt(ByteArrayOutputStream output, int value) {
+        while ((value & ~0x7F) != 0) {
+            output.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write(value);
+    }
+
+    /**
+     * Prečíta číslo zapísané metódou writeVarInt.
+     */
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,28 @@
+package world;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Udalosť JFR resetu alebo reštartu sveta.
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+@Name("bomberman.WorldReset")
+@Label("World Reset")
+@Category({"Bomberman", "World"})
+@Description("World reset or restart to the initial state of its level")
+final class WorldResetEvent extends Event {
+    @Label("Level Name")
+    String levelName;
+
+    @Label("Restart")
+    boolean restart;
+
+    @Label("Entities")
+    int entityCount;
+}
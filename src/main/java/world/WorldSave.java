@@ -0,0 +1,133 @@
+package world;
+
+import utils.ResourcesLoadException;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Záznam WorldSave je uložená rozohraná úroveň – úplný stav sveta v jednom hernom kroku (zmeny mapy, hráč
+ * so zdravím, dynamitmi a kľúčom, nepriatelia so stavom a postupom po ceste, dynamity so zostávajúcim časom,
+ * skryté predmety a počty zabití). Stav sa zachytí na hernom vlákne za zlomok milisekundy, zápis na disk
+ * môže prebehnúť na pozadí.
+ *
+ * Formát (big-endian):
+ * - hlavička: magické číslo "BMQS", verzia (short), názov úrovne (short dĺžka + UTF-8), herný krok (long)
+ * - stav sveta: dĺžka (int), bajty stavu (World.captureState), kontrolný súčet CRC32 stavu (int)
+ *
+ * @param levelName Názov úrovne
+ * @param tick Herný krok, v ktorom bol stav zachytený
+ * @param state Stav sveta
+ *
+ * @author Tomáš Ďurovec
+ * @version 1.0
+ */
+public record WorldSave(String levelName, long tick, byte[] state) {
+    private static final int MAGIC = 0x424D5153;
+    private static final short VERSION = 1;
+
+    /**
+     * Zachytí aktuálny stav sveta.
+     *
+     * @param world Svet
+     * @return Uložená úroveň
+     */
+    public static WorldSave capture(World world) {
+        return new WorldSave(world.getLevelName(), world.getTick(), world.captureState());
+    }
+
+    /**
+     * Obnoví uložený stav do sveta rovnakej úrovne.
+     *
+     * @param world Svet úrovne levelName
+     * @throws ResourcesLoadException ak je stav poškodený
+     */
+    public void restore(World world) {
+        world.restoreState(this.state);
+    }
+
+    /**
+     * Zapíše uloženú úroveň do súboru. Zápis prebieha do dočasného súboru, ktorý sa potom atomicky premenuje,
+     * takže prerušený zápis nikdy nepoškodí predošlé uloženie.
+     *
+     * @param path Cieľový súbor
+     * @throws IOException ak zápis zlyhá
+     */
+    public void write(Path path) throws IOException {
+        byte[] name = this.levelName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 2 + 2 + name.length + 8 + 4 + this.state.length + 4);
+        buffer.putInt(MAGIC).putShort(VERSION);
+        buffer.putShort((short)name.length).put(name);
+        buffer.putLong(this.tick);
+        buffer.putInt(this.state.length).put(this.state);
+        buffer.putInt((int)checksum(this.state));
+
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, buffer.array());
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Načíta uloženú úroveň zo súboru.
+     *
+     * @param path Súbor uloženia
+     * @return Uložená úroveň, prázdne ak súbor neexistuje
+     * @throws ResourcesLoadException ak súbor nie je uložením podporovanej verzie alebo je poškodený
+     */
+    public static Optional<WorldSave> read(Path path) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                throw new ResourcesLoadException("Unsupported save " + path + ".");
+            }
+            byte[] name = new byte[checkLength(buffer, Short.toUnsignedInt(buffer.getShort()), path)];
+            buffer.get(name);
+            long tick = buffer.getLong();
+            byte[] state = new byte[checkLength(buffer, buffer.getInt(), path)];
+            buffer.get(state);
+            if (buffer.getInt() != (int)checksum(state)) {
+                throw new ResourcesLoadException("Corrupted save " + path + ".");
+            }
+            return Optional.of(new WorldSave(new String(name, StandardCharsets.UTF_8), tick, state));
+        } catch (NoSuchFileException _) {
+            return Optional.empty();
+        } catch (IOException | BufferUnderflowException _) {
+            throw new ResourcesLoadException("Error while loading save " + path + ".");
+        }
+    }
+
+    /**
+     * Overí, že dĺžka prečítaná zo súboru je nezáporná a v bufferi zostáva aspoň toľko bajtov, skôr ako sa pre ne alokuje pamäť.
+     *
+     * @return Dĺžka
+     * @throws ResourcesLoadException ak je uloženie poškodené alebo skrátené
+     */
+    private static int checkLength(ByteBuffer buffer, int length, Path path) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new ResourcesLoadException("Corrupted save " + path + ".");
+        }
+        return length;
+    }
+
+    /**
+     * Vypočíta kontrolný súčet CRC32 stavu.
+     */
+    private static long checksum(byte[] state) {
+        CRC32 crc = new CRC32();
+        crc.update(state);
+        return crc.getValue();
+    }
+}